@@ -1,15 +1,27 @@
 package com.lms_app.lms_backend;
 
 import com.lms_app.lms_backend.service.*;
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.counter.UniversityCounters;
 import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.outbox.ChangeEvent;
+import com.lms_app.lms_backend.outbox.Outbox;
 import com.lms_app.lms_backend.repository.AdminRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminServiceImpl implements AdminService {
@@ -17,6 +29,21 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private Outbox outbox;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private AdminDTO convertToDTO(Admin admin) {
         AdminDTO dto = new AdminDTO();
         dto.setId(admin.getId());
@@ -25,7 +52,7 @@ public class AdminServiceImpl implements AdminService {
         dto.setRole(admin.getRole());
         dto.setStatus(admin.getStatus().name());
         dto.setEmail(admin.getEmail());
-        dto.setStudents(admin.getStudents());
+        dto.setStudents((int) universityCounters.studentsForAdmin(admin.getAdminName()));
         dto.setPhnnum(admin.getPhnnum());
         dto.setDepartment(admin.getDepartment());
         dto.setAdminStatus(admin.getAdminStatus().name());
@@ -39,7 +66,6 @@ public class AdminServiceImpl implements AdminService {
         admin.setRole(dto.getRole());
         admin.setStatus(Admin.Status.valueOf(dto.getStatus().toUpperCase()));
         admin.setEmail(dto.getEmail());
-        admin.setStudents(dto.getStudents());
         admin.setPhnnum(dto.getPhnnum());
         admin.setDepartment(dto.getDepartment());
         admin.setAdminStatus(Admin.AdminStatus.valueOf(dto.getAdminStatus().toUpperCase()));
@@ -47,9 +73,15 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional
     public AdminDTO createAdmin(AdminDTO dto) {
         Admin admin = convertToEntity(dto);
-        return convertToDTO(adminRepository.save(admin));
+        Admin saved = adminRepository.save(admin);
+        AdminDTO created = convertToDTO(saved);
+        outbox.record(ChangeEvent.Aggregate.ADMIN, ChangeEvent.Type.CREATED, saved.getId(), saved.getTenantId(), created);
+        dashboardAggregates.changed(null, DashboardAggregates.admin(saved));
+        tableVersions.changed(TableVersions.Table.ADMINS);
+        return created;
     }
 
     @Override
@@ -67,25 +99,56 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    public CursorPage<AdminDTO> getAdminsAfter(Long afterId, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<AdminDTO> fetched = adminRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(pageSize + 1))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return CursorPage.of(fetched, pageSize, AdminDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAdmins(Consumer<AdminDTO> action) {
+        try (Stream<Admin> rows = adminRepository.streamAll()) {
+            rows.forEach(admin -> {
+                action.accept(convertToDTO(admin));
+                entityManager.detach(admin);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
     public AdminDTO updateAdmin(Long id, AdminDTO dto) {
         Admin existing = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+        DashboardAggregates.Facts before = DashboardAggregates.admin(existing);
         existing.setAdminName(dto.getAdminName());
         existing.setUniName(dto.getUniName());
         existing.setRole(dto.getRole());
         existing.setStatus(Admin.Status.valueOf(dto.getStatus().toUpperCase()));
         existing.setEmail(dto.getEmail());
-        existing.setStudents(dto.getStudents());
         existing.setPhnnum(dto.getPhnnum());
         existing.setDepartment(dto.getDepartment());
         existing.setAdminStatus(Admin.AdminStatus.valueOf(dto.getAdminStatus().toUpperCase()));
-        return convertToDTO(adminRepository.save(existing));
+        Admin saved = adminRepository.save(existing);
+        AdminDTO updated = convertToDTO(saved);
+        outbox.record(ChangeEvent.Aggregate.ADMIN, ChangeEvent.Type.UPDATED, saved.getId(), saved.getTenantId(), updated);
+        dashboardAggregates.changed(before, DashboardAggregates.admin(saved));
+        tableVersions.changed(TableVersions.Table.ADMINS);
+        return updated;
     }
 
     @Override
+    @Transactional
     public void deleteAdmin(Long id) {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
         adminRepository.delete(admin);
+        outbox.record(ChangeEvent.Aggregate.ADMIN, ChangeEvent.Type.DELETED, id, admin.getTenantId(), null);
+        dashboardAggregates.changed(DashboardAggregates.admin(admin), null);
+        tableVersions.changed(TableVersions.Table.ADMINS);
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.counter.ActivityCounters;
+import com.lms_app.lms_backend.counter.StorageQuotas;
+import com.lms_app.lms_backend.dto.CourseMaterialDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.CourseMaterial;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.CourseMaterialRepository;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.service.CourseMaterialService;
+import com.lms_app.lms_backend.storage.MaterialDownload;
+import com.lms_app.lms_backend.storage.MaterialStorage;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Nothing here is @Transactional on purpose: an upload can take minutes and must not hold a
+// pooled connection while the bytes arrive, so the row is only touched before and after.
+@Service
+public class CourseMaterialServiceImpl implements CourseMaterialService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseMaterialServiceImpl.class);
+
+    @Autowired
+    private CourseMaterialRepository materialRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private MaterialStorage materialStorage;
+
+    @Autowired
+    private StorageQuotas storageQuotas;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @Value("${lms.storage.max-upload-size:2GB}")
+    private DataSize maxUploadSize;
+
+    @Override
+    public CourseMaterialDTO createMaterial(CourseMaterialDTO dto) {
+        if (dto.getCourseId() == null || dto.getTitle() == null || dto.getTitle().isBlank()) {
+            throw new IllegalArgumentException("courseId and title are required");
+        }
+        Course course = courseRepository.findById(dto.getCourseId())
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        CourseMaterial material = new CourseMaterial();
+        material.setCourse(course);
+        material.setType(parseType(dto.getType()));
+        applyDetails(material, dto);
+        if (material.getType() == CourseMaterial.MaterialType.LINK) {
+            if (dto.getUrl() == null || dto.getUrl().isBlank()) {
+                throw new IllegalArgumentException("url is required for LINK materials");
+            }
+            material.setUrl(dto.getUrl());
+            return getMaterialById(materialRepository.save(material).getId());
+        }
+        // Everything else is served from its content endpoint once a file has been uploaded
+        material.setUrl("");
+        CourseMaterial saved = materialRepository.save(material);
+        saved.setUrl(contentUrl(saved.getId()));
+        return getMaterialById(materialRepository.save(saved).getId());
+    }
+
+    @Override
+    public CourseMaterialDTO getMaterialById(Long id) {
+        return withPendingDownloads(materialRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Material not found")));
+    }
+
+    @Override
+    public List<CourseMaterialDTO> getMaterialsByCourse(Long courseId) {
+        List<CourseMaterialDTO> materials = materialRepository.findDtosByCourseId(courseId);
+        materials.forEach(this::withPendingDownloads);
+        return materials;
+    }
+
+    @Override
+    public CourseMaterialDTO updateMaterial(Long id, CourseMaterialDTO dto) {
+        CourseMaterial material = findMaterial(id);
+        applyDetails(material, dto);
+        if (material.getType() == CourseMaterial.MaterialType.LINK && dto.getUrl() != null) {
+            material.setUrl(dto.getUrl());
+        }
+        materialRepository.save(material);
+        return getMaterialById(id);
+    }
+
+    @Override
+    public CourseMaterialDTO uploadContent(Long id, String contentType, long contentLength, InputStream content)
+            throws IOException {
+        CourseMaterial material = findMaterial(id);
+        if (material.getType() == CourseMaterial.MaterialType.LINK) {
+            throw new IllegalArgumentException("LINK materials have no file content");
+        }
+        // A fresh key per upload: a replaced file is only removed once the row points elsewhere
+        String key = TenantFilter.currentTenantId() + "/" + material.getCourse().getId() + "/"
+                + id + "-" + UUID.randomUUID();
+        StorageQuotas.Reservation reservation = storageQuotas.open();
+        String previousKey = material.getStorageKey();
+        long previousSize = previousKey != null && material.getFileSize() != null ? material.getFileSize() : 0;
+        try {
+            // A declared length fails fast; the metered stream covers chunked or understated bodies
+            if (contentLength > 0) {
+                reservation.ensure(contentLength);
+            }
+            long size = materialStorage.store(key, reservation.meter(content), maxUploadSize.toBytes());
+            material.setStorageKey(key);
+            material.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            material.setFileSize(size);
+            material.setUploadedAt(LocalDateTime.now());
+            try {
+                // Fails on the version check if another upload replaced the file meanwhile: that
+                // one's file stays, this one is removed and the client gets a 409
+                materialRepository.save(material);
+            } catch (RuntimeException e) {
+                deleteQuietly(key);
+                throw e;
+            }
+            reservation.commit(size, previousSize);
+        } finally {
+            reservation.release();
+        }
+        if (previousKey != null) {
+            deleteQuietly(previousKey);
+        }
+        return getMaterialById(id);
+    }
+
+    @Override
+    public MaterialDownload openContent(Long id) throws IOException {
+        CourseMaterial material = findMaterial(id);
+        if (material.getStorageKey() == null) {
+            throw new ResourceNotFoundException("Material has no uploaded content");
+        }
+        try {
+            return new MaterialDownload(id, material.getTitle(), material.getContentType(),
+                    materialStorage.open(material.getStorageKey()));
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Material content not found");
+        }
+    }
+
+    @Override
+    public void recordDownload(Long id) {
+        activityCounters.materialDownloaded(id);
+    }
+
+    @Override
+    public void deleteMaterial(Long id) {
+        CourseMaterial material = findMaterial(id);
+        materialRepository.delete(material);
+        if (material.getStorageKey() != null) {
+            storageQuotas.released(material.getTenantId(), material.getFileSize());
+            deleteQuietly(material.getStorageKey());
+        }
+    }
+
+    private CourseMaterialDTO withPendingDownloads(CourseMaterialDTO dto) {
+        long pending = activityCounters.pendingDownloads(dto.getId());
+        if (pending > 0) {
+            dto.setDownloadCount((int) ((dto.getDownloadCount() != null ? dto.getDownloadCount() : 0) + pending));
+        }
+        return dto;
+    }
+
+    private CourseMaterial findMaterial(Long id) {
+        return materialRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Material not found"));
+    }
+
+    private void applyDetails(CourseMaterial material, CourseMaterialDTO dto) {
+        if (dto.getTitle() != null) material.setTitle(dto.getTitle());
+        if (dto.getDescription() != null) material.setDescription(dto.getDescription());
+        if (dto.getDuration() != null) material.setDuration(dto.getDuration());
+        if (dto.getIsPublic() != null) material.setIsPublic(dto.getIsPublic());
+    }
+
+    private static CourseMaterial.MaterialType parseType(String type) {
+        if (type == null) return CourseMaterial.MaterialType.DOCUMENT;
+        return CourseMaterial.MaterialType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static String contentUrl(Long id) {
+        return "/api/materials/" + id + "/content";
+    }
+
+    // An orphaned file only costs disk space; it must not fail a request whose row change committed
+    private void deleteQuietly(String key) {
+        try {
+            materialStorage.delete(key);
+        } catch (IOException e) {
+            log.warn("Could not delete stored material {}", key, e);
+        }
+    }
+}
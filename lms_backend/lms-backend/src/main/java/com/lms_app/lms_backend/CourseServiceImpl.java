@@ -1,18 +1,27 @@
 package com.lms_app.lms_backend;
 
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.counter.UniversityCounters;
 import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.entity.Course;
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.outbox.ChangeEvent;
+import com.lms_app.lms_backend.outbox.Outbox;
 import com.lms_app.lms_backend.repository.CourseRepository;
 import com.lms_app.lms_backend.repository.UniversityRepository;
 import com.lms_app.lms_backend.service.CourseService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CourseServiceImpl implements CourseService {
@@ -23,6 +32,18 @@ public class CourseServiceImpl implements CourseService {
     @Autowired
     private UniversityRepository universityRepository;
 
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private Outbox outbox;
+
     private CourseDTO convertToDTO(Course course) {
         CourseDTO dto = new CourseDTO();
         dto.setId(course.getId());
@@ -51,42 +72,73 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional
     public CourseDTO createCourse(CourseDTO dto) {
-        Course course = convertToEntity(dto);
-        return convertToDTO(courseRepository.save(course));
+        Course course = courseRepository.save(convertToEntity(dto));
+        CourseDTO created = convertToDTO(course);
+        outbox.record(ChangeEvent.Aggregate.COURSE, ChangeEvent.Type.CREATED, course.getId(), course.getTenantId(), created);
+        universityCounters.coursesChanged(dto.getUniversityId(), 1);
+        dashboardAggregates.changed(null, DashboardAggregates.course(course));
+        tableVersions.changed(TableVersions.Table.COURSES, TableVersions.Table.UNIVERSITIES);
+        return created;
     }
 
     @Override
     public CourseDTO getCourseById(Long id) {
-        return convertToDTO(courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found")));
+        return courseRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
     }
 
     @Override
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return courseRepository.findAllDtos();
+    }
+
+    @Override
+    public CursorPage<CourseDTO> getCoursesAfter(Long afterId, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<CourseDTO> fetched = courseRepository.findDtosAfter(afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, CourseDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCourses(Consumer<CourseDTO> action) {
+        try (Stream<CourseDTO> rows = courseRepository.streamAllDtos()) {
+            rows.forEach(action);
+        }
     }
 
     @Override
+    @Transactional
     public CourseDTO updateCourse(Long id, CourseDTO dto) {
         Course existing = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        DashboardAggregates.Facts before = DashboardAggregates.course(existing);
         existing.setCourseName(dto.getCourseName());
         existing.setCourseCode(dto.getCourseCode());
         existing.setDescription(dto.getDescription());
         existing.setCredits(dto.getCredits());
         existing.setInstructor(dto.getInstructor());
         existing.setStatus(dto.getStatus() != null ? Course.Status.valueOf(dto.getStatus()) : Course.Status.ACTIVE);
-        return convertToDTO(courseRepository.save(existing));
+        Course saved = courseRepository.save(existing);
+        CourseDTO updated = convertToDTO(saved);
+        outbox.record(ChangeEvent.Aggregate.COURSE, ChangeEvent.Type.UPDATED, saved.getId(), saved.getTenantId(), updated);
+        dashboardAggregates.changed(before, DashboardAggregates.course(saved));
+        tableVersions.changed(TableVersions.Table.COURSES);
+        return updated;
     }
 
     @Override
+    @Transactional
     public void deleteCourse(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        Long universityId = course.getUniversity() != null ? course.getUniversity().getId() : null;
         courseRepository.delete(course);
+        outbox.record(ChangeEvent.Aggregate.COURSE, ChangeEvent.Type.DELETED, id, course.getTenantId(), null);
+        universityCounters.coursesChanged(universityId, -1);
+        dashboardAggregates.courseDeleted(course);
+        tableVersions.changed(TableVersions.Table.COURSES, TableVersions.Table.UNIVERSITIES);
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.counter.DashboardAggregates.Metric;
+import com.lms_app.lms_backend.dto.DashboardDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.service.DashboardService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Served from DashboardAggregates; the only query is the primary-key lookup of the top courses' names
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Override
+    public DashboardDTO getDashboard(Long universityId, int topCourses) {
+        Map<Metric, Map<String, Long>> counts = dashboardAggregates.snapshot(universityId);
+
+        DashboardDTO dto = new DashboardDTO();
+        dto.setUniversityId(universityId);
+        dto.setUniversitiesByStatus(counts.get(Metric.UNIVERSITIES_BY_STATUS));
+        dto.setAdminsByStatus(counts.get(Metric.ADMINS_BY_STATUS));
+        dto.setCoursesByStatus(counts.get(Metric.COURSES_BY_STATUS));
+        dto.setStudentsByStatus(counts.get(Metric.STUDENTS_BY_STATUS));
+        dto.setStudentsByMajor(counts.get(Metric.STUDENTS_BY_MAJOR));
+        dto.setStudentsByYear(counts.get(Metric.STUDENTS_BY_YEAR));
+        dto.setEnrollmentsByStatus(counts.get(Metric.ENROLLMENTS_BY_STATUS));
+        dto.setUniversities(total(dto.getUniversitiesByStatus()));
+        dto.setAdmins(total(dto.getAdminsByStatus()));
+        dto.setCourses(total(dto.getCoursesByStatus()));
+        dto.setStudents(total(dto.getStudentsByStatus()));
+        dto.setEnrollments(total(dto.getEnrollmentsByStatus()));
+        dto.setEnrollmentsByCourse(topCourses(counts.get(Metric.ENROLLMENTS_BY_COURSE), topCourses));
+        return dto;
+    }
+
+    @Override
+    public void rebuild() {
+        dashboardAggregates.rebuild();
+    }
+
+    private List<DashboardDTO.CourseEnrollments> topCourses(Map<String, Long> byCourse, int limit) {
+        List<Map.Entry<Long, Long>> top = byCourse.entrySet().stream()
+                .map(entry -> Map.entry(Long.valueOf(entry.getKey()), entry.getValue()))
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .collect(Collectors.toList());
+        Map<Long, Course> courses = courseRepository.findAllById(top.stream().map(Map.Entry::getKey).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        List<DashboardDTO.CourseEnrollments> result = new ArrayList<>(top.size());
+        for (Map.Entry<Long, Long> entry : top) {
+            // Deleted since it was counted, or not visible to this tenant
+            Course course = courses.get(entry.getKey());
+            if (course == null) continue;
+            result.add(new DashboardDTO.CourseEnrollments(course.getId(), course.getCourseCode(),
+                    course.getCourseName(), entry.getValue()));
+        }
+        return result;
+    }
+
+    private static long total(Map<String, Long> byValue) {
+        return byValue.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,187 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.entity.Enrollment;
+import com.lms_app.lms_backend.exception.ConflictException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseSeatRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.service.EnrollmentService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    private static final Set<Enrollment.Status> RELEASED = EnumSet.of(Enrollment.Status.REJECTED, Enrollment.Status.DROPPED);
+    private static final Set<Enrollment.Status> IN_PROGRESS = EnumSet.of(Enrollment.Status.APPROVED);
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseSeatRepository courseSeatRepository;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Override
+    @Transactional
+    public EnrollmentDTO enroll(Long studentId, Long courseId) {
+        if (studentId == null || courseId == null) {
+            throw new IllegalArgumentException("studentId and courseId are required");
+        }
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+
+        Long enrollmentId;
+        Optional<Enrollment> existing = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+        if (existing.isPresent()) {
+            Enrollment enrollment = existing.get();
+            enrollmentId = enrollment.getId();
+            Enrollment.Status current = enrollment.getStatus();
+            DashboardAggregates.Facts before = DashboardAggregates.enrollment(enrollment, current);
+            DashboardAggregates.Facts after = DashboardAggregates.enrollment(enrollment, Enrollment.Status.PENDING);
+            // Compared against the status just read, so the dashboard knows which count to move
+            if (!RELEASED.contains(current)
+                    || enrollmentRepository.reset(enrollmentId, EnumSet.of(current), Enrollment.Status.PENDING, LocalDateTime.now()) == 0) {
+                throw new ConflictException("Student is already enrolled in this course");
+            }
+            dashboardAggregates.changed(before, after);
+        } else {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(studentRepository.getReferenceById(studentId));
+            enrollment.setCourse(courseRepository.getReferenceById(courseId));
+            try {
+                // A concurrent request for the same pair loses on the unique (student_id, course_id) key
+                enrollmentId = enrollmentRepository.saveAndFlush(enrollment).getId();
+            } catch (DataIntegrityViolationException e) {
+                throw new ConflictException("Student is already enrolled in this course");
+            }
+            dashboardAggregates.changed(null, DashboardAggregates.enrollment(enrollment, enrollment.getStatus()));
+        }
+
+        // Taken last so the course row lock is held only until the commit that follows
+        if (!courseSeatRepository.claimSeat(courseId)) {
+            throw new ConflictException("Course is full or not accepting enrollments");
+        }
+        return getEnrollmentById(enrollmentId);
+    }
+
+    @Override
+    public EnrollmentDTO getEnrollmentById(Long id) {
+        return enrollmentRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
+    }
+
+    @Override
+    public List<EnrollmentDTO> getEnrollmentsByStudent(Long studentId) {
+        return enrollmentRepository.findDtosByStudentId(studentId);
+    }
+
+    @Override
+    public List<EnrollmentDTO> getEnrollmentsByCourse(Long courseId, String status) {
+        if (status == null) {
+            return enrollmentRepository.findDtosByCourseId(courseId);
+        }
+        return enrollmentRepository.findDtosByCourseIdAndStatus(courseId, Enrollment.Status.valueOf(status));
+    }
+
+    @Override
+    @Transactional
+    public EnrollmentDTO approve(Long id) {
+        changeStatus(id, EnumSet.of(Enrollment.Status.PENDING), Enrollment.Status.APPROVED);
+        return getEnrollmentById(id);
+    }
+
+    @Override
+    @Transactional
+    public EnrollmentDTO reject(Long id) {
+        Long courseId = changeStatus(id, EnumSet.of(Enrollment.Status.PENDING), Enrollment.Status.REJECTED);
+        courseSeatRepository.releaseSeat(courseId);
+        return getEnrollmentById(id);
+    }
+
+    @Override
+    @Transactional
+    public EnrollmentDTO drop(Long id) {
+        Long courseId = changeStatus(id, Enrollment.Status.SEATED, Enrollment.Status.DROPPED);
+        courseSeatRepository.releaseSeat(courseId);
+        return getEnrollmentById(id);
+    }
+
+    @Override
+    @Transactional
+    public EnrollmentDTO updateProgress(Long id, EnrollmentDTO dto) {
+        Enrollment enrollment = enrollmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
+        if (!IN_PROGRESS.contains(enrollment.getStatus())) {
+            throw new ConflictException("Enrollment is " + enrollment.getStatus() + ", progress can't be updated");
+        }
+        DashboardAggregates.Facts before = DashboardAggregates.enrollment(enrollment, enrollment.getStatus());
+        Long courseId = enrollment.getCourse().getId();
+        if (dto.getProgress() != null) {
+            if (dto.getProgress() < 0 || dto.getProgress() > 100) {
+                throw new IllegalArgumentException("progress must be between 0 and 100");
+            }
+            enrollment.setProgress(dto.getProgress());
+            if (dto.getProgress() == 100) {
+                enrollment.setStatus(Enrollment.Status.COMPLETED);
+                enrollment.setCompletedAt(LocalDateTime.now());
+            }
+        }
+        if (dto.getGrade() != null) {
+            enrollment.setGrade(dto.getGrade());
+        }
+        if (dto.getFinalScore() != null) {
+            enrollment.setFinalScore(dto.getFinalScore());
+        }
+        // @Version turns a concurrent change into an optimistic lock failure instead of a lost update
+        enrollmentRepository.saveAndFlush(enrollment);
+        // COMPLETED is not SEATED: the seat goes back in the same transaction as the status change
+        if (enrollment.getStatus() == Enrollment.Status.COMPLETED) {
+            courseSeatRepository.releaseSeat(courseId);
+        }
+        dashboardAggregates.changed(before, DashboardAggregates.enrollment(enrollment, enrollment.getStatus()));
+        return getEnrollmentById(id);
+    }
+
+    // Returns the enrollment's course id once the compare-and-set on its status has succeeded
+    private Long changeStatus(Long id, Set<Enrollment.Status> from, Enrollment.Status to) {
+        Enrollment enrollment = enrollmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
+        Long courseId = enrollment.getCourse().getId();
+        Enrollment.Status current = enrollment.getStatus();
+        // Taken before the update clears the persistence context
+        DashboardAggregates.Facts before = DashboardAggregates.enrollment(enrollment, current);
+        DashboardAggregates.Facts after = DashboardAggregates.enrollment(enrollment, to);
+        // Compared against the status just read, so the dashboard knows which count to move
+        if (!from.contains(current) || enrollmentRepository.transition(id, EnumSet.of(current), to) == 0) {
+            throw new ConflictException("Enrollment can't move to " + to + " from its current status");
+        }
+        dashboardAggregates.changed(before, after);
+        return courseId;
+    }
+}
@@ -1,28 +1,71 @@
 package com.lms_app.lms_backend;
 
+import com.lms_app.lms_backend.bulk.StudentBulkImporter;
+import com.lms_app.lms_backend.bulk.StudentCsvReader;
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.counter.UniversityCounters;
+import com.lms_app.lms_backend.dto.BulkImportResult;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.SearchPage;
 import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.StudentSearchCriteria;
 import com.lms_app.lms_backend.entity.Students;
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.outbox.ChangeEvent;
+import com.lms_app.lms_backend.outbox.Outbox;
 import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.StudentSpecifications;
 import com.lms_app.lms_backend.repository.UniversityRepository;
 import com.lms_app.lms_backend.service.StudentService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    // Each is the trailing column of a search index, so sorting never needs a filesort over all matches
+    private static final Set<String> SORTABLE = Set.of("fullName", "studentId", "id");
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private UniversityRepository universityRepository;
 
+    @Autowired
+    private StudentBulkImporter studentBulkImporter;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private Outbox outbox;
+
     private StudentDTO convertToDTO(Students student) {
         StudentDTO dto = new StudentDTO();
         dto.setId(student.getId());
@@ -32,6 +75,7 @@ public class StudentServiceImpl implements StudentService {
         dto.setMajor(student.getMajor());
         dto.setYear(student.getYear());
         dto.setPhoneNumber(student.getPhoneNumber());
+        dto.setStatus(student.getStatus().name());
         dto.setUniversityId(student.getUniversity().getId());
         return dto;
     }
@@ -44,6 +88,9 @@ public class StudentServiceImpl implements StudentService {
         student.setMajor(dto.getMajor());
         student.setYear(dto.getYear());
         student.setPhoneNumber(dto.getPhoneNumber());
+        if (dto.getStatus() != null) {
+            student.setStatus(parseStatus(dto.getStatus()));
+        }
         University university = universityRepository.findById(dto.getUniversityId())
                 .orElseThrow(() -> new ResourceNotFoundException("University not found"));
         student.setUniversity(university);
@@ -51,41 +98,143 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional
     public StudentDTO createStudent(StudentDTO dto) {
-        Students student = convertToEntity(dto);
-        return convertToDTO(studentRepository.save(student));
+        Students student = studentRepository.save(convertToEntity(dto));
+        StudentDTO created = convertToDTO(student);
+        outbox.record(ChangeEvent.Aggregate.STUDENT, ChangeEvent.Type.CREATED, student.getId(), student.getTenantId(), created);
+        universityCounters.studentsChanged(dto.getUniversityId(), 1);
+        dashboardAggregates.changed(null, DashboardAggregates.student(student));
+        // University and admin payloads carry the student count
+        tableVersions.changed(TableVersions.Table.STUDENTS, TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS);
+        return created;
     }
 
     @Override
     public StudentDTO getStudentById(Long id) {
-        return convertToDTO(studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found")));
+        return studentRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
     }
 
     @Override
     public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return studentRepository.findAllDtos();
     }
 
     @Override
+    public CursorPage<StudentDTO> getStudentsAfter(Long afterId, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<StudentDTO> fetched = studentRepository.findDtosAfter(afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, StudentDTO::getId);
+    }
+
+    @Override
+    public SearchPage<StudentDTO> searchStudents(StudentSearchCriteria criteria, Pageable pageable) {
+        List<Specification<Students>> filters = new ArrayList<>();
+        if (criteria.getUniversityId() != null) {
+            filters.add(StudentSpecifications.inUniversity(criteria.getUniversityId()));
+        }
+        if (hasText(criteria.getMajor())) {
+            filters.add(StudentSpecifications.hasMajor(criteria.getMajor().trim()));
+        }
+        if (hasText(criteria.getYear())) {
+            filters.add(StudentSpecifications.inYear(criteria.getYear().trim()));
+        }
+        if (hasText(criteria.getStatus())) {
+            filters.add(StudentSpecifications.hasStatus(parseStatus(criteria.getStatus())));
+        }
+        if (hasText(criteria.getQ())) {
+            filters.add(StudentSpecifications.nameOrStudentIdStartsWith(criteria.getQ().trim()));
+        }
+
+        Sort sort = pageable.getSortOr(Sort.by("fullName"));
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort students by " + order.getProperty());
+            }
+        }
+        // id breaks ties so rows don't move between pages
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+
+        int size = CursorPage.clampLimit(pageable.getPageSize());
+        List<StudentDTO> fetched = studentRepository.searchDtos(
+                Specification.allOf(filters), sort, (long) pageable.getPageNumber() * size, size + 1);
+        return SearchPage.of(fetched, pageable.getPageNumber(), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllStudents(Consumer<StudentDTO> action) {
+        try (Stream<StudentDTO> rows = studentRepository.streamAllDtos()) {
+            rows.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional
     public StudentDTO updateStudent(Long id, StudentDTO dto) {
         Students existing = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        DashboardAggregates.Facts before = DashboardAggregates.student(existing);
         existing.setFullName(dto.getFullName());
         existing.setEmail(dto.getEmail());
         existing.setMajor(dto.getMajor());
         existing.setYear(dto.getYear());
         existing.setPhoneNumber(dto.getPhoneNumber());
-        return convertToDTO(studentRepository.save(existing));
+        if (dto.getStatus() != null) {
+            existing.setStatus(parseStatus(dto.getStatus()));
+        }
+        Students saved = studentRepository.save(existing);
+        StudentDTO updated = convertToDTO(saved);
+        outbox.record(ChangeEvent.Aggregate.STUDENT, ChangeEvent.Type.UPDATED, saved.getId(), saved.getTenantId(), updated);
+        dashboardAggregates.changed(before, DashboardAggregates.student(saved));
+        tableVersions.changed(TableVersions.Table.STUDENTS);
+        return updated;
     }
 
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
         Students student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        Long universityId = student.getUniversity() != null ? student.getUniversity().getId() : null;
         studentRepository.delete(student);
+        outbox.record(ChangeEvent.Aggregate.STUDENT, ChangeEvent.Type.DELETED, id, student.getTenantId(), null);
+        universityCounters.studentsChanged(universityId, -1);
+        dashboardAggregates.changed(DashboardAggregates.student(student), null);
+        tableVersions.changed(TableVersions.Table.STUDENTS, TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS);
+    }
+
+    @Override
+    public BulkImportResult importStudents(List<StudentDTO> students) {
+        List<StudentBulkImporter.Row> rows = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            rows.add(new StudentBulkImporter.Row(i + 1, students.get(i), null));
+        }
+        return imported(studentBulkImporter.importRows(rows.iterator()));
+    }
+
+    @Override
+    public BulkImportResult importStudentsCsv(InputStream csv) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(csv, StandardCharsets.UTF_8)) {
+            return imported(studentBulkImporter.importRows(new StudentCsvReader(reader)));
+        }
+    }
+
+    private BulkImportResult imported(BulkImportResult result) {
+        if (result.getImported() > 0) {
+            tableVersions.changed(TableVersions.Table.STUDENTS, TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS);
+        }
+        return result;
+    }
+
+    private static Students.Status parseStatus(String status) {
+        return Students.Status.valueOf(status.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
-}
\ No newline at end of file
+}
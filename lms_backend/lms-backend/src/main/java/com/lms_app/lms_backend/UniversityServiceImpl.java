@@ -1,15 +1,27 @@
 package com.lms_app.lms_backend;
 
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.counter.UniversityCounters;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.dto.UniversityDTO;
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.outbox.ChangeEvent;
+import com.lms_app.lms_backend.outbox.Outbox;
 import com.lms_app.lms_backend.repository.UniversityRepository;
 import com.lms_app.lms_backend.service.UniversityService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UniversityServiceImpl implements UniversityService {
@@ -17,6 +29,21 @@ public class UniversityServiceImpl implements UniversityService {
     @Autowired
     private UniversityRepository universityRepository;
 
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private Outbox outbox;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private UniversityDTO convertToDTO(University university) {
         UniversityDTO dto = new UniversityDTO();
         dto.setId(university.getId());
@@ -25,8 +52,9 @@ public class UniversityServiceImpl implements UniversityService {
         dto.setAddress(university.getAddress());
         dto.setStatus(university.getStatus().name());
         dto.setAdminName(university.getAdminName());
-        dto.setStudents(university.getStudents());
-        dto.setCourses(university.getCourses());
+        // Live counts; the columns only hold the last flushed copy and clients can't set them
+        dto.setStudents((int) universityCounters.students(university.getId()));
+        dto.setCourses((int) universityCounters.courses(university.getId()));
         return dto;
     }
 
@@ -37,15 +65,20 @@ public class UniversityServiceImpl implements UniversityService {
         university.setAddress(dto.getAddress());
         university.setStatus(University.Status.valueOf(dto.getStatus().toUpperCase()));
         university.setAdminName(dto.getAdminName());
-        university.setStudents(dto.getStudents());
-        university.setCourses(dto.getCourses());
         return university;
     }
 
     @Override
+    @Transactional
     public UniversityDTO createUniversity(UniversityDTO dto) {
-        University university = convertToEntity(dto);
-        return convertToDTO(universityRepository.save(university));
+        University university = universityRepository.save(convertToEntity(dto));
+        outbox.record(ChangeEvent.Aggregate.UNIVERSITY, ChangeEvent.Type.CREATED, university.getId(), university.getTenantId(),
+                convertToDTO(university));
+        universityCounters.universitySaved(university.getId(), null, university.getAdminName());
+        dashboardAggregates.changed(null, DashboardAggregates.university(university));
+        // Admin payloads carry the student count of the university they administer
+        tableVersions.changed(TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS);
+        return convertToDTO(university);
     }
 
     @Override
@@ -63,23 +96,63 @@ public class UniversityServiceImpl implements UniversityService {
     }
 
     @Override
+    public CursorPage<UniversityDTO> getUniversitiesAfter(Long afterId, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<UniversityDTO> fetched = universityRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(pageSize + 1))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return CursorPage.of(fetched, pageSize, UniversityDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUniversities(Consumer<UniversityDTO> action) {
+        try (Stream<University> rows = universityRepository.streamAll()) {
+            rows.forEach(university -> {
+                action.accept(convertToDTO(university));
+                entityManager.detach(university);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
     public UniversityDTO updateUniversity(Long id, UniversityDTO dto) {
         University existing = universityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        DashboardAggregates.Facts before = DashboardAggregates.university(existing);
         existing.setUniName(dto.getUniName());
         existing.setEstYear(dto.getEstYear());
         existing.setAddress(dto.getAddress());
         existing.setStatus(University.Status.valueOf(dto.getStatus().toUpperCase()));
+        String previousAdminName = existing.getAdminName();
         existing.setAdminName(dto.getAdminName());
-        existing.setStudents(dto.getStudents());
-        existing.setCourses(dto.getCourses());
-        return convertToDTO(universityRepository.save(existing));
+        University saved = universityRepository.save(existing);
+        outbox.record(ChangeEvent.Aggregate.UNIVERSITY, ChangeEvent.Type.UPDATED, id, saved.getTenantId(), convertToDTO(saved));
+        universityCounters.universitySaved(id, previousAdminName, saved.getAdminName());
+        dashboardAggregates.changed(before, DashboardAggregates.university(saved));
+        tableVersions.changed(TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS);
+        return convertToDTO(saved);
     }
 
     @Override
+    @Transactional
     public void deleteUniversity(Long id) {
         University university = universityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("University not found"));
+        // Its students are removed with it (cascade on studentList), so each gets its own DELETED
+        // event; its courses are not removed
+        List<Outbox.Change> students = university.getStudentList() == null ? List.of()
+                : university.getStudentList().stream()
+                        .map(student -> new Outbox.Change(student.getId(), student.getTenantId(), null))
+                        .collect(Collectors.toList());
         universityRepository.delete(university);
+        outbox.recordAll(ChangeEvent.Aggregate.STUDENT, ChangeEvent.Type.DELETED, students);
+        outbox.record(ChangeEvent.Aggregate.UNIVERSITY, ChangeEvent.Type.DELETED, id, university.getTenantId(), null);
+        universityCounters.universityDeleted(id, university.getAdminName());
+        dashboardAggregates.universityDeleted(university);
+        // Its students go with it (cascade)
+        tableVersions.changed(TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS, TableVersions.Table.STUDENTS);
     }
 }
\ No newline at end of file
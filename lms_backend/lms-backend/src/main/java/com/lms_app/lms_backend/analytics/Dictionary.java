@@ -0,0 +1,38 @@
+package com.lms_app.lms_backend.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps each distinct value of a column (null included) to a dense int code, so the column is stored
+// as an int[] and grouped by array index. Written by the loading thread only, read-only afterwards.
+final class Dictionary<T> {
+
+    static final int ABSENT = -1;
+
+    private final Map<T, Integer> codes = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+    int encode(T value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    int code(T value) {
+        return codes.getOrDefault(value, ABSENT);
+    }
+
+    T value(int code) {
+        return values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,328 @@
+package com.lms_app.lms_backend.analytics;
+
+import com.lms_app.lms_backend.dto.AnalyticsReportDTO;
+import com.lms_app.lms_backend.entity.Enrollment;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.exception.ServiceUnavailableException;
+import com.lms_app.lms_backend.repository.TenantRepository;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Analytics for the ADVANCED_ANALYTICS feature, answered from an in-process columnar snapshot of
+// enrollments joined with students and courses (see EnrollmentSnapshot) so heavy group-bys never
+// run against MySQL. Only tenants with the feature are loaded. A database is snapshotted after its
+// first query and re-snapshotted every lms.analytics.refresh-interval, or on demand; snapshots load
+// one at a time on a background thread and queries get 503 until theirs is ready. A query scans the
+// snapshot in fixed-size row ranges on a dedicated pool and merges the per-range results. Assumes a
+// single application instance.
+@Component
+public class EnrollmentAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentAnalytics.class);
+
+    // Rows per task: big enough to amortise scheduling, small enough to spread over every core
+    private static final int CHUNK_ROWS = 1 << 16;
+    private static final double[] PERCENTILES = { 25, 50, 75, 90 };
+    // How long a failed load keeps queries from starting another one
+    private static final long FAILED_LOAD_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    public enum GroupBy {
+        NONE, UNIVERSITY, COURSE, MAJOR, YEAR, STATUS, GRADE, STUDENT_STATUS
+    }
+
+    // Snapshots per JDBC URL, like the other per-database state
+    private final Map<String, Database> databases = new ConcurrentHashMap<>();
+
+    private final ForkJoinPool pool;
+    // One load at a time, so at most one snapshot is being built next to the live ones
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("analytics-load-"));
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Value("${lms.analytics.max-rows:5000000}")
+    private int maxRows;
+
+    public EnrollmentAnalytics(@Value("${lms.analytics.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Restricted to the current request's tenant (unless it is the unpartitioned one) and to the
+    // given university and course when they are set
+    public AnalyticsReportDTO report(GroupBy groupBy, Long universityId, Long courseId) {
+        Database db = current();
+        EnrollmentSnapshot snapshot = db.snapshot;
+        long tenantId = TenantFilter.currentTenantId();
+        // Not loaded yet, or taken before the tenant had the feature
+        if (snapshot == null || (tenantId != TenantFilter.UNPARTITIONED && !snapshot.tenantIds.contains(tenantId))) {
+            if (System.nanoTime() - db.failedAt >= FAILED_LOAD_BACKOFF_NANOS) {
+                reload(db);
+            }
+            throw new ServiceUnavailableException("Analytics are being prepared, please try again shortly");
+        }
+        int tenant = tenantId == TenantFilter.UNPARTITIONED ? Dictionary.ABSENT : snapshot.tenants.code(tenantId);
+        int university = universityId == null ? Dictionary.ABSENT : snapshot.universities.code(universityId);
+        int course = courseId == null ? Dictionary.ABSENT : snapshot.courses.code(courseId);
+        boolean nothingMatches = (tenantId != TenantFilter.UNPARTITIONED && tenant == Dictionary.ABSENT)
+                || (universityId != null && university == Dictionary.ABSENT)
+                || (courseId != null && course == Dictionary.ABSENT);
+        if (nothingMatches) {
+            return new AnalyticsReportDTO(groupBy.name(), snapshot.takenAt, List.of());
+        }
+
+        GroupStats[] groups = scan(snapshot, groupBy, tenant, university, course);
+        List<AnalyticsReportDTO.Group> result = new ArrayList<>();
+        for (int code = 0; code < groups.length; code++) {
+            if (groups[code] != null) {
+                result.add(toGroup(snapshot, groupBy, code, groups[code]));
+            }
+        }
+        result.sort(Comparator.comparingLong(AnalyticsReportDTO.Group::getEnrollments).reversed()
+                .thenComparing(AnalyticsReportDTO.Group::getLabel, Comparator.nullsLast(Comparator.naturalOrder())));
+        return new AnalyticsReportDTO(groupBy.name(), snapshot.takenAt, result);
+    }
+
+    // Starts re-snapshotting the database the current request is routed to; reports show the new
+    // snapshotAt once it is done
+    public void refresh() {
+        reload(current());
+    }
+
+    // For background work only: re-snapshots on the calling thread and returns when done
+    public LocalDateTime refreshNow() {
+        Database db = current();
+        db.snapshot = load(db.routingKey);
+        return db.snapshot.takenAt;
+    }
+
+    // Whether the current tenant's snapshot holds no other tenant's rows, so refreshing it only
+    // costs that tenant
+    public boolean ownsSnapshot() {
+        String key = routingDataSource.currentKey();
+        return !routingDataSource.jdbcUrl(key).equals(routingDataSource.jdbcUrl(TenantRoutingDataSource.SHARED));
+    }
+
+    @Scheduled(fixedDelayString = "${lms.analytics.refresh-interval:15m}",
+            initialDelayString = "${lms.analytics.refresh-interval:15m}")
+    public void refreshAll() {
+        databases.values().forEach(this::reload);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    // Queues a new snapshot of the database unless one is already queued or loading; a failed load
+    // keeps the previous snapshot
+    private void reload(Database db) {
+        if (!db.loading.compareAndSet(false, true)) return;
+        try {
+            loader.execute(() -> {
+                try {
+                    db.snapshot = load(db.routingKey);
+                } catch (RuntimeException e) {
+                    db.failedAt = System.nanoTime();
+                    log.warn("Loading the analytics snapshot of {} failed, keeping the previous one", db.routingKey, e);
+                } finally {
+                    db.loading.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            db.loading.set(false);
+        }
+    }
+
+    private GroupStats[] scan(EnrollmentSnapshot snapshot, GroupBy groupBy, int tenant, int university, int course) {
+        int[] keys = column(snapshot, groupBy);
+        int cardinality = cardinality(snapshot, groupBy);
+        int gradeCardinality = snapshot.grades.size();
+        int noGrade = snapshot.grades.code(null);
+
+        List<Callable<GroupStats[]>> tasks = new ArrayList<>();
+        for (int start = 0; start < snapshot.rows; start += CHUNK_ROWS) {
+            int from = start;
+            int to = Math.min(start + CHUNK_ROWS, snapshot.rows);
+            tasks.add(() -> {
+                GroupStats[] partial = new GroupStats[cardinality];
+                for (int row = from; row < to; row++) {
+                    if (tenant != Dictionary.ABSENT && snapshot.tenant[row] != tenant) continue;
+                    if (university != Dictionary.ABSENT && snapshot.university[row] != university) continue;
+                    if (course != Dictionary.ABSENT && snapshot.course[row] != course) continue;
+                    int key = keys != null ? keys[row] : 0;
+                    GroupStats stats = partial[key];
+                    if (stats == null) {
+                        stats = partial[key] = new GroupStats(gradeCardinality);
+                    }
+                    stats.add(snapshot, row, noGrade);
+                }
+                return partial;
+            });
+        }
+
+        GroupStats[] merged = new GroupStats[cardinality];
+        try {
+            for (Future<GroupStats[]> future : pool.invokeAll(tasks)) {
+                GroupStats[] partial = future.get();
+                for (int key = 0; key < cardinality; key++) {
+                    if (partial[key] == null) continue;
+                    if (merged[key] == null) {
+                        merged[key] = partial[key];
+                    } else {
+                        merged[key].merge(partial[key]);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analytics query interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analytics query failed", e.getCause());
+        }
+        return merged;
+    }
+
+    private static AnalyticsReportDTO.Group toGroup(EnrollmentSnapshot snapshot, GroupBy groupBy, int code, GroupStats stats) {
+        AnalyticsReportDTO.Group group = new AnalyticsReportDTO.Group();
+        group.setKey(key(snapshot, groupBy, code));
+        group.setLabel(label(snapshot, groupBy, code));
+        group.setEnrollments(stats.total());
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Enrollment.Status status : Enrollment.Status.values()) {
+            byStatus.put(status.name(), stats.byStatus[status.ordinal()]);
+        }
+        group.setByStatus(byStatus);
+        long considered = stats.total() - stats.byStatus[Enrollment.Status.REJECTED.ordinal()];
+        group.setCompletionRate(considered == 0 ? null
+                : (double) stats.byStatus[Enrollment.Status.COMPLETED.ordinal()] / considered);
+        group.setAverageProgress(stats.progressCount == 0 ? null : (double) stats.progressSum / stats.progressCount);
+        group.setProgressHistogram(stats.progressHistogram);
+
+        Map<String, Long> grades = new LinkedHashMap<>();
+        for (int grade = 0; grade < stats.grades.length; grade++) {
+            if (stats.grades[grade] != 0) {
+                grades.put(snapshot.grades.value(grade), stats.grades[grade]);
+            }
+        }
+        group.setGrades(grades);
+
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        if (stats.scoreCount > 0) {
+            double[] values = stats.scorePercentiles(PERCENTILES);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                percentiles.put("p" + (int) PERCENTILES[i], values[i]);
+            }
+        }
+        group.setScorePercentiles(percentiles);
+        return group;
+    }
+
+    private static int[] column(EnrollmentSnapshot snapshot, GroupBy groupBy) {
+        switch (groupBy) {
+            case UNIVERSITY: return snapshot.university;
+            case COURSE: return snapshot.course;
+            case MAJOR: return snapshot.major;
+            case YEAR: return snapshot.year;
+            case STATUS: return snapshot.status;
+            case GRADE: return snapshot.grade;
+            case STUDENT_STATUS: return snapshot.studentStatus;
+            default: return null;
+        }
+    }
+
+    private static int cardinality(EnrollmentSnapshot snapshot, GroupBy groupBy) {
+        switch (groupBy) {
+            case UNIVERSITY: return snapshot.universities.size();
+            case COURSE: return snapshot.courses.size();
+            case MAJOR: return snapshot.majors.size();
+            case YEAR: return snapshot.years.size();
+            case STATUS: return Enrollment.Status.values().length;
+            case GRADE: return snapshot.grades.size();
+            case STUDENT_STATUS: return Students.Status.values().length;
+            default: return 1;
+        }
+    }
+
+    private static String key(EnrollmentSnapshot snapshot, GroupBy groupBy, int code) {
+        switch (groupBy) {
+            case UNIVERSITY: return String.valueOf(snapshot.universities.value(code));
+            case COURSE: return String.valueOf(snapshot.courses.value(code));
+            case MAJOR: return snapshot.majors.value(code);
+            case YEAR: return snapshot.years.value(code);
+            case STATUS: return Enrollment.Status.values()[code].name();
+            case GRADE: return snapshot.grades.value(code);
+            case STUDENT_STATUS: return Students.Status.values()[code].name();
+            default: return "all";
+        }
+    }
+
+    private static String label(EnrollmentSnapshot snapshot, GroupBy groupBy, int code) {
+        if (groupBy == GroupBy.COURSE) {
+            return snapshot.courseCodes[code];
+        }
+        String key = key(snapshot, groupBy, code);
+        return key != null ? key : "Unspecified";
+    }
+
+    // Registers the database on its first query; its snapshot is loaded in the background
+    private Database current() {
+        String key = routingDataSource.currentKey();
+        return databases.computeIfAbsent(routingDataSource.jdbcUrl(key), url -> new Database(key));
+    }
+
+    // Runs on the loader thread, outside any tenant, so the tenants query goes to the shared database
+    private EnrollmentSnapshot load(String key) {
+        long start = System.nanoTime();
+        List<Long> tenantIds = tenantRepository.findIdsWithFeature(Tenant.Feature.ADVANCED_ANALYTICS);
+        EnrollmentSnapshot snapshot = EnrollmentSnapshot.load(routingDataSource.jdbcTemplate(key),
+                tenantIds, maxRows);
+        log.info("Loaded an analytics snapshot of {} enrollments from {} in {} ms",
+                snapshot.rows, key, (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    private static class Database {
+        // Any routing key whose pool reaches this database, used for refreshes
+        private final String routingKey;
+        // Null until the first load finishes, then replaced whole on refresh; queries keep the one
+        // they started with
+        private volatile EnrollmentSnapshot snapshot;
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private volatile long failedAt = System.nanoTime() - FAILED_LOAD_BACKOFF_NANOS;
+
+        private Database(String routingKey) {
+            this.routingKey = routingKey;
+        }
+    }
+}
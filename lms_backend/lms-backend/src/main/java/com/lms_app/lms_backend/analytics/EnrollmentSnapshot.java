@@ -0,0 +1,121 @@
+package com.lms_app.lms_backend.analytics;
+
+import com.lms_app.lms_backend.entity.Enrollment;
+import com.lms_app.lms_backend.entity.Students;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+// The enrollments of the given tenants in one database, joined with their student and course and
+// stored column by column: categorical columns as int dictionary codes (enum columns as ordinals),
+// progress as a byte and final_score as a float. Immutable once loaded; queries run over it without
+// locks or I/O.
+final class EnrollmentSnapshot {
+
+    static final byte NO_PROGRESS = -1;
+
+    private static final String SELECT = "SELECT e.tenant_id, c.university_id, e.course_id, c.course_code, e.status, "
+            + "e.progress, e.grade, e.final_score, s.major, s.year, s.status "
+            + "FROM enrollments e JOIN students s ON s.id = e.student_id JOIN course c ON c.id = e.course_id "
+            + "WHERE e.tenant_id IN (";
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    final LocalDateTime takenAt = LocalDateTime.now();
+    // The tenants that were loaded, whether or not they had any enrollments
+    final Set<Long> tenantIds;
+    private final int maxRows;
+    int rows;
+
+    int[] tenant = new int[INITIAL_CAPACITY];
+    int[] university = new int[INITIAL_CAPACITY];
+    int[] course = new int[INITIAL_CAPACITY];
+    int[] status = new int[INITIAL_CAPACITY];
+    int[] grade = new int[INITIAL_CAPACITY];
+    int[] major = new int[INITIAL_CAPACITY];
+    int[] year = new int[INITIAL_CAPACITY];
+    int[] studentStatus = new int[INITIAL_CAPACITY];
+    byte[] progress = new byte[INITIAL_CAPACITY];
+    // NaN where there is no score
+    float[] finalScore = new float[INITIAL_CAPACITY];
+
+    final Dictionary<Long> tenants = new Dictionary<>();
+    final Dictionary<Long> universities = new Dictionary<>();
+    final Dictionary<Long> courses = new Dictionary<>();
+    final Dictionary<String> grades = new Dictionary<>();
+    final Dictionary<String> majors = new Dictionary<>();
+    final Dictionary<String> years = new Dictionary<>();
+    // Indexed by course code
+    String[] courseCodes = new String[INITIAL_CAPACITY];
+
+    private EnrollmentSnapshot(Set<Long> tenantIds, int maxRows) {
+        this.tenantIds = tenantIds;
+        this.maxRows = maxRows;
+    }
+
+    // One streamed pass over the join; the rows never sit in memory as objects. Fails rather than
+    // holding more than maxRows.
+    static EnrollmentSnapshot load(JdbcTemplate jdbc, Collection<Long> tenantIds, int maxRows) {
+        EnrollmentSnapshot snapshot = new EnrollmentSnapshot(Set.copyOf(tenantIds), maxRows);
+        if (tenantIds.isEmpty()) {
+            snapshot.trim();
+            return snapshot;
+        }
+        jdbc.setFetchSize(Integer.MIN_VALUE);
+        String sql = SELECT + String.join(", ", Collections.nCopies(tenantIds.size(), "?")) + ")";
+        jdbc.query(sql, rs -> {
+            int row = snapshot.nextRow();
+            snapshot.tenant[row] = snapshot.tenants.encode(rs.getLong(1));
+            snapshot.university[row] = snapshot.universities.encode(rs.getLong(2));
+            int course = snapshot.courses.encode(rs.getLong(3));
+            snapshot.course[row] = course;
+            if (course == snapshot.courseCodes.length) {
+                snapshot.courseCodes = Arrays.copyOf(snapshot.courseCodes, course * 2);
+            }
+            snapshot.courseCodes[course] = rs.getString(4);
+            snapshot.status[row] = Enrollment.Status.valueOf(rs.getString(5)).ordinal();
+            int progress = rs.getInt(6);
+            snapshot.progress[row] = rs.wasNull() ? NO_PROGRESS : (byte) progress;
+            snapshot.grade[row] = snapshot.grades.encode(rs.getString(7));
+            float score = rs.getFloat(8);
+            snapshot.finalScore[row] = rs.wasNull() ? Float.NaN : score;
+            snapshot.major[row] = snapshot.majors.encode(rs.getString(9));
+            snapshot.year[row] = snapshot.years.encode(rs.getString(10));
+            snapshot.studentStatus[row] = Students.Status.valueOf(rs.getString(11)).ordinal();
+        }, tenantIds.toArray());
+        snapshot.trim();
+        return snapshot;
+    }
+
+    private int nextRow() {
+        if (rows == maxRows) {
+            throw new IllegalStateException("More than " + maxRows + " enrollments, see lms.analytics.max-rows");
+        }
+        if (rows == status.length) {
+            resize(rows * 2);
+        }
+        return rows++;
+    }
+
+    private void trim() {
+        resize(rows);
+        courseCodes = Arrays.copyOf(courseCodes, courses.size());
+    }
+
+    private void resize(int capacity) {
+        tenant = Arrays.copyOf(tenant, capacity);
+        university = Arrays.copyOf(university, capacity);
+        course = Arrays.copyOf(course, capacity);
+        status = Arrays.copyOf(status, capacity);
+        grade = Arrays.copyOf(grade, capacity);
+        major = Arrays.copyOf(major, capacity);
+        year = Arrays.copyOf(year, capacity);
+        studentStatus = Arrays.copyOf(studentStatus, capacity);
+        progress = Arrays.copyOf(progress, capacity);
+        finalScore = Arrays.copyOf(finalScore, capacity);
+    }
+}
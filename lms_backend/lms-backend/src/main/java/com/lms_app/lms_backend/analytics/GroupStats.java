@@ -0,0 +1,90 @@
+package com.lms_app.lms_backend.analytics;
+
+import com.lms_app.lms_backend.entity.Enrollment;
+
+import java.util.Arrays;
+
+// Running totals for one group over a range of snapshot rows. Each worker fills its own and the
+// results are merged, so nothing here is shared between threads while it is being written.
+final class GroupStats {
+
+    // 0-9, 10-19, ..., 90-99, and 100 on its own
+    static final int PROGRESS_BUCKETS = 11;
+
+    private static final int APPROVED = Enrollment.Status.APPROVED.ordinal();
+    private static final int ENROLLED = Enrollment.Status.ENROLLED.ordinal();
+
+    final long[] byStatus = new long[Enrollment.Status.values().length];
+    final long[] progressHistogram = new long[PROGRESS_BUCKETS];
+    final long[] grades;
+    long progressSum;
+    long progressCount;
+    float[] scores = new float[16];
+    int scoreCount;
+
+    GroupStats(int gradeCardinality) {
+        this.grades = new long[gradeCardinality];
+    }
+
+    void add(EnrollmentSnapshot snapshot, int row, int noGrade) {
+        int status = snapshot.status[row];
+        byStatus[status]++;
+        // Progress only says something while the student is still taking the course
+        byte progress = snapshot.progress[row];
+        if (progress != EnrollmentSnapshot.NO_PROGRESS && (status == APPROVED || status == ENROLLED)) {
+            progressHistogram[Math.min(progress / 10, PROGRESS_BUCKETS - 1)]++;
+            progressSum += progress;
+            progressCount++;
+        }
+        int grade = snapshot.grade[row];
+        if (grade != noGrade) {
+            grades[grade]++;
+        }
+        float score = snapshot.finalScore[row];
+        if (!Float.isNaN(score)) {
+            addScore(score);
+        }
+    }
+
+    void merge(GroupStats other) {
+        for (int i = 0; i < byStatus.length; i++) byStatus[i] += other.byStatus[i];
+        for (int i = 0; i < progressHistogram.length; i++) progressHistogram[i] += other.progressHistogram[i];
+        for (int i = 0; i < grades.length; i++) grades[i] += other.grades[i];
+        progressSum += other.progressSum;
+        progressCount += other.progressCount;
+        if (scoreCount + other.scoreCount > scores.length) {
+            scores = Arrays.copyOf(scores, scoreCount + other.scoreCount);
+        }
+        System.arraycopy(other.scores, 0, scores, scoreCount, other.scoreCount);
+        scoreCount += other.scoreCount;
+    }
+
+    long total() {
+        long total = 0;
+        for (long count : byStatus) total += count;
+        return total;
+    }
+
+    // Nearest-rank percentiles, NaN without any scores; sorts the scores in place, so only call once
+    // all merges are done
+    double[] scorePercentiles(double... percentiles) {
+        double[] values = new double[percentiles.length];
+        if (scoreCount == 0) {
+            Arrays.fill(values, Double.NaN);
+            return values;
+        }
+        Arrays.sort(scores, 0, scoreCount);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * scoreCount);
+            values[i] = scores[Math.max(rank, 1) - 1];
+        }
+        return values;
+    }
+
+    private void addScore(float score) {
+        if (scoreCount == scores.length) {
+            scores = Arrays.copyOf(scores, scoreCount * 2);
+        }
+        scores[scoreCount++] = score;
+    }
+}
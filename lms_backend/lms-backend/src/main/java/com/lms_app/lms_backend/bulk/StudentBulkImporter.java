@@ -0,0 +1,257 @@
+package com.lms_app.lms_backend.bulk;
+
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.counter.UniversityCounters;
+import com.lms_app.lms_backend.dto.BulkImportResult;
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.outbox.ChangeEvent;
+import com.lms_app.lms_backend.outbox.Outbox;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import com.lms_app.lms_backend.repository.UniversityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+public class StudentBulkImporter {
+
+    // Matches hibernate.jdbc.batch_size so each chunk is flushed as a handful of multi-row INSERTs
+    public static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UniversityCounters universityCounters;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private Outbox outbox;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImportResult importRows(Iterator<Row> rows) {
+        return importRows(rows, new BulkImportResult(), result -> {});
+    }
+
+    // Adds to a result carried over from an earlier, interrupted run. Each chunk commits on its
+    // own, so afterChunk sees a result that matches what is in the database and can checkpoint it.
+    public BulkImportResult importRows(Iterator<Row> rows, BulkImportResult result, Consumer<BulkImportResult> afterChunk) {
+        ImportState state = new ImportState();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, result, state);
+                chunk.clear();
+                afterChunk.accept(result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result, state);
+            afterChunk.accept(result);
+        }
+        return result;
+    }
+
+    private void importChunk(List<Row> chunk, BulkImportResult result, ImportState state) {
+        result.setTotal(result.getTotal() + chunk.size());
+
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            String error = validate(row, state);
+            if (error != null) {
+                result.addError(row.getNumber(), row.key(), error);
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) return;
+
+        Set<String> existingStudentIds = studentRepository.findExistingStudentIds(
+                        candidates.stream().map(row -> row.getStudent().getStudentId()).collect(Collectors.toList()))
+                .stream().map(StudentBulkImporter::normalized).collect(Collectors.toSet());
+        List<String> emails = candidates.stream()
+                .map(row -> row.getStudent().getEmail())
+                .filter(email -> email != null)
+                .collect(Collectors.toList());
+        Set<String> existingEmails = emails.isEmpty()
+                ? Set.of()
+                : studentRepository.findExistingEmails(emails).stream()
+                        .map(StudentBulkImporter::normalized).collect(Collectors.toSet());
+        resolveUniversities(candidates, state);
+
+        List<Row> toInsert = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            StudentDTO dto = row.getStudent();
+            if (existingStudentIds.contains(normalized(dto.getStudentId()))) {
+                result.addError(row.getNumber(), row.key(), "studentId already exists");
+            } else if (dto.getEmail() != null && existingEmails.contains(normalized(dto.getEmail()))) {
+                result.addError(row.getNumber(), row.key(), "email already exists");
+            } else if (!state.knownUniversities.contains(dto.getUniversityId())) {
+                result.addError(row.getNumber(), row.key(), "University not found");
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) return;
+
+        List<DashboardAggregates.Facts> inserted = new ArrayList<>(toInsert.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Students> students = new ArrayList<>(toInsert.size());
+                for (Row row : toInsert) {
+                    Students student = toEntity(row.getStudent());
+                    entityManager.persist(student);
+                    students.add(student);
+                    inserted.add(DashboardAggregates.student(student));
+                }
+                entityManager.flush();
+                List<Outbox.Change> changes = new ArrayList<>(students.size());
+                for (int i = 0; i < students.size(); i++) {
+                    Students student = students.get(i);
+                    StudentDTO dto = toInsert.get(i).getStudent();
+                    dto.setId(student.getId());
+                    dto.setStatus(student.getStatus().name());
+                    changes.add(new Outbox.Change(student.getId(), student.getTenantId(), dto));
+                }
+                outbox.recordAll(ChangeEvent.Aggregate.STUDENT, ChangeEvent.Type.CREATED, changes);
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + toInsert.size());
+            toInsert.stream()
+                    .collect(Collectors.groupingBy(row -> row.getStudent().getUniversityId(), Collectors.counting()))
+                    .forEach(universityCounters::studentsChanged);
+            inserted.forEach(facts -> dashboardAggregates.changed(null, facts));
+        } catch (RuntimeException e) {
+            String message = "Rejected with its chunk: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Row row : toInsert) {
+                result.addError(row.getNumber(), row.key(), message);
+            }
+        }
+    }
+
+    private String validate(Row row, ImportState state) {
+        if (row.getParseError() != null) return row.getParseError();
+        StudentDTO dto = row.getStudent();
+        if (isBlank(dto.getStudentId())) return "studentId is required";
+        if (isBlank(dto.getFullName())) return "fullName is required";
+        if (dto.getUniversityId() == null) return "universityId is required";
+        if (isBlank(dto.getStatus())) {
+            dto.setStatus(null);
+        } else if (!isValidStatus(dto.getStatus())) {
+            return "status must be ACTIVE or INACTIVE";
+        }
+        if (isBlank(dto.getEmail())) {
+            dto.setEmail(null);
+        } else if (!state.seenEmails.add(normalized(dto.getEmail()))) {
+            return "Duplicate email in import";
+        }
+        if (!state.seenStudentIds.add(normalized(dto.getStudentId()))) return "Duplicate studentId in import";
+        return null;
+    }
+
+    // The unique keys compare case-insensitively under MySQL's default collation, so duplicates
+    // are found the same way here: a case-only clash would otherwise fail its whole chunk on insert
+    private static String normalized(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    // Universities are looked up once per import, not once per row
+    private void resolveUniversities(List<Row> rows, ImportState state) {
+        Set<Long> unresolved = rows.stream()
+                .map(row -> row.getStudent().getUniversityId())
+                .filter(id -> !state.knownUniversities.contains(id) && !state.missingUniversities.contains(id))
+                .collect(Collectors.toSet());
+        if (unresolved.isEmpty()) return;
+        List<Long> found = universityRepository.findExistingIds(unresolved);
+        state.knownUniversities.addAll(found);
+        unresolved.removeAll(found);
+        state.missingUniversities.addAll(unresolved);
+    }
+
+    private Students toEntity(StudentDTO dto) {
+        Students student = new Students();
+        student.setStudentId(dto.getStudentId());
+        student.setFullName(dto.getFullName());
+        student.setEmail(dto.getEmail());
+        student.setMajor(dto.getMajor());
+        student.setYear(dto.getYear());
+        student.setPhoneNumber(dto.getPhoneNumber());
+        if (dto.getStatus() != null) {
+            student.setStatus(Students.Status.valueOf(dto.getStatus().trim().toUpperCase(Locale.ROOT)));
+        }
+        student.setUniversity(entityManager.getReference(University.class, dto.getUniversityId()));
+        return student;
+    }
+
+    private static boolean isValidStatus(String status) {
+        String name = status.trim().toUpperCase(Locale.ROOT);
+        for (Students.Status value : Students.Status.values()) {
+            if (value.name().equals(name)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class ImportState {
+        private final Set<String> seenStudentIds = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<Long> knownUniversities = new HashSet<>();
+        private final Set<Long> missingUniversities = new HashSet<>();
+    }
+
+    public static class Row {
+        private final int number;
+        private final StudentDTO student;
+        private final String parseError;
+
+        public Row(int number, StudentDTO student, String parseError) {
+            this.number = number;
+            this.student = student;
+            this.parseError = parseError;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public StudentDTO getStudent() {
+            return student;
+        }
+
+        public String getParseError() {
+            return parseError;
+        }
+
+        private String key() {
+            return student != null ? student.getStudentId() : null;
+        }
+    }
+}
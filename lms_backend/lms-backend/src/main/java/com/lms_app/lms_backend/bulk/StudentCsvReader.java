@@ -0,0 +1,134 @@
+package com.lms_app.lms_backend.bulk;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Reads students one CSV record at a time. The header row names the columns:
+// studentId, fullName, email, major, year, phoneNumber, status, universityId (snake_case also accepted).
+public class StudentCsvReader implements Iterator<StudentBulkImporter.Row> {
+
+    private static final String[] REQUIRED_COLUMNS = {"studentid", "fullname", "universityid"};
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private List<String> nextRecord;
+    private int rowNumber;
+
+    public StudentCsvReader(Reader in) throws IOException {
+        this.reader = new BufferedReader(in);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalize(header.get(i)), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column " + column);
+            }
+        }
+        nextRecord = readRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextRecord != null;
+    }
+
+    @Override
+    public StudentBulkImporter.Row next() {
+        if (nextRecord == null) throw new NoSuchElementException();
+        List<String> record = nextRecord;
+        rowNumber++;
+        try {
+            nextRecord = readRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        StudentDTO dto = new StudentDTO();
+        dto.setStudentId(field(record, "studentid"));
+        dto.setFullName(field(record, "fullname"));
+        dto.setEmail(field(record, "email"));
+        dto.setMajor(field(record, "major"));
+        dto.setYear(field(record, "year"));
+        dto.setPhoneNumber(field(record, "phonenumber"));
+        dto.setStatus(field(record, "status"));
+        String universityId = field(record, "universityid");
+        String parseError = null;
+        if (universityId != null) {
+            try {
+                dto.setUniversityId(Long.valueOf(universityId));
+            } catch (NumberFormatException e) {
+                parseError = "universityId is not a number: " + universityId;
+            }
+        }
+        return new StudentBulkImporter.Row(rowNumber, dto, parseError);
+    }
+
+    private String field(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    // RFC 4180 record: quoted fields may contain commas, doubled quotes and line breaks.
+    // Blank lines are skipped; returns null at end of input.
+    private List<String> readRecord() throws IOException {
+        while (true) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+            }
+            if (!read) return null;
+            fields.add(field.toString());
+            if (fields.size() > 1 || !fields.get(0).isBlank()) {
+                return fields;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.lms_app.lms_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on Boot's applicationTaskExecutor, a bounded platform thread pool. The build
+// targets Java 17, where spring.threads.virtual.enabled (vthreads profile) has no effect; only on a
+// Java 21+ runtime does Boot switch this executor to virtual threads.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
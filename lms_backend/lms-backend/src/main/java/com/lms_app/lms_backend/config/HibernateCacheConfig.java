@@ -0,0 +1,66 @@
+package com.lms_app.lms_backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.lms_app.lms_backend.tenant.DatabaseScopedCacheKeysFactory;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+// Hibernate second-level and query cache on a local Caffeine JCache manager. Each region listed
+// under lms.cache.regions.* is created with its own size bound; anything else Hibernate asks for
+// (the update-timestamps region) is created unbounded. Hit/miss counts per region are published
+// by Boot's Hibernate metrics (hibernate.second.level.cache.requests, hibernate.query.cache.requests).
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${lms.cache.ttl:30m}")
+    private Duration ttl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        Map<String, Long> regions = Binder.get(environment)
+                .bind("lms.cache.regions", Bindable.mapOf(String.class, Long.class))
+                .orElse(Map.of());
+        regions.forEach((region, maxSize) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            // A backstop for rows changed outside Hibernate (SQL scripts, other services)
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                  TenantRoutingDataSource routingDataSource) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                    new JCacheRegionFactory(new DatabaseScopedCacheKeysFactory(routingDataSource)));
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        };
+    }
+}
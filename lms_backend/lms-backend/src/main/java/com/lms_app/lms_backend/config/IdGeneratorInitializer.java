@@ -0,0 +1,26 @@
+package com.lms_app.lms_backend.config;
+
+import com.lms_app.lms_backend.entity.Students;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdGeneratorInitializer implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Rows created before the switch from AUTO_INCREMENT (or inserted by SQL scripts)
+        // must stay below the allocator, otherwise the next pooled block collides with them.
+        jdbcTemplate.update(
+                "INSERT INTO id_generator (gen_name, next_val) "
+                        + "SELECT ?, COALESCE(MAX(id), 0) + 1 + ? FROM students "
+                        + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                Students.ID_GENERATOR_KEY, Students.ID_ALLOCATION_SIZE);
+    }
+}
@@ -1,45 +1,46 @@
 package com.lms_app.lms_backend.config;
 
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantDataSourceProperties;
+import com.lms_app.lms_backend.tenant.TenantRegistry;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
 
 @Configuration
+@EnableConfigurationProperties(TenantDataSourceProperties.class)
 public class TenantConfig {
 
-    @Bean
-    @RequestScope
-    public TenantContext tenantContext() {
-        return new TenantContext();
+    // The spring.datasource.* pool, now only the shared target of the routing DataSource.
+    // Not a default candidate, so everything injecting a DataSource gets the router.
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource sharedDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
 
-    public static class TenantContext {
-        private String tenantId;
-        private String tenantName;
-        private String subdomain;
-
-        public String getTenantId() {
-            return tenantId;
-        }
-
-        public void setTenantId(String tenantId) {
-            this.tenantId = tenantId;
-        }
-
-        public String getTenantName() {
-            return tenantName;
-        }
-
-        public void setTenantName(String tenantName) {
-            this.tenantName = tenantName;
-        }
-
-        public String getSubdomain() {
-            return subdomain;
-        }
+    @Bean
+    @Primary
+    public TenantRoutingDataSource dataSource(@Qualifier("sharedDataSource") HikariDataSource sharedDataSource,
+                                              TenantDataSourceProperties tenantDataSourceProperties,
+                                              ObjectProvider<TenantRegistry> tenantRegistry) {
+        // The registry reads tenants through JPA, which needs this DataSource, hence the provider
+        return new TenantRoutingDataSource(sharedDataSource, tenantDataSourceProperties,
+                subdomain -> tenantRegistry.getObject().resolve(subdomain));
+    }
 
-        public void setSubdomain(String subdomain) {
-            this.subdomain = subdomain;
-        }
+    // Picked up by Boot's applicationTaskExecutor, which also runs @Async methods and
+    // Spring MVC async work such as StreamingResponseBody
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return TenantContextHolder::wrap;
     }
-}
\ No newline at end of file
+}
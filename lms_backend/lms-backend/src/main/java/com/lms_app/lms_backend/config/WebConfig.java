@@ -1,21 +1,33 @@
 package com.lms_app.lms_backend.config;
 
+import com.lms_app.lms_backend.interceptor.RateLimitInterceptor;
+import com.lms_app.lms_backend.interceptor.RateLimitProperties;
 import com.lms_app.lms_backend.interceptor.TenantInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class WebConfig implements WebMvcConfigurer {
 
     @Autowired
     private TenantInterceptor tenantInterceptor;
 
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(tenantInterceptor)
                 .addPathPatterns("/api/**")
-                .excludePathPatterns("/api/auth/**", "/api/health/**");
+                // Login resolves users within the host's tenant, so /api/auth is no longer excluded
+                .excludePathPatterns("/api/health/**");
+        // Needs the tenant resolved above
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/health/**");
     }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,19 +22,42 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     @PostMapping
     public AdminDTO createAdmin(@RequestBody AdminDTO dto) {
         return adminService.createAdmin(dto);
     }
 
     @GetMapping("/{id}")
-    public AdminDTO getAdmin(@PathVariable Long id) {
-        return adminService.getAdminById(id);
+    public ResponseEntity<AdminDTO> getAdmin(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> adminService.getAdminById(id));
     }
 
     @GetMapping
-    public List<AdminDTO> getAllAdmins() {
-        return adminService.getAllAdmins();
+    public ResponseEntity<List<AdminDTO>> getAllAdmins(WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> adminService.getAllAdmins());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<AdminDTO>> getAdminsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> adminService.getAdminsAfter(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllAdmins() {
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.STREAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayStreams.<AdminDTO>of(objectMapper, adminService::streamAllAdmins));
     }
 
     @PutMapping("/{id}")
@@ -39,4 +69,8 @@ public class AdminController {
     public void deleteAdmin(@PathVariable Long id) {
         adminService.deleteAdmin(id);
     }
+
+    private String etag() {
+        return tableVersions.etag(TableVersions.Table.ADMINS);
+    }
 }
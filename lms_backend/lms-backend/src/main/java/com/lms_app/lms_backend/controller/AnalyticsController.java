@@ -0,0 +1,66 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.analytics.EnrollmentAnalytics;
+import com.lms_app.lms_backend.dto.AnalyticsReportDTO;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// ADVANCED_ANALYTICS tenants only; students never see analytics and university admins only their own university
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AnalyticsController {
+
+    @Autowired
+    private EnrollmentAnalytics enrollmentAnalytics;
+
+    // e.g. /api/analytics/enrollments?groupBy=course&universityId=3
+    @GetMapping("/enrollments")
+    public ResponseEntity<AnalyticsReportDTO> enrollments(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                                          @RequestParam(defaultValue = "none") String groupBy,
+                                                          @RequestParam(required = false) Long universityId,
+                                                          @RequestParam(required = false) Long courseId) {
+        if (!allowed(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if ("university_admin".equals(principal.getRole())) {
+            universityId = Long.valueOf(principal.getUniversityId());
+        }
+        return ResponseEntity.ok(enrollmentAnalytics.report(parseGroupBy(groupBy), universityId, courseId));
+    }
+
+    // Starts a fresh snapshot of the caller's database instead of waiting for the next scheduled one.
+    // A tenant with a database of its own may refresh it; the shared database is the super admin's.
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal) {
+        if (!allowed(principal)
+                || (!"super_admin".equals(principal.getRole()) && !enrollmentAnalytics.ownsSnapshot())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        enrollmentAnalytics.refresh();
+        return ResponseEntity.accepted().build();
+    }
+
+    private static boolean allowed(AuthPrincipal principal) {
+        if (!TenantContextHolder.get().hasFeature(Tenant.Feature.ADVANCED_ANALYTICS)) return false;
+        if ("student".equals(principal.getRole())) return false;
+        return !"university_admin".equals(principal.getRole()) || principal.getUniversityId() != null;
+    }
+
+    private static EnrollmentAnalytics.GroupBy parseGroupBy(String groupBy) {
+        try {
+            return EnrollmentAnalytics.GroupBy.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("groupBy must be one of "
+                    + Arrays.toString(EnrollmentAnalytics.GroupBy.values()).toLowerCase(Locale.ROOT));
+        }
+    }
+}
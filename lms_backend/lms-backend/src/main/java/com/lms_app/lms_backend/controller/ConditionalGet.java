@@ -0,0 +1,29 @@
+package com.lms_app.lms_backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Answers 304 from the ETag alone; the body supplier (the query and the JSON) only runs on a miss
+final class ConditionalGet {
+
+    // Catalog data (courses, universities) changes rarely: browsers may reuse it briefly without asking
+    static final CacheControl CATALOG = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate().mustRevalidate();
+    // People data (students, admins): always revalidated, which is a cheap 304 when unchanged
+    static final CacheControl PEOPLE = CacheControl.noCache().cachePrivate();
+    static final CacheControl STREAM = CacheControl.noStore();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> of(WebRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+}
@@ -1,9 +1,16 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.service.CourseService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,19 +22,42 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     @PostMapping
     public CourseDTO createCourse(@RequestBody CourseDTO dto) {
         return courseService.createCourse(dto);
     }
 
     @GetMapping("/{id}")
-    public CourseDTO getCourse(@PathVariable Long id) {
-        return courseService.getCourseById(id);
+    public ResponseEntity<CourseDTO> getCourse(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.CATALOG,
+                () -> courseService.getCourseById(id));
     }
 
     @GetMapping
-    public List<CourseDTO> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<List<CourseDTO>> getAllCourses(WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.CATALOG,
+                () -> courseService.getAllCourses());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CourseDTO>> getCoursesPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.CATALOG,
+                () -> courseService.getCoursesAfter(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllCourses() {
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.STREAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayStreams.<CourseDTO>of(objectMapper, courseService::streamAllCourses));
     }
 
     @PutMapping("/{id}")
@@ -39,4 +69,8 @@ public class CourseController {
     public void deleteCourse(@PathVariable Long id) {
         courseService.deleteCourse(id);
     }
+
+    private String etag() {
+        return tableVersions.etag(TableVersions.Table.COURSES);
+    }
 }
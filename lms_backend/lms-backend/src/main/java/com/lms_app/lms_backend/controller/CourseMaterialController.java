@@ -0,0 +1,71 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.CourseMaterialDTO;
+import com.lms_app.lms_backend.service.CourseMaterialService;
+import com.lms_app.lms_backend.storage.MaterialDownload;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/materials")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CourseMaterialController {
+
+    @Autowired
+    private CourseMaterialService materialService;
+
+    @PostMapping
+    public CourseMaterialDTO createMaterial(@RequestBody CourseMaterialDTO dto) {
+        return materialService.createMaterial(dto);
+    }
+
+    @GetMapping("/{id}")
+    public CourseMaterialDTO getMaterial(@PathVariable Long id) {
+        return materialService.getMaterialById(id);
+    }
+
+    @GetMapping("/course/{courseId}")
+    public List<CourseMaterialDTO> getMaterialsByCourse(@PathVariable Long courseId) {
+        return materialService.getMaterialsByCourse(courseId);
+    }
+
+    @PutMapping("/{id}")
+    public CourseMaterialDTO updateMaterial(@PathVariable Long id, @RequestBody CourseMaterialDTO dto) {
+        return materialService.updateMaterial(id, dto);
+    }
+
+    // The raw request body is the file (no multipart), so it goes to storage as it arrives:
+    // curl -T lecture.mp4 -H "Content-Type: video/mp4" .../api/materials/7/content
+    @PutMapping("/{id}/content")
+    public CourseMaterialDTO uploadContent(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        return materialService.uploadContent(id, request.getContentType(), request.getContentLengthLong(),
+                request.getInputStream());
+    }
+
+    // Supports Range requests so video and audio players can seek
+    @GetMapping("/{id}/content")
+    public void downloadContent(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        MaterialDownload download = materialService.openContent(id);
+        response.setContentType(download.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(download.getTitle(), StandardCharsets.UTF_8).build().toString());
+        // Seeks and resumed downloads don't count as another download
+        if (RangeDownloads.write(request, response, download.getContent()) == 0) {
+            materialService.recordDownload(id);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteMaterial(@PathVariable Long id) {
+        materialService.deleteMaterial(id);
+    }
+}
@@ -0,0 +1,46 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.DashboardDTO;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // The platform view, or one university's with ?universityId=. University admins always get their own.
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getDashboard(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                                     @RequestParam(required = false) Long universityId,
+                                                     @RequestParam(defaultValue = "10") int topCourses) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if ("university_admin".equals(principal.getRole())) {
+            if (principal.getUniversityId() == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            universityId = Long.valueOf(principal.getUniversityId());
+        }
+        return ResponseEntity.ok(dashboardService.getDashboard(universityId, CursorPage.clampLimit(topCourses)));
+    }
+
+    // Re-counts everything in the caller's database
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal) {
+        if (!"super_admin".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        dashboardService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
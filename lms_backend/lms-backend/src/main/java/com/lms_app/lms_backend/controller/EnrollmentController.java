@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.service.EnrollmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@CrossOrigin(origins = "http://localhost:3000")
+public class EnrollmentController {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @PostMapping
+    public EnrollmentDTO enroll(@RequestBody EnrollmentDTO dto) {
+        return enrollmentService.enroll(dto.getStudentId(), dto.getCourseId());
+    }
+
+    @GetMapping("/{id}")
+    public EnrollmentDTO getEnrollment(@PathVariable Long id) {
+        return enrollmentService.getEnrollmentById(id);
+    }
+
+    @GetMapping("/student/{studentId}")
+    public List<EnrollmentDTO> getEnrollmentsByStudent(@PathVariable Long studentId) {
+        return enrollmentService.getEnrollmentsByStudent(studentId);
+    }
+
+    @GetMapping("/course/{courseId}")
+    public List<EnrollmentDTO> getEnrollmentsByCourse(@PathVariable Long courseId,
+            @RequestParam(required = false) String status) {
+        return enrollmentService.getEnrollmentsByCourse(courseId, status);
+    }
+
+    @PutMapping("/{id}/approve")
+    public EnrollmentDTO approve(@PathVariable Long id) {
+        return enrollmentService.approve(id);
+    }
+
+    @PutMapping("/{id}/reject")
+    public EnrollmentDTO reject(@PathVariable Long id) {
+        return enrollmentService.reject(id);
+    }
+
+    @PutMapping("/{id}/drop")
+    public EnrollmentDTO drop(@PathVariable Long id) {
+        return enrollmentService.drop(id);
+    }
+
+    @PutMapping("/{id}/progress")
+    public EnrollmentDTO updateProgress(@PathVariable Long id, @RequestBody EnrollmentDTO dto) {
+        return enrollmentService.updateProgress(id, dto);
+    }
+}
@@ -0,0 +1,71 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.export.ExportDataset;
+import com.lms_app.lms_backend.export.ExportFormat;
+import com.lms_app.lms_backend.export.Exporter;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// e.g. /api/export/students?format=xlsx. Rows are written while they are read, on an async
+// request thread, so the response starts immediately and ends when the table does.
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ExportController {
+
+    @Autowired
+    private Exporter exporter;
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                                        @PathVariable String dataset,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ExportDataset exportDataset = parse(ExportDataset.class, dataset, "dataset");
+        ExportFormat exportFormat = parse(ExportFormat.class, format, "format");
+        boolean gzip = exportFormat.isCompressible() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String filename = exportDataset.name().toLowerCase(Locale.ROOT) + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(ConditionalGet.STREAM)
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exporter.export(exportDataset, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                exporter.export(exportDataset, exportFormat, out);
+            }
+        });
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be one of "
+                    + Arrays.toString(type.getEnumConstants()).toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.lms_app.lms_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.dto.JobDTO;
+import com.lms_app.lms_backend.dto.JobRequest;
+import com.lms_app.lms_backend.exception.ConflictException;
+import com.lms_app.lms_backend.exception.ResourceNotFoundException;
+import com.lms_app.lms_backend.job.JobHandler;
+import com.lms_app.lms_backend.job.JobRunner;
+import com.lms_app.lms_backend.job.JobStore;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Background jobs of the caller's tenant: submit, poll, cancel and fetch the result. Students
+// have no access; which job types an admin may submit is up to each JobHandler.
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "http://localhost:3000")
+public class JobController {
+
+    private static final int MAX_LIST = 200;
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @Autowired
+    private JobStore jobStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // e.g. {"type": "export", "params": {"dataset": "enrollments", "format": "xlsx"}}
+    @PostMapping
+    public ResponseEntity<JobDTO> submit(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                         @RequestBody JobRequest request) throws IOException {
+        JobHandler handler = jobRunner.handler(request.getType())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown job type " + request.getType()));
+        if ("student".equals(principal.getRole()) || !handler.permitted(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        long id = jobRunner.submit(handler, request.getParams() != null ? request.getParams() : objectMapper.createObjectNode(),
+                principal, null);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(find(id));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<JobDTO>> list(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                             @RequestParam(defaultValue = "50") int limit) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(jobStore.recent(TenantFilter.currentTenantId(), Math.max(1, Math.min(limit, MAX_LIST))));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDTO> get(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                      @PathVariable long id) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok().cacheControl(ConditionalGet.STREAM).body(find(id));
+    }
+
+    // A queued job is cancelled at once, a running one at its next progress report
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<JobDTO> cancel(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                         @PathVariable long id) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        find(id);
+        if (!jobStore.requestCancel(id, TenantFilter.currentTenantId())) {
+            throw new ConflictException("Job " + id + " has already finished");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(find(id));
+    }
+
+    // The job's file, if it wrote one, otherwise its JSON result
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> result(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                    @PathVariable long id) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        find(id);
+        String[] result = jobStore.result(id, TenantFilter.currentTenantId())
+                .orElseThrow(() -> new ConflictException("Job " + id + " has not succeeded"));
+        String json = result[0];
+        String file = result[1];
+        String contentType = result[2];
+        if (file != null) {
+            Path path = jobRunner.workDir(id).resolve(file);
+            if (!Files.isRegularFile(path)) {
+                throw new ResourceNotFoundException("The result of job " + id + " is no longer available");
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(ConditionalGet.STREAM)
+                    .contentType(contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file).build().toString())
+                    .body(new FileSystemResource(path));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.STREAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json != null ? json : "null");
+    }
+
+    private JobDTO find(long id) {
+        return jobStore.find(id, TenantFilter.currentTenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+    }
+}
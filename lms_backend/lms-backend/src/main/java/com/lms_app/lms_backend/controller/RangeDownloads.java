@@ -0,0 +1,64 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.storage.StoredMaterial;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+final class RangeDownloads {
+
+    // Tomcat's connector sends the file itself (sendfile) after the servlet returns when these are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private RangeDownloads() {}
+
+    // Writes the whole file (200) or a single requested byte range (206). Multi-range requests
+    // get the whole file, which RFC 9110 allows. Returns the first byte sent, or -1 if no body was.
+    static long write(HttpServletRequest request, HttpServletResponse response, StoredMaterial content)
+            throws IOException {
+        long size = content.size();
+        long start = 0;
+        long end = size - 1;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return -1;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return -1;
+        }
+        if (content.localFile() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, content.localFile().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+        } else {
+            // No sendfile (TLS, another container): the store copies via FileChannel.transferTo
+            content.transferTo(start, length, Channels.newChannel(response.getOutputStream()));
+        }
+        return start;
+    }
+}
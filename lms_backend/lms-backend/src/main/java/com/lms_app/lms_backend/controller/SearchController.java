@@ -0,0 +1,45 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.SearchHitDTO;
+import com.lms_app.lms_backend.search.CourseSearchIndex;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SearchController {
+
+    private static final Set<String> TYPES = Set.of(CourseSearchIndex.COURSE, CourseSearchIndex.MATERIAL);
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    // e.g. /api/search?q=algoritm&type=course&limit=20
+    @GetMapping
+    public List<SearchHitDTO> search(@RequestParam String q, @RequestParam(required = false) String type,
+                                     @RequestParam(defaultValue = "20") int limit) throws IOException {
+        if (type != null && !TYPES.contains(type)) {
+            throw new IllegalArgumentException("type must be one of " + TYPES);
+        }
+        return courseSearchIndex.search(q, type, CursorPage.clampLimit(limit));
+    }
+
+    // Re-reads the caller's tenant's courses and materials from the database
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal) {
+        if ("student".equals(principal.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("indexed", courseSearchIndex.rebuild()));
+    }
+}
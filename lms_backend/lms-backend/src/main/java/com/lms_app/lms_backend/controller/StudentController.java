@@ -1,10 +1,34 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.dto.BulkImportResult;
+import com.lms_app.lms_backend.dto.CursorPage;
+import com.lms_app.lms_backend.dto.JobDTO;
+import com.lms_app.lms_backend.dto.SearchPage;
 import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.dto.StudentSearchCriteria;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.etag.TableVersions;
+import com.lms_app.lms_backend.job.JobHandler;
+import com.lms_app.lms_backend.job.JobRunner;
+import com.lms_app.lms_backend.job.JobStore;
+import com.lms_app.lms_backend.job.StudentImportJob;
+import com.lms_app.lms_backend.security.AuthPrincipal;
 import com.lms_app.lms_backend.service.StudentService;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,19 +39,57 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @Autowired
+    private JobStore jobStore;
+
     @PostMapping
     public StudentDTO createStudent(@RequestBody StudentDTO dto) {
         return studentService.createStudent(dto);
     }
 
     @GetMapping("/{id}")
-    public StudentDTO getStudent(@PathVariable Long id) {
-        return studentService.getStudentById(id);
+    public ResponseEntity<StudentDTO> getStudent(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> studentService.getStudentById(id));
     }
 
     @GetMapping
-    public List<StudentDTO> getAllStudents() {
-        return studentService.getAllStudents();
+    public ResponseEntity<List<StudentDTO>> getAllStudents(WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> studentService.getAllStudents());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<StudentDTO>> getStudentsPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> studentService.getStudentsAfter(after, limit));
+    }
+
+    // e.g. /search?universityId=3&major=CS&year=2&status=ACTIVE&q=ann&sort=fullName,asc&page=0&size=50
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<StudentDTO>> searchStudents(StudentSearchCriteria criteria,
+            @PageableDefault(size = CursorPage.DEFAULT_LIMIT, sort = "fullName") Pageable pageable,
+            WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.PEOPLE,
+                () -> studentService.searchStudents(criteria, pageable));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllStudents() {
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.STREAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayStreams.<StudentDTO>of(objectMapper, studentService::streamAllStudents));
     }
 
     @PutMapping("/{id}")
@@ -39,4 +101,45 @@ public class StudentController {
     public void deleteStudent(@PathVariable Long id) {
         studentService.deleteStudent(id);
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importStudents(@RequestBody List<StudentDTO> students) {
+        if (!bulkOperationsEnabled()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(studentService.importStudents(students));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkImportResult> importStudentsCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        if (!bulkOperationsEnabled()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(studentService.importStudentsCsv(file.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Same CSV as /bulk, imported by a background job; poll /api/jobs/{id} for progress and the result
+    @PostMapping(value = "/bulk/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobDTO> importStudentsCsvAsync(@RequestAttribute(AuthPrincipal.REQUEST_ATTRIBUTE) AuthPrincipal principal,
+                                                         @RequestParam("file") MultipartFile file) throws IOException {
+        JobHandler handler = jobRunner.handler(StudentImportJob.TYPE).orElseThrow();
+        if (!handler.permitted(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        long id = jobRunner.submit(handler, objectMapper.createObjectNode(), principal, file::transferTo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(jobStore.find(id, TenantFilter.currentTenantId()).orElseThrow());
+    }
+
+    private boolean bulkOperationsEnabled() {
+        return TenantContextHolder.get().hasFeature(Tenant.Feature.BULK_OPERATIONS);
+    }
+
+    private String etag() {
+        return tableVersions.etag(TableVersions.Table.STUDENTS);
+    }
+}
@@ -1,9 +1,16 @@
 package com.lms_app.lms_backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.dto.UniversityDTO;
+import com.lms_app.lms_backend.etag.TableVersions;
 import com.lms_app.lms_backend.service.UniversityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,19 +22,42 @@ public class UniversityController {
     @Autowired
     private UniversityService universityService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     @PostMapping
     public UniversityDTO createUniversity(@RequestBody UniversityDTO dto) {
         return universityService.createUniversity(dto);
     }
 
     @GetMapping("/{id}")
-    public UniversityDTO getUniversity(@PathVariable Long id) {
-        return universityService.getUniversityById(id);
+    public ResponseEntity<UniversityDTO> getUniversity(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.CATALOG,
+                () -> universityService.getUniversityById(id));
     }
 
     @GetMapping
-    public List<UniversityDTO> getAllUniversities() {
-        return universityService.getAllUniversities();
+    public ResponseEntity<List<UniversityDTO>> getAllUniversities(WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.CATALOG,
+                () -> universityService.getAllUniversities());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<UniversityDTO>> getUniversitiesPage(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.of(request, etag(), ConditionalGet.CATALOG,
+                () -> universityService.getUniversitiesAfter(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUniversities() {
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.STREAM)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayStreams.<UniversityDTO>of(objectMapper, universityService::streamAllUniversities));
     }
 
     @PutMapping("/{id}")
@@ -39,4 +69,8 @@ public class UniversityController {
     public void deleteUniversity(@PathVariable Long id) {
         universityService.deleteUniversity(id);
     }
+
+    private String etag() {
+        return tableVersions.etag(TableVersions.Table.UNIVERSITIES);
+    }
 }
@@ -0,0 +1,226 @@
+package com.lms_app.lms_backend.counter;
+
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind for hot counters that used to cost a row UPDATE (and its lock) per request:
+// material download counts and tenant last-activity times. Requests only touch in-memory
+// LongAdders/AtomicLongs; every lms.activity.flush-interval the pending values go out as one
+// UPDATE ... CASE per database and batch. A crash loses at most one interval; a failed flush puts
+// its values back for the next one. lms.activity.flush.lag reports how long the oldest unflushed
+// change has been waiting. Assumes a single application instance.
+@Component
+public class ActivityCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityCounters.class);
+
+    // Keys per statement, keeping the CASE list and IN list well under packet limits
+    private static final int BATCH_SIZE = 500;
+    // last_activity only needs to be accurate to the second
+    private static final long ACTIVITY_RESOLUTION_MILLIS = 1000;
+
+    // Routing key -> material id -> downloads not yet written. Ids are per database, hence the outer map.
+    private final Map<String, Map<Long, LongAdder>> downloads = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> lastActivity = new ConcurrentHashMap<>();
+    private final Set<Long> activeTenants = ConcurrentHashMap.newKeySet();
+    // When the oldest unflushed change was recorded, 0 when everything is flushed
+    private final AtomicLong pendingSince = new AtomicLong();
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer flushTimer;
+    private Counter flushFailures;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("lms.activity.flush.lag", pendingSince, since -> {
+                    long start = since.get();
+                    return start == 0 ? 0 : (System.currentTimeMillis() - start) / 1000.0;
+                })
+                .description("Age of the oldest download count or tenant activity not yet written to the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("lms.activity.flush").register(meterRegistry);
+        flushFailures = Counter.builder("lms.activity.flush.failures").register(meterRegistry);
+    }
+
+    public void materialDownloaded(Long materialId) {
+        add(downloads.computeIfAbsent(routingDataSource.currentKey(), key -> new ConcurrentHashMap<>()), materialId, 1);
+        markPending();
+    }
+
+    // Downloads counted but not flushed yet, so reads don't appear to lag behind
+    public long pendingDownloads(Long materialId) {
+        Map<Long, LongAdder> pending = downloads.get(routingDataSource.currentKey());
+        LongAdder adder = pending != null ? pending.get(materialId) : null;
+        return adder != null ? adder.sum() : 0;
+    }
+
+    public void tenantActive(Long tenantId) {
+        long now = System.currentTimeMillis();
+        AtomicLong last = lastActivity.computeIfAbsent(tenantId, id -> new AtomicLong());
+        long previous = last.get();
+        // Most requests stop here: one volatile read, no write
+        if (now - previous < ACTIVITY_RESOLUTION_MILLIS) return;
+        if (last.compareAndSet(previous, now)) {
+            activeTenants.add(tenantId);
+            markPending();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.activity.flush-interval:1s}")
+    public void flush() {
+        if (pendingSince.get() == 0) return;
+        // Reset first: anything recorded from here on starts a new lag measurement
+        long since = pendingSince.getAndSet(0);
+        flushTimer.record(() -> {
+            boolean complete = flushDownloads() & flushActivity();
+            if (!complete) {
+                flushFailures.increment();
+                pendingSince.accumulateAndGet(since, (current, previous) -> current == 0 ? previous : Math.min(current, previous));
+            }
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean flushDownloads() {
+        boolean complete = true;
+        for (Map.Entry<String, Map<Long, LongAdder>> database : downloads.entrySet()) {
+            // sumThenReset swaps each cell atomically, so increments racing with it are never lost
+            Map<Long, Long> drained = new LinkedHashMap<>();
+            database.getValue().forEach((id, adder) -> {
+                long count = adder.sumThenReset();
+                if (count != 0) drained.put(id, count);
+            });
+            if (drained.isEmpty()) continue;
+            List<List<Map.Entry<Long, Long>>> batches = batches(drained);
+            for (int i = 0; i < batches.size(); i++) {
+                try {
+                    routingDataSource.jdbcTemplate(database.getKey()).update(caseUpdate("course_materials",
+                            "download_count = COALESCE(download_count, 0) + ", batches.get(i).size()),
+                            caseParameters(batches.get(i)));
+                } catch (RuntimeException e) {
+                    log.warn("Flushing download counts to {} failed, retrying with the next flush", database.getKey(), e);
+                    // Batches already written stay written; only this one and the rest go back
+                    for (List<Map.Entry<Long, Long>> unwritten : batches.subList(i, batches.size())) {
+                        unwritten.forEach(row -> add(database.getValue(), row.getKey(), row.getValue()));
+                    }
+                    complete = false;
+                    break;
+                }
+                // Otherwise every material ever downloaded would keep an adder
+                batches.get(i).forEach(row -> dropIfIdle(database.getValue(), row.getKey()));
+            }
+        }
+        return complete;
+    }
+
+    private boolean flushActivity() {
+        if (activeTenants.isEmpty()) return true;
+        Map<Long, Timestamp> drained = new LinkedHashMap<>();
+        for (Long tenantId : List.copyOf(activeTenants)) {
+            // Removed before reading so activity racing with the flush re-marks the tenant
+            activeTenants.remove(tenantId);
+            drained.put(tenantId, new Timestamp(lastActivity.get(tenantId).get()));
+        }
+        try {
+            JdbcTemplate jdbc = routingDataSource.jdbcTemplate(TenantRoutingDataSource.SHARED);
+            for (List<Map.Entry<Long, Timestamp>> batch : batches(drained)) {
+                jdbc.update(caseUpdate("tenants", "last_activity = ", batch.size()), caseParameters(batch));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Flushing tenant activity failed, retrying with the next flush", e);
+            activeTenants.addAll(drained.keySet());
+            return false;
+        }
+    }
+
+    // UPDATE t SET <assignment> CASE id WHEN ? THEN ? ... END WHERE id IN (?, ...)
+    private static String caseUpdate(String table, String assignment, int rows) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ").append(assignment).append("CASE id");
+        for (int i = 0; i < rows; i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" END WHERE id IN (").append(String.join(", ", Collections.nCopies(rows, "?"))).append(')');
+        return sql.toString();
+    }
+
+    private static <V> Object[] caseParameters(List<Map.Entry<Long, V>> batch) {
+        List<Object> parameters = new ArrayList<>(batch.size() * 3);
+        for (Map.Entry<Long, V> row : batch) {
+            parameters.add(row.getKey());
+            parameters.add(row.getValue());
+        }
+        for (Map.Entry<Long, V> row : batch) {
+            parameters.add(row.getKey());
+        }
+        return parameters.toArray();
+    }
+
+    private static <V> List<List<Map.Entry<Long, V>>> batches(Map<Long, V> values) {
+        List<Map.Entry<Long, V>> rows = new ArrayList<>(values.entrySet());
+        List<List<Map.Entry<Long, V>>> batches = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+            batches.add(rows.subList(i, Math.min(i + BATCH_SIZE, rows.size())));
+        }
+        return batches;
+    }
+
+    // An adder can be dropped by a flush between being looked up and being added to. Whichever side
+    // notices (the adder is no longer mapped, or it was counted after all) moves its count on, and
+    // sumThenReset makes sure only one of them does.
+    private static void add(Map<Long, LongAdder> pending, Long materialId, long count) {
+        LongAdder adder = pending.computeIfAbsent(materialId, id -> new LongAdder());
+        adder.add(count);
+        while (pending.get(materialId) != adder) {
+            count = adder.sumThenReset();
+            if (count == 0) return;
+            adder = pending.computeIfAbsent(materialId, id -> new LongAdder());
+            adder.add(count);
+        }
+    }
+
+    private static void dropIfIdle(Map<Long, LongAdder> pending, Long materialId) {
+        LongAdder adder = pending.get(materialId);
+        if (adder == null || adder.sum() != 0 || !pending.remove(materialId, adder)) return;
+        long late = adder.sumThenReset();
+        if (late != 0) add(pending, materialId, late);
+    }
+
+    private void markPending() {
+        if (pendingSince.get() == 0) {
+            pendingSince.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+}
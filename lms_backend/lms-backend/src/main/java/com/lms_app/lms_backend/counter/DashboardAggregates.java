@@ -0,0 +1,260 @@
+package com.lms_app.lms_backend.counter;
+
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Enrollment;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.support.AfterCommit;
+import com.lms_app.lms_backend.support.LoadOnce;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dashboard counts (rows by status, students by major and year, enrollments by course) kept in
+// memory and adjusted by the service write paths after their transaction commits, so a dashboard
+// is served without touching the tables. Counts are kept per database, tenant and university and
+// summed on read. They are rebuilt from GROUP BY scans at startup for the shared schema, on first
+// use for a dedicated one, and on demand; rows removed by a database cascade are only dropped by
+// a rebuild. Assumes a single application instance.
+@Component
+public class DashboardAggregates implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregates.class);
+
+    // Rows that don't belong to a tenant or a university are counted under 0
+    public static final long NONE = 0L;
+
+    public enum Metric {
+        UNIVERSITIES_BY_STATUS,
+        ADMINS_BY_STATUS,
+        COURSES_BY_STATUS,
+        STUDENTS_BY_STATUS,
+        STUDENTS_BY_MAJOR,
+        STUDENTS_BY_YEAR,
+        ENROLLMENTS_BY_STATUS,
+        // Keyed by course id; rejected and dropped enrollments aren't counted
+        ENROLLMENTS_BY_COURSE
+    }
+
+    private static final String UNSPECIFIED = "Unspecified";
+
+    // Ids are only unique within one database, so everything is kept per JDBC URL
+    private final ConcurrentMap<String, Database> databases = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String key = TenantRoutingDataSource.SHARED;
+        databases.put(routingDataSource.jdbcUrl(key), scan(key));
+    }
+
+    // What one row contributes, taken before a change (to subtract) and after it (to add)
+    public static Facts university(University university) {
+        return new Facts(university.getTenantId(), NONE)
+                .with(Metric.UNIVERSITIES_BY_STATUS, university.getStatus());
+    }
+
+    public static Facts admin(Admin admin) {
+        return new Facts(admin.getTenantId(), NONE)
+                .with(Metric.ADMINS_BY_STATUS, admin.getAdminStatus());
+    }
+
+    public static Facts course(Course course) {
+        return new Facts(course.getTenantId(), idOf(course.getUniversity()))
+                .with(Metric.COURSES_BY_STATUS, course.getStatus() != null ? course.getStatus() : Course.Status.ACTIVE);
+    }
+
+    public static Facts student(Students student) {
+        return new Facts(student.getTenantId(), idOf(student.getUniversity()))
+                .with(Metric.STUDENTS_BY_STATUS, student.getStatus())
+                .with(Metric.STUDENTS_BY_MAJOR, orUnspecified(student.getMajor()))
+                .with(Metric.STUDENTS_BY_YEAR, orUnspecified(student.getYear()));
+    }
+
+    public static Facts enrollment(Enrollment enrollment, Enrollment.Status status) {
+        Course course = enrollment.getCourse();
+        return new Facts(enrollment.getTenantId(), idOf(course.getUniversity()))
+                .with(Metric.ENROLLMENTS_BY_STATUS, status)
+                .with(Metric.ENROLLMENTS_BY_COURSE, counted(status) ? course.getId() : null);
+    }
+
+    // A row was created (before is null), changed, or deleted (after is null)
+    public void changed(Facts before, Facts after) {
+        Database db = current();
+        AfterCommit.run(() -> {
+            if (before != null) db.apply(before, -1);
+            if (after != null) db.apply(after, 1);
+        });
+    }
+
+    // The university's own row goes, and with it everything counted under it
+    public void universityDeleted(University university) {
+        Database db = current();
+        Facts facts = university(university);
+        Long universityId = university.getId();
+        AfterCommit.run(() -> {
+            db.apply(facts, -1);
+            Map<Long, Counts> universities = db.tenants.get(facts.tenantId);
+            if (universities != null) universities.remove(universityId);
+        });
+    }
+
+    // A course is gone; its enrollments no longer count towards it
+    public void courseDeleted(Course course) {
+        Database db = current();
+        Facts facts = course(course);
+        String courseId = String.valueOf(course.getId());
+        AfterCommit.run(() -> {
+            db.apply(facts, -1);
+            Counts counts = db.counts(facts.tenantId, facts.universityId);
+            counts.values.get(Metric.ENROLLMENTS_BY_COURSE).remove(courseId);
+        });
+    }
+
+    // Summed over the current request's tenant (every tenant for the unpartitioned one) and the
+    // given university, or every university when it is null
+    public Map<Metric, Map<String, Long>> snapshot(Long universityId) {
+        long tenantId = TenantFilter.currentTenantId();
+        Map<Metric, Map<String, Long>> totals = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            totals.put(metric, new TreeMap<>());
+        }
+        current().tenants.forEach((tenant, universities) -> {
+            if (tenantId != TenantFilter.UNPARTITIONED && tenant != tenantId) return;
+            universities.forEach((university, counts) -> {
+                // Platform-wide rows (universities, admins) are only part of the platform view
+                if (universityId != null && !universityId.equals(university)) return;
+                counts.values.forEach((metric, values) -> values.forEach((value, adder) -> {
+                    long count = adder.sum();
+                    if (count != 0) totals.get(metric).merge(value, count, Long::sum);
+                }));
+            });
+        });
+        return totals;
+    }
+
+    // Re-scans the database the current request is routed to
+    public void rebuild() {
+        String key = routingDataSource.currentKey();
+        databases.put(routingDataSource.jdbcUrl(key), scan(key));
+    }
+
+    private Database current() {
+        String key = routingDataSource.currentKey();
+        return LoadOnce.get(databases, routingDataSource.jdbcUrl(key), url -> scan(key));
+    }
+
+    // Changes committed while the scan runs may be missed or counted twice until the next rebuild
+    private Database scan(String key) {
+        Database db = new Database();
+        JdbcTemplate jdbc = routingDataSource.jdbcTemplate(key);
+        jdbc.query("SELECT tenant_id, status, COUNT(*) FROM university GROUP BY tenant_id, status",
+                rs -> { db.add(rs.getLong(1), NONE, Metric.UNIVERSITIES_BY_STATUS, rs.getString(2), rs.getLong(3)); });
+        jdbc.query("SELECT tenant_id, admin_status, COUNT(*) FROM admin GROUP BY tenant_id, admin_status",
+                rs -> { db.add(rs.getLong(1), NONE, Metric.ADMINS_BY_STATUS, rs.getString(2), rs.getLong(3)); });
+        jdbc.query("SELECT tenant_id, university_id, COALESCE(status, 'ACTIVE'), COUNT(*) FROM course "
+                        + "GROUP BY tenant_id, university_id, COALESCE(status, 'ACTIVE')",
+                rs -> { db.add(rs.getLong(1), rs.getLong(2), Metric.COURSES_BY_STATUS, rs.getString(3), rs.getLong(4)); });
+        jdbc.query("SELECT tenant_id, university_id, status, major, year, COUNT(*) FROM students "
+                        + "GROUP BY tenant_id, university_id, status, major, year",
+                rs -> {
+                    long tenantId = rs.getLong(1);
+                    long universityId = rs.getLong(2);
+                    long count = rs.getLong(6);
+                    db.add(tenantId, universityId, Metric.STUDENTS_BY_STATUS, rs.getString(3), count);
+                    db.add(tenantId, universityId, Metric.STUDENTS_BY_MAJOR, orUnspecified(rs.getString(4)), count);
+                    db.add(tenantId, universityId, Metric.STUDENTS_BY_YEAR, orUnspecified(rs.getString(5)), count);
+                });
+        jdbc.query("SELECT e.tenant_id, c.university_id, e.course_id, e.status, COUNT(*) FROM enrollments e "
+                        + "JOIN course c ON c.id = e.course_id GROUP BY e.tenant_id, c.university_id, e.course_id, e.status",
+                rs -> {
+                    long tenantId = rs.getLong(1);
+                    long universityId = rs.getLong(2);
+                    Enrollment.Status status = Enrollment.Status.valueOf(rs.getString(4));
+                    long count = rs.getLong(5);
+                    db.add(tenantId, universityId, Metric.ENROLLMENTS_BY_STATUS, status.name(), count);
+                    if (counted(status)) {
+                        db.add(tenantId, universityId, Metric.ENROLLMENTS_BY_COURSE, rs.getString(3), count);
+                    }
+                });
+        log.info("Rebuilt dashboard aggregates for {} tenants in {}", db.tenants.size(), key);
+        return db;
+    }
+
+    private static boolean counted(Enrollment.Status status) {
+        return status != Enrollment.Status.REJECTED && status != Enrollment.Status.DROPPED;
+    }
+
+    private static long idOf(University university) {
+        return university != null && university.getId() != null ? university.getId() : NONE;
+    }
+
+    private static String orUnspecified(String value) {
+        return value != null && !value.isBlank() ? value.trim() : UNSPECIFIED;
+    }
+
+    public static final class Facts {
+        private final long tenantId;
+        private final long universityId;
+        private final Map<Metric, String> values = new EnumMap<>(Metric.class);
+
+        private Facts(Long tenantId, long universityId) {
+            this.tenantId = tenantId != null ? tenantId : NONE;
+            this.universityId = universityId;
+        }
+
+        private Facts with(Metric metric, Object value) {
+            if (value != null) {
+                values.put(metric, value instanceof Enum<?> e ? e.name() : value.toString());
+            }
+            return this;
+        }
+    }
+
+    private static class Database {
+        // Tenant id -> university id -> counts
+        private final Map<Long, Map<Long, Counts>> tenants = new ConcurrentHashMap<>();
+
+        private Counts counts(long tenantId, long universityId) {
+            return tenants.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(universityId, id -> new Counts());
+        }
+
+        private void add(long tenantId, long universityId, Metric metric, String value, long delta) {
+            counts(tenantId, universityId).values.get(metric)
+                    .computeIfAbsent(value, v -> new LongAdder())
+                    .add(delta);
+        }
+
+        private void apply(Facts facts, long delta) {
+            facts.values.forEach((metric, value) -> add(facts.tenantId, facts.universityId, metric, value, delta));
+        }
+    }
+
+    private static class Counts {
+        // Every metric is present from the start, so only the inner maps are ever written
+        private final Map<Metric, Map<String, LongAdder>> values = new EnumMap<>(Metric.class);
+
+        private Counts() {
+            for (Metric metric : Metric.values()) {
+                values.put(metric, new ConcurrentHashMap<>());
+            }
+        }
+    }
+}
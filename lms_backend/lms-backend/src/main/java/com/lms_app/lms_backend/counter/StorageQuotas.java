@@ -0,0 +1,210 @@
+package com.lms_app.lms_backend.counter;
+
+import com.lms_app.lms_backend.exception.QuotaExceededException;
+import com.lms_app.lms_backend.support.LoadOnce;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-tenant material storage accounting, enforced in memory so concurrent uploads never queue on
+// the tenants row. An upload opens a Reservation and charges bytes against the tenant's
+// storage_limit as they arrive; commit turns the reservation into usage, release gives it back.
+// tenants.storage_used is a write-behind copy flushed in batches, and usage is reconciled against
+// SUM(course_materials.file_size) on a fixed delay to repair drift (crashes, rows changed outside
+// the service). Assumes a single application instance.
+@Component
+public class StorageQuotas {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageQuotas.class);
+
+    // Charged ahead of the bytes actually read, so the shared counter is touched once per chunk
+    private static final long CHUNK = 1024 * 1024;
+
+    private final ConcurrentMap<Long, Usage> usages = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    // For the current request's tenant. The default tenant isn't limited or accounted.
+    public Reservation open() {
+        long tenantId = TenantFilter.currentTenantId();
+        if (tenantId == TenantFilter.UNPARTITIONED) {
+            return new Reservation(tenantId, null, null);
+        }
+        return new Reservation(tenantId, usage(tenantId), TenantContextHolder.get().getStorageLimit());
+    }
+
+    // A material's file was removed (or replaced) after its row change committed
+    public void released(Long tenantId, Long bytes) {
+        if (tenantId == null || bytes == null || bytes == 0) return;
+        Usage usage = usages.get(tenantId);
+        if (usage == null) return;
+        usage.apply(-bytes, -bytes);
+        dirty.add(tenantId);
+    }
+
+    @Scheduled(fixedDelayString = "${lms.quotas.flush-interval:5s}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>();
+        for (Long tenantId : List.copyOf(dirty)) {
+            // Removed before reading so a change racing with the flush re-marks the tenant
+            dirty.remove(tenantId);
+            Usage usage = usages.get(tenantId);
+            if (usage != null) rows.add(new Object[] { usage.used.get(), tenantId });
+        }
+        routingDataSource.jdbcTemplate(TenantRoutingDataSource.SHARED)
+                .batchUpdate("UPDATE tenants SET storage_used = ? WHERE id = ?", rows);
+    }
+
+    // A tenant that changed during its scan is left for the next round rather than overwritten
+    // with a sum that may already be out of date
+    @Scheduled(fixedDelayString = "${lms.quotas.reconcile-interval:1h}",
+            initialDelayString = "${lms.quotas.reconcile-interval:1h}")
+    public void reconcile() {
+        usages.forEach((tenantId, usage) -> {
+            long changesBefore = usage.changes.get();
+            long actual = sum(usage.routingKey, tenantId);
+            if (usage.changes.get() != changesBefore) return;
+            long drift = actual - usage.used.get();
+            if (drift != 0) {
+                log.info("Storage usage of tenant {} was off by {} bytes", tenantId, drift);
+                usage.apply(drift, drift);
+                dirty.add(tenantId);
+            }
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private Usage usage(long tenantId) {
+        Usage usage = usages.get(tenantId);
+        if (usage == null) {
+            String key = routingDataSource.currentKey();
+            usage = LoadOnce.get(usages, tenantId, id -> new Usage(key, sum(key, id)));
+            dirty.add(tenantId);
+        }
+        return usage;
+    }
+
+    private long sum(String key, long tenantId) {
+        Long sum = routingDataSource.jdbcTemplate(key).queryForObject(
+                "SELECT COALESCE(SUM(file_size), 0) FROM course_materials WHERE tenant_id = ?", Long.class, tenantId);
+        return sum != null ? sum : 0;
+    }
+
+    private static class Usage {
+        // The database holding the tenant's materials
+        private final String routingKey;
+        // Committed bytes: what storage_used should say
+        private final AtomicLong used;
+        // Committed plus currently reserved bytes: what the limit is checked against
+        private final AtomicLong charged;
+        private final AtomicLong changes = new AtomicLong();
+
+        private Usage(String routingKey, long used) {
+            this.routingKey = routingKey;
+            this.used = new AtomicLong(used);
+            this.charged = new AtomicLong(used);
+        }
+
+        private boolean tryCharge(long bytes, Long limit) {
+            while (true) {
+                long current = charged.get();
+                if (limit != null && current + bytes > limit) return false;
+                if (charged.compareAndSet(current, current + bytes)) return true;
+            }
+        }
+
+        private void apply(long usedDelta, long chargedDelta) {
+            used.addAndGet(usedDelta);
+            charged.addAndGet(chargedDelta);
+            changes.incrementAndGet();
+        }
+    }
+
+    // One upload's claim on its tenant's quota. Not thread-safe; each upload owns its own.
+    public class Reservation {
+
+        private final long tenantId;
+        private final Usage usage;
+        private final Long limit;
+        private long reserved;
+        private boolean closed;
+
+        private Reservation(long tenantId, Usage usage, Long limit) {
+            this.tenantId = tenantId;
+            this.usage = usage;
+            this.limit = limit;
+        }
+
+        // Makes sure at least total bytes are reserved; throws once the tenant would go over its limit
+        public void ensure(long total) {
+            if (usage == null || total <= reserved) return;
+            long bytes = Math.max(total - reserved, CHUNK);
+            if (!usage.tryCharge(bytes, limit)) {
+                // The last chunk may be more than the file still needs
+                bytes = total - reserved;
+                if (!usage.tryCharge(bytes, limit)) {
+                    throw new QuotaExceededException("Storage quota exceeded");
+                }
+            }
+            reserved += bytes;
+        }
+
+        // Wraps upload content so it is charged as it is read
+        public InputStream meter(InputStream content) {
+            return new FilterInputStream(content) {
+                private long read;
+
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b != -1) ensure(++read);
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = super.read(buffer, offset, length);
+                    if (n > 0) ensure(read += n);
+                    return n;
+                }
+            };
+        }
+
+        // The file is stored and its row committed; freed is the size of a file it replaced
+        public void commit(long size, long freed) {
+            if (usage == null || closed) return;
+            closed = true;
+            usage.apply(size - freed, size - freed - reserved);
+            dirty.add(tenantId);
+        }
+
+        public void release() {
+            if (usage == null || closed) return;
+            closed = true;
+            usage.charged.addAndGet(-reserved);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.lms_app.lms_backend.counter;
+
+import com.lms_app.lms_backend.support.AfterCommit;
+import com.lms_app.lms_backend.support.LoadOnce;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Authoritative student/course totals per university, kept in memory and adjusted as rows are
+// created and deleted. The university.students/courses and admin.students columns are only a
+// write-behind copy: dirty universities are flushed in one JDBC batch on a fixed delay, and the
+// totals are rebuilt from COUNT(*) scans (at startup for the shared schema, on first use for a
+// tenant's dedicated one). Assumes a single application instance.
+@Component
+public class UniversityCounters implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UniversityCounters.class);
+
+    // University ids are only unique within one database, so everything is kept per JDBC URL
+    private final ConcurrentMap<String, Database> databases = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String key = TenantRoutingDataSource.SHARED;
+        databases.put(routingDataSource.jdbcUrl(key), scan(key));
+        flush();
+    }
+
+    public long students(Long universityId) {
+        Counts c = universityId != null ? current().counts.get(universityId) : null;
+        return c != null ? c.students.sum() : 0;
+    }
+
+    public long courses(Long universityId) {
+        Counts c = universityId != null ? current().counts.get(universityId) : null;
+        return c != null ? c.courses.sum() : 0;
+    }
+
+    public long studentsForAdmin(String adminName) {
+        return adminName != null ? students(current().universityByAdminName.get(adminName)) : 0;
+    }
+
+    public void studentsChanged(Long universityId, long delta) {
+        Database db = current();
+        afterCommit(universityId, () -> {
+            db.counts.computeIfAbsent(universityId, id -> new Counts()).students.add(delta);
+            db.dirty.add(universityId);
+        });
+    }
+
+    public void coursesChanged(Long universityId, long delta) {
+        Database db = current();
+        afterCommit(universityId, () -> {
+            db.counts.computeIfAbsent(universityId, id -> new Counts()).courses.add(delta);
+            db.dirty.add(universityId);
+        });
+    }
+
+    public void universitySaved(Long universityId, String previousAdminName, String adminName) {
+        Database db = current();
+        afterCommit(universityId, () -> {
+            db.counts.computeIfAbsent(universityId, id -> new Counts());
+            if (previousAdminName != null) db.universityByAdminName.remove(previousAdminName, universityId);
+            if (adminName != null) db.universityByAdminName.putIfAbsent(adminName, universityId);
+            db.dirty.add(universityId);
+        });
+    }
+
+    public void universityDeleted(Long universityId, String adminName) {
+        Database db = current();
+        afterCommit(universityId, () -> {
+            db.counts.remove(universityId);
+            db.dirty.remove(universityId);
+            if (adminName != null) db.universityByAdminName.remove(adminName, universityId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${lms.counters.flush-interval:5s}")
+    public void flush() {
+        databases.values().forEach(db -> {
+            if (db.dirty.isEmpty()) return;
+            List<Object[]> universityRows = new ArrayList<>();
+            List<Object[]> adminRows = new ArrayList<>();
+            for (Long id : List.copyOf(db.dirty)) {
+                // Removed before reading so an increment racing with the flush re-marks the university
+                db.dirty.remove(id);
+                Counts c = db.counts.get(id);
+                if (c == null) continue;
+                long students = c.students.sum();
+                universityRows.add(new Object[] { students, c.courses.sum(), id });
+                adminRows.add(new Object[] { students, id });
+            }
+            JdbcTemplate jdbc = routingDataSource.jdbcTemplate(db.routingKey);
+            jdbc.batchUpdate("UPDATE university SET students = ?, courses = ? WHERE id = ?", universityRows);
+            jdbc.batchUpdate("UPDATE admin a JOIN university u ON u.admin_name = a.admin_name "
+                    + "SET a.students = ? WHERE u.id = ?", adminRows);
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private Database current() {
+        String key = routingDataSource.currentKey();
+        return LoadOnce.get(databases, routingDataSource.jdbcUrl(key), url -> scan(key));
+    }
+
+    private Database scan(String key) {
+        Database db = new Database(key);
+        JdbcTemplate jdbc = routingDataSource.jdbcTemplate(key);
+        jdbc.query("SELECT id, admin_name FROM university", rs -> {
+            long id = rs.getLong(1);
+            db.counts.put(id, new Counts());
+            String adminName = rs.getString(2);
+            if (adminName != null) db.universityByAdminName.putIfAbsent(adminName, id);
+        });
+        jdbc.query("SELECT university_id, COUNT(*) FROM students WHERE university_id IS NOT NULL GROUP BY university_id",
+                rs -> { db.counts.computeIfAbsent(rs.getLong(1), id -> new Counts()).students.add(rs.getLong(2)); });
+        jdbc.query("SELECT university_id, COUNT(*) FROM course WHERE university_id IS NOT NULL GROUP BY university_id",
+                rs -> { db.counts.computeIfAbsent(rs.getLong(1), id -> new Counts()).courses.add(rs.getLong(2)); });
+        db.dirty.addAll(db.counts.keySet());
+        log.info("Rebuilt student/course counters for {} universities in {}", db.counts.size(), key);
+        return db;
+    }
+
+    // Rows without a university aren't counted
+    private static void afterCommit(Long universityId, Runnable update) {
+        if (universityId != null) AfterCommit.run(update);
+    }
+
+    private static class Database {
+        // Any routing key whose pool reaches this database, used for scans and flushes
+        private final String routingKey;
+        private final Map<Long, Counts> counts = new ConcurrentHashMap<>();
+        private final Map<String, Long> universityByAdminName = new ConcurrentHashMap<>();
+        private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+        private Database(String routingKey) {
+            this.routingKey = routingKey;
+        }
+    }
+
+    private static class Counts {
+        private final LongAdder students = new LongAdder();
+        private final LongAdder courses = new LongAdder();
+    }
+}
@@ -0,0 +1,138 @@
+package com.lms_app.lms_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Enrollment analytics grouped by one dimension. Computed from a periodic snapshot; snapshotAt says
+// how current it is.
+public class AnalyticsReportDTO {
+
+    private String groupBy;
+    private LocalDateTime snapshotAt;
+    private List<Group> groups;
+
+    public AnalyticsReportDTO() {}
+
+    public AnalyticsReportDTO(String groupBy, LocalDateTime snapshotAt, List<Group> groups) {
+        this.groupBy = groupBy;
+        this.snapshotAt = snapshotAt;
+        this.groups = groups;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public LocalDateTime getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    public void setSnapshotAt(LocalDateTime snapshotAt) {
+        this.snapshotAt = snapshotAt;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+
+        // The grouped value (an id for universities and courses) and how to show it
+        private String key;
+        private String label;
+        private long enrollments;
+        private Map<String, Long> byStatus;
+        // Completed out of all enrollments that weren't rejected; null when there are none
+        private Double completionRate;
+        // Over approved and enrolled students only
+        private Double averageProgress;
+        // Eleven buckets: 0-9, 10-19, ..., 90-99, 100
+        private long[] progressHistogram;
+        private Map<String, Long> grades;
+        // p25, p50, p75 and p90 of final_score; empty when nobody has a score
+        private Map<String, Double> scorePercentiles;
+
+        public Group() {}
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public long getEnrollments() {
+            return enrollments;
+        }
+
+        public void setEnrollments(long enrollments) {
+            this.enrollments = enrollments;
+        }
+
+        public Map<String, Long> getByStatus() {
+            return byStatus;
+        }
+
+        public void setByStatus(Map<String, Long> byStatus) {
+            this.byStatus = byStatus;
+        }
+
+        public Double getCompletionRate() {
+            return completionRate;
+        }
+
+        public void setCompletionRate(Double completionRate) {
+            this.completionRate = completionRate;
+        }
+
+        public Double getAverageProgress() {
+            return averageProgress;
+        }
+
+        public void setAverageProgress(Double averageProgress) {
+            this.averageProgress = averageProgress;
+        }
+
+        public long[] getProgressHistogram() {
+            return progressHistogram;
+        }
+
+        public void setProgressHistogram(long[] progressHistogram) {
+            this.progressHistogram = progressHistogram;
+        }
+
+        public Map<String, Long> getGrades() {
+            return grades;
+        }
+
+        public void setGrades(Map<String, Long> grades) {
+            this.grades = grades;
+        }
+
+        public Map<String, Double> getScorePercentiles() {
+            return scorePercentiles;
+        }
+
+        public void setScorePercentiles(Map<String, Double> scorePercentiles) {
+            this.scorePercentiles = scorePercentiles;
+        }
+    }
+}
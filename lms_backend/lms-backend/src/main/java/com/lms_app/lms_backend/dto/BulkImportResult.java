@@ -0,0 +1,92 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResult {
+
+    // Every failed row is counted, but only the first MAX_ERRORS are itemised
+    public static final int MAX_ERRORS = 1000;
+
+    private int total;
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(int row, String key, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(row, key, message));
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int row;
+        private String key;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int row, String key, String message) {
+            this.row = row;
+            this.key = key;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
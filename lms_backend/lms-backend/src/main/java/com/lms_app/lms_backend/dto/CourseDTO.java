@@ -1,5 +1,7 @@
 package com.lms_app.lms_backend.dto;
 
+import com.lms_app.lms_backend.entity.Course;
+
 public class CourseDTO {
     private Long id;
     private String courseCode;
@@ -9,6 +11,21 @@ public class CourseDTO {
     private String instructor;
     private String status;
     private Long universityId;
+
+	public CourseDTO() {}
+
+	public CourseDTO(Long id, String courseCode, String courseName, String description, int credits,
+			String instructor, Course.Status status, Long universityId) {
+		this.id = id;
+		this.courseCode = courseCode;
+		this.courseName = courseName;
+		this.description = description;
+		this.credits = credits;
+		this.instructor = instructor;
+		this.status = status != null ? status.name() : "ACTIVE";
+		this.universityId = universityId;
+	}
+
 	public Long getId() {
 		return id;
 	}
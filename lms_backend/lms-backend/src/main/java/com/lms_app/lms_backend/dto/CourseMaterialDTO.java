@@ -0,0 +1,112 @@
+package com.lms_app.lms_backend.dto;
+
+import com.lms_app.lms_backend.entity.CourseMaterial;
+
+import java.time.LocalDateTime;
+
+public class CourseMaterialDTO {
+    private Long id;
+    private Long courseId;
+    private String title;
+    private String type;
+    private String url;
+    private String description;
+    private Long fileSize;
+    private String contentType;
+    private String duration;
+    private LocalDateTime uploadedAt;
+    private Boolean isPublic;
+    private Integer downloadCount;
+
+	public CourseMaterialDTO() {}
+
+	public CourseMaterialDTO(Long id, Long courseId, String title, CourseMaterial.MaterialType type, String url,
+			String description, Long fileSize, String contentType, String duration, LocalDateTime uploadedAt,
+			Boolean isPublic, Integer downloadCount) {
+		this.id = id;
+		this.courseId = courseId;
+		this.title = title;
+		this.type = type != null ? type.name() : null;
+		this.url = url;
+		this.description = description;
+		this.fileSize = fileSize;
+		this.contentType = contentType;
+		this.duration = duration;
+		this.uploadedAt = uploadedAt;
+		this.isPublic = isPublic;
+		this.downloadCount = downloadCount;
+	}
+
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public String getTitle() {
+		return title;
+	}
+	public void setTitle(String title) {
+		this.title = title;
+	}
+	public String getType() {
+		return type;
+	}
+	public void setType(String type) {
+		this.type = type;
+	}
+	public String getUrl() {
+		return url;
+	}
+	public void setUrl(String url) {
+		this.url = url;
+	}
+	public String getDescription() {
+		return description;
+	}
+	public void setDescription(String description) {
+		this.description = description;
+	}
+	public Long getFileSize() {
+		return fileSize;
+	}
+	public void setFileSize(Long fileSize) {
+		this.fileSize = fileSize;
+	}
+	public String getContentType() {
+		return contentType;
+	}
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+	public String getDuration() {
+		return duration;
+	}
+	public void setDuration(String duration) {
+		this.duration = duration;
+	}
+	public LocalDateTime getUploadedAt() {
+		return uploadedAt;
+	}
+	public void setUploadedAt(LocalDateTime uploadedAt) {
+		this.uploadedAt = uploadedAt;
+	}
+	public Boolean getIsPublic() {
+		return isPublic;
+	}
+	public void setIsPublic(Boolean isPublic) {
+		this.isPublic = isPublic;
+	}
+	public Integer getDownloadCount() {
+		return downloadCount;
+	}
+	public void setDownloadCount(Integer downloadCount) {
+		this.downloadCount = downloadCount;
+	}
+}
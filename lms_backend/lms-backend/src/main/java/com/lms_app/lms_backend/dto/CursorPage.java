@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public static int clampLimit(int limit) {
+        if (limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // Callers fetch limit + 1 rows; the extra row only tells us whether another page exists.
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Long> idOf) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        Long nextCursor = items.isEmpty() ? null : idOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, hasMore ? nextCursor : null, hasMore);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,188 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Everything a dashboard shows, in one response. universityId is null for the platform view, which
+// is the only one carrying university and admin counts.
+public class DashboardDTO {
+
+    private Long universityId;
+    private long universities;
+    private long admins;
+    private long courses;
+    private long students;
+    private long enrollments;
+    private Map<String, Long> universitiesByStatus;
+    private Map<String, Long> adminsByStatus;
+    private Map<String, Long> coursesByStatus;
+    private Map<String, Long> studentsByStatus;
+    private Map<String, Long> studentsByMajor;
+    private Map<String, Long> studentsByYear;
+    private Map<String, Long> enrollmentsByStatus;
+    // Most enrolled first; rejected and dropped enrollments aren't counted
+    private List<CourseEnrollments> enrollmentsByCourse;
+
+    public DashboardDTO() {}
+
+    public Long getUniversityId() {
+        return universityId;
+    }
+
+    public void setUniversityId(Long universityId) {
+        this.universityId = universityId;
+    }
+
+    public long getUniversities() {
+        return universities;
+    }
+
+    public void setUniversities(long universities) {
+        this.universities = universities;
+    }
+
+    public long getAdmins() {
+        return admins;
+    }
+
+    public void setAdmins(long admins) {
+        this.admins = admins;
+    }
+
+    public long getCourses() {
+        return courses;
+    }
+
+    public void setCourses(long courses) {
+        this.courses = courses;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public void setStudents(long students) {
+        this.students = students;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public Map<String, Long> getUniversitiesByStatus() {
+        return universitiesByStatus;
+    }
+
+    public void setUniversitiesByStatus(Map<String, Long> universitiesByStatus) {
+        this.universitiesByStatus = universitiesByStatus;
+    }
+
+    public Map<String, Long> getAdminsByStatus() {
+        return adminsByStatus;
+    }
+
+    public void setAdminsByStatus(Map<String, Long> adminsByStatus) {
+        this.adminsByStatus = adminsByStatus;
+    }
+
+    public Map<String, Long> getCoursesByStatus() {
+        return coursesByStatus;
+    }
+
+    public void setCoursesByStatus(Map<String, Long> coursesByStatus) {
+        this.coursesByStatus = coursesByStatus;
+    }
+
+    public Map<String, Long> getStudentsByStatus() {
+        return studentsByStatus;
+    }
+
+    public void setStudentsByStatus(Map<String, Long> studentsByStatus) {
+        this.studentsByStatus = studentsByStatus;
+    }
+
+    public Map<String, Long> getStudentsByMajor() {
+        return studentsByMajor;
+    }
+
+    public void setStudentsByMajor(Map<String, Long> studentsByMajor) {
+        this.studentsByMajor = studentsByMajor;
+    }
+
+    public Map<String, Long> getStudentsByYear() {
+        return studentsByYear;
+    }
+
+    public void setStudentsByYear(Map<String, Long> studentsByYear) {
+        this.studentsByYear = studentsByYear;
+    }
+
+    public Map<String, Long> getEnrollmentsByStatus() {
+        return enrollmentsByStatus;
+    }
+
+    public void setEnrollmentsByStatus(Map<String, Long> enrollmentsByStatus) {
+        this.enrollmentsByStatus = enrollmentsByStatus;
+    }
+
+    public List<CourseEnrollments> getEnrollmentsByCourse() {
+        return enrollmentsByCourse;
+    }
+
+    public void setEnrollmentsByCourse(List<CourseEnrollments> enrollmentsByCourse) {
+        this.enrollmentsByCourse = enrollmentsByCourse;
+    }
+
+    public static class CourseEnrollments {
+
+        private Long courseId;
+        private String courseCode;
+        private String courseName;
+        private long enrollments;
+
+        public CourseEnrollments() {}
+
+        public CourseEnrollments(Long courseId, String courseCode, String courseName, long enrollments) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.enrollments = enrollments;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public void setCourseId(Long courseId) {
+            this.courseId = courseId;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        public void setCourseCode(String courseCode) {
+            this.courseCode = courseCode;
+        }
+
+        public String getCourseName() {
+            return courseName;
+        }
+
+        public void setCourseName(String courseName) {
+            this.courseName = courseName;
+        }
+
+        public long getEnrollments() {
+            return enrollments;
+        }
+
+        public void setEnrollments(long enrollments) {
+            this.enrollments = enrollments;
+        }
+    }
+}
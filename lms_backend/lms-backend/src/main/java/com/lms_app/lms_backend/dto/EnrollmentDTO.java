@@ -0,0 +1,112 @@
+package com.lms_app.lms_backend.dto;
+
+import com.lms_app.lms_backend.entity.Enrollment;
+
+import java.time.LocalDateTime;
+
+public class EnrollmentDTO {
+    private Long id;
+    private Long studentId;
+    private String studentName;
+    private Long courseId;
+    private String courseCode;
+    private String courseName;
+    private String status;
+    private LocalDateTime enrolledAt;
+    private LocalDateTime completedAt;
+    private Integer progress;
+    private String grade;
+    private Double finalScore;
+
+	public EnrollmentDTO() {}
+
+	public EnrollmentDTO(Long id, Long studentId, String studentName, Long courseId, String courseCode,
+			String courseName, Enrollment.Status status, LocalDateTime enrolledAt, LocalDateTime completedAt,
+			Integer progress, String grade, Double finalScore) {
+		this.id = id;
+		this.studentId = studentId;
+		this.studentName = studentName;
+		this.courseId = courseId;
+		this.courseCode = courseCode;
+		this.courseName = courseName;
+		this.status = status != null ? status.name() : null;
+		this.enrolledAt = enrolledAt;
+		this.completedAt = completedAt;
+		this.progress = progress;
+		this.grade = grade;
+		this.finalScore = finalScore;
+	}
+
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public Long getStudentId() {
+		return studentId;
+	}
+	public void setStudentId(Long studentId) {
+		this.studentId = studentId;
+	}
+	public String getStudentName() {
+		return studentName;
+	}
+	public void setStudentName(String studentName) {
+		this.studentName = studentName;
+	}
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public String getCourseCode() {
+		return courseCode;
+	}
+	public void setCourseCode(String courseCode) {
+		this.courseCode = courseCode;
+	}
+	public String getCourseName() {
+		return courseName;
+	}
+	public void setCourseName(String courseName) {
+		this.courseName = courseName;
+	}
+	public String getStatus() {
+		return status;
+	}
+	public void setStatus(String status) {
+		this.status = status;
+	}
+	public LocalDateTime getEnrolledAt() {
+		return enrolledAt;
+	}
+	public void setEnrolledAt(LocalDateTime enrolledAt) {
+		this.enrolledAt = enrolledAt;
+	}
+	public LocalDateTime getCompletedAt() {
+		return completedAt;
+	}
+	public void setCompletedAt(LocalDateTime completedAt) {
+		this.completedAt = completedAt;
+	}
+	public Integer getProgress() {
+		return progress;
+	}
+	public void setProgress(Integer progress) {
+		this.progress = progress;
+	}
+	public String getGrade() {
+		return grade;
+	}
+	public void setGrade(String grade) {
+		this.grade = grade;
+	}
+	public Double getFinalScore() {
+		return finalScore;
+	}
+	public void setFinalScore(Double finalScore) {
+		this.finalScore = finalScore;
+	}
+}
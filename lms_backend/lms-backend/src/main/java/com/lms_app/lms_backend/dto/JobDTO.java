@@ -0,0 +1,146 @@
+package com.lms_app.lms_backend.dto;
+
+import java.time.LocalDateTime;
+
+// A job's status; the result itself is fetched from /api/jobs/{id}/result
+public class JobDTO {
+
+    private Long id;
+    private String type;
+    private String status;
+    private long progressDone;
+    // 0 when the job doesn't know its total
+    private long progressTotal;
+    private int attempts;
+    private int maxAttempts;
+    private boolean cancelRequested;
+    private boolean hasResult;
+    private String error;
+    private String createdBy;
+    private LocalDateTime runAfter;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public JobDTO() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getProgressDone() {
+        return progressDone;
+    }
+
+    public void setProgressDone(long progressDone) {
+        this.progressDone = progressDone;
+    }
+
+    public long getProgressTotal() {
+        return progressTotal;
+    }
+
+    public void setProgressTotal(long progressTotal) {
+        this.progressTotal = progressTotal;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public boolean isHasResult() {
+        return hasResult;
+    }
+
+    public void setHasResult(boolean hasResult) {
+        this.hasResult = hasResult;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getRunAfter() {
+        return runAfter;
+    }
+
+    public void setRunAfter(LocalDateTime runAfter) {
+        this.runAfter = runAfter;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lms_app.lms_backend.dto;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Body of POST /api/jobs; params are handler-specific
+public class JobRequest {
+
+    private String type;
+    private ObjectNode params;
+
+    public JobRequest() {}
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public ObjectNode getParams() {
+        return params;
+    }
+
+    public void setParams(ObjectNode params) {
+        this.params = params;
+    }
+}
@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend.dto;
+
+public class SearchHitDTO {
+    private String type;
+    private Long id;
+    private Long courseId;
+    private String title;
+    private String courseCode;
+    private float score;
+
+	public SearchHitDTO() {}
+
+	public SearchHitDTO(String type, Long id, Long courseId, String title, String courseCode, float score) {
+		this.type = type;
+		this.id = id;
+		this.courseId = courseId;
+		this.title = title;
+		this.courseCode = courseCode;
+		this.score = score;
+	}
+
+	public String getType() {
+		return type;
+	}
+	public void setType(String type) {
+		this.type = type;
+	}
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public String getTitle() {
+		return title;
+	}
+	public void setTitle(String title) {
+		this.title = title;
+	}
+	public String getCourseCode() {
+		return courseCode;
+	}
+	public void setCourseCode(String courseCode) {
+		this.courseCode = courseCode;
+	}
+	public float getScore() {
+		return score;
+	}
+	public void setScore(float score) {
+		this.score = score;
+	}
+}
@@ -0,0 +1,60 @@
+package com.lms_app.lms_backend.dto;
+
+import java.util.List;
+
+// One page of an offset-paged search. There is deliberately no total: counting every match
+// costs more than fetching the page itself once a tenant has a few hundred thousand rows.
+public class SearchPage<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public SearchPage() {}
+
+    public SearchPage(List<T> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    // Callers fetch size + 1 rows; the extra row only tells us whether another page exists.
+    public static <T> SearchPage<T> of(List<T> fetched, int page, int size) {
+        boolean hasMore = fetched.size() > size;
+        return new SearchPage<>(hasMore ? fetched.subList(0, size) : fetched, page, size, hasMore);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
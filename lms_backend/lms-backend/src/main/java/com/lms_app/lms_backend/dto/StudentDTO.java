@@ -1,5 +1,7 @@
 package com.lms_app.lms_backend.dto;
 
+import com.lms_app.lms_backend.entity.Students;
+
 public class StudentDTO {
     private Long id;
     private String studentId;
@@ -8,7 +10,23 @@ public class StudentDTO {
     private String major;
     private String year;
     private String phoneNumber;
+    private String status;
     private Long universityId;
+
+	public StudentDTO() {}
+
+	public StudentDTO(Long id, String studentId, String fullName, String email, String major, String year,
+			String phoneNumber, Students.Status status, Long universityId) {
+		this.id = id;
+		this.studentId = studentId;
+		this.fullName = fullName;
+		this.email = email;
+		this.major = major;
+		this.year = year;
+		this.phoneNumber = phoneNumber;
+		this.status = status != null ? status.name() : null;
+		this.universityId = universityId;
+	}
 	
 	public Long getId() {
 		return id;
@@ -54,6 +72,12 @@ public class StudentDTO {
 	public void setPhoneNumber(String phoneNumber) {
 		this.phoneNumber = phoneNumber;
 	}
+	public String getStatus() {
+		return status;
+	}
+	public void setStatus(String status) {
+		this.status = status;
+	}
 	public Long getUniversityId() {
 		return universityId;
 	}
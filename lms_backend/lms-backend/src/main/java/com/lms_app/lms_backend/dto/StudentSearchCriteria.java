@@ -0,0 +1,41 @@
+package com.lms_app.lms_backend.dto;
+
+// Query parameters of GET /api/students/search; all optional
+public class StudentSearchCriteria {
+    private Long universityId;
+    private String major;
+    private String year;
+    private String status;
+    private String q;
+
+	public Long getUniversityId() {
+		return universityId;
+	}
+	public void setUniversityId(Long universityId) {
+		this.universityId = universityId;
+	}
+	public String getMajor() {
+		return major;
+	}
+	public void setMajor(String major) {
+		this.major = major;
+	}
+	public String getYear() {
+		return year;
+	}
+	public void setYear(String year) {
+		this.year = year;
+	}
+	public String getStatus() {
+		return status;
+	}
+	public void setStatus(String status) {
+		this.status = status;
+	}
+	public String getQ() {
+		return q;
+	}
+	public void setQ(String q) {
+		this.q = q;
+	}
+}
@@ -1,19 +1,37 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.security.LoginEmailInvalidator;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import com.lms_app.lms_backend.tenant.TenantScopedListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Filter;
 
 @Entity
-public class Admin {
+@Table(indexes = {
+        @Index(name = "idx_admin_email", columnList = "email"),
+        @Index(name = "idx_admin_tenant", columnList = "tenant_id")
+})
+@EntityListeners({LoginEmailInvalidator.class, TenantScopedListener.class})
+@Filter(name = TenantFilter.NAME)
+public class Admin implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", updatable = false)
+    private Long tenantId;
+
     private String adminName;
     private String uniName;
     private String role;
@@ -22,6 +40,7 @@ public class Admin {
     private Status status;
 
     private String email;
+    @Column(updatable = false)
     private int students;
     private Long phnnum;
     private int department;
@@ -119,4 +138,12 @@ public class Admin {
 
     // Getters and Setters
     
+
+	public Long getTenantId() {
+		return tenantId;
+	}
+
+	public void setTenantId(Long tenantId) {
+		this.tenantId = tenantId;
+	}
 }
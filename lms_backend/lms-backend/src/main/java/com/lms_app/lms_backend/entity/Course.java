@@ -1,14 +1,27 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import com.lms_app.lms_backend.tenant.TenantScopedListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
 
 @Entity
-public class Course {
+@Table(indexes = @Index(name = "idx_course_tenant", columnList = "tenant_id"))
+@EntityListeners(TenantScopedListener.class)
+@Filter(name = TenantFilter.NAME)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
+public class Course implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", updatable = false)
+    private Long tenantId;
+
     private String courseName;
     private String courseCode;
     private String description;
@@ -18,7 +31,13 @@ public class Course {
     @Enumerated(EnumType.STRING)
     private Status status;
 
-    @ManyToOne
+    // null means no seat limit; enrolledCount is only changed by CourseSeatRepository, never by
+    // writing back a loaded (or cached) entity
+    private Integer capacity = 50;
+    @Column(updatable = false)
+    private int enrolledCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id")
     private University university;
     
@@ -90,4 +109,27 @@ public class Course {
 		this.status = status;
 	}
 
+	public Integer getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(Integer capacity) {
+		this.capacity = capacity;
+	}
+
+	public int getEnrolledCount() {
+		return enrolledCount;
+	}
+
+	public void setEnrolledCount(int enrolledCount) {
+		this.enrolledCount = enrolledCount;
+	}
+
+	public Long getTenantId() {
+		return tenantId;
+	}
+
+	public void setTenantId(Long tenantId) {
+		this.tenantId = tenantId;
+	}
 }
@@ -1,16 +1,26 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.search.CourseSearchListener;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import com.lms_app.lms_backend.tenant.TenantScopedListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "course_materials")
-public class CourseMaterial {
+@Table(name = "course_materials", indexes = @Index(name = "idx_materials_tenant", columnList = "tenant_id"))
+@EntityListeners({TenantScopedListener.class, CourseSearchListener.class})
+@Filter(name = TenantFilter.NAME)
+public class CourseMaterial implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", updatable = false)
+    private Long tenantId;
+
     @Column(nullable = false)
     private String title;
 
@@ -39,9 +49,22 @@ public class CourseMaterial {
     @Column(name = "is_public")
     private Boolean isPublic = false;
 
-    @Column(name = "download_count")
+    // Incremented by ActivityCounters' batched flushes, never written back from a loaded entity
+    @Column(name = "download_count", updatable = false)
     private Integer downloadCount = 0;
 
+    // Set once a file has been uploaded (see MaterialStorage); LINK materials only have a url
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Uploads stream for minutes between reading the row and saving it; a concurrent upload or
+    // edit in between makes the later save fail instead of silently replacing the other's file
+    @Version
+    private int version;
+
     public enum MaterialType {
         DOCUMENT, VIDEO, LINK, ASSIGNMENT, PRESENTATION, AUDIO
     }
@@ -134,4 +157,32 @@ public class CourseMaterial {
     public void setDownloadCount(Integer downloadCount) {
         this.downloadCount = downloadCount;
     }
-}
\ No newline at end of file
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+}
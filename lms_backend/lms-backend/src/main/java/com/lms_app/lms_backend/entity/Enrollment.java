@@ -1,16 +1,32 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import com.lms_app.lms_backend.tenant.TenantScopedListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "enrollments")
-public class Enrollment {
+@Table(name = "enrollments",
+        uniqueConstraints = @UniqueConstraint(name = "unique_enrollment", columnNames = {"student_id", "course_id"}),
+        indexes = {
+                @Index(name = "idx_enrollments_course_status", columnList = "course_id, status"),
+                @Index(name = "idx_enrollments_tenant", columnList = "tenant_id")
+        })
+@EntityListeners(TenantScopedListener.class)
+@Filter(name = TenantFilter.NAME)
+public class Enrollment implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", updatable = false)
+    private Long tenantId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id")
     private Students student;
@@ -37,8 +53,15 @@ public class Enrollment {
     @Column(name = "final_score")
     private Double finalScore;
 
+    @Version
+    private int version;
+
     public enum Status {
-        PENDING, APPROVED, REJECTED, ENROLLED, COMPLETED, DROPPED
+        // ENROLLED is never set by EnrollmentService: approval leads straight to progress updates
+        PENDING, APPROVED, REJECTED, ENROLLED, COMPLETED, DROPPED;
+
+        // Statuses that occupy one of the course's seats; completing a course gives its seat back
+        public static final Set<Status> SEATED = EnumSet.of(PENDING, APPROVED);
     }
 
     // Getters and Setters
@@ -113,4 +136,16 @@ public class Enrollment {
     public void setFinalScore(Double finalScore) {
         this.finalScore = finalScore;
     }
-}
\ No newline at end of file
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+}
@@ -0,0 +1,75 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Background job queue. It always lives in the shared schema, whichever database the job's tenant
+// uses, and is read and written by JobStore over JDBC; this entity only defines the table. A row
+// with no run_after is still being submitted and is never picked up.
+@Entity
+@Table(name = "jobs", indexes = {
+        // Each tenant's oldest queued job, for the dispatcher's GROUP BY tenant_id
+        @Index(name = "idx_jobs_status_tenant", columnList = "status, tenant_id, id"),
+        @Index(name = "idx_jobs_tenant", columnList = "tenant_id, id")
+})
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    // Restores the tenant (and its database) on the worker thread
+    private String subdomain;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(columnDefinition = "TEXT")
+    private String params;
+
+    // Handler-defined resume point, written as the job makes progress
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String checkpoint;
+
+    private long progressDone;
+    private long progressTotal;
+
+    private int attempts;
+    private int maxAttempts;
+
+    private LocalDateTime runAfter;
+
+    // Instance running the job, and until when its claim holds without a heartbeat
+    @Column(length = 64)
+    private String lockedBy;
+    private LocalDateTime leaseUntil;
+
+    private boolean cancelRequested;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String result;
+
+    // A file in the job's work directory, served by GET /api/jobs/{id}/result
+    private String resultFile;
+    private String resultType;
+
+    @Column(length = 2000)
+    private String error;
+
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+}
@@ -0,0 +1,40 @@
+package com.lms_app.lms_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Change events written by Outbox in the transaction of the change itself, in whichever database
+// the tenant uses, and relayed by OutboxRelay. Written and read over JDBC; this entity only
+// defines the table.
+@Entity
+@Table(name = "outbox_events", indexes = {
+        // The relay's "published_at IS NULL ORDER BY id" and the purge of old published rows
+        @Index(name = "idx_outbox_published", columnList = "published_at, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Column(nullable = false, length = 32)
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 16)
+    private String eventType;
+
+    // The entity as the API returns it; null for deletions
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+}
@@ -1,20 +1,52 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.security.LoginEmailInvalidator;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import com.lms_app.lms_backend.tenant.TenantScopedListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Filter;
 
 @Entity
-public class Students {
-
+// Composite indexes for the directory search (StudentSpecifications): every query is tenant-filtered,
+// so tenant_id leads, then the equality filters, then the column the results are sorted/prefix-searched by
+@Table(indexes = {
+		@Index(name = "idx_students_tenant_name", columnList = "tenant_id, fullName"),
+		@Index(name = "idx_students_tenant_student_id", columnList = "tenant_id, studentId"),
+		@Index(name = "idx_students_tenant_university", columnList = "tenant_id, university_id, status, fullName"),
+		@Index(name = "idx_students_tenant_major_year", columnList = "tenant_id, major, year, status, fullName")
+})
+@EntityListeners({LoginEmailInvalidator.class, TenantScopedListener.class})
+@Filter(name = TenantFilter.NAME)
+public class Students implements TenantScoped {
+
+	public static final String ID_GENERATOR_KEY = "students";
+	public static final int ID_ALLOCATION_SIZE = 100;
+
+	// Table-allocated ids (rather than IDENTITY) let Hibernate batch inserts for bulk imports
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "students_id")
+	@TableGenerator(name = "students_id", table = "id_generator", pkColumnName = "gen_name",
+			valueColumnName = "next_val", pkColumnValue = ID_GENERATOR_KEY, allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
+	@Column(name = "tenant_id", updatable = false)
+	private Long tenantId;
+
 	@Column(unique = true, nullable = false)
 	private String studentId;
 
@@ -27,10 +59,20 @@ public class Students {
 	private String year;
 	private String phoneNumber;
 
-	@ManyToOne
+	// The default fills existing rows when ddl-auto adds the column
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	@ColumnDefault("'ACTIVE'")
+	private Status status = Status.ACTIVE;
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "university_id")
 	private University university;
 
+	public enum Status {
+		ACTIVE, INACTIVE
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -87,6 +129,14 @@ public class Students {
 		this.phoneNumber = phoneNumber;
 	}
 
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
 	public University getUniversity() {
 		return university;
 	}
@@ -97,4 +147,11 @@ public class Students {
 
 	// Getters and Setters
 
+	public Long getTenantId() {
+		return tenantId;
+	}
+
+	public void setTenantId(Long tenantId) {
+		this.tenantId = tenantId;
+	}
 }
@@ -1,11 +1,16 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.tenant.TenantCacheInvalidator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "tenants")
+@EntityListeners(TenantCacheInvalidator.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tenant")
 public class Tenant {
 
     @Id
@@ -30,7 +35,8 @@ public class Tenant {
     @Column(name = "storage_limit")
     private Long storageLimit; // in bytes
 
-    @Column(name = "storage_used")
+    // Maintained by StorageQuotas with direct updates; never written back from a loaded entity
+    @Column(name = "storage_used", updatable = false)
     private Long storageUsed = 0L;
 
     @Column(name = "max_universities")
@@ -45,11 +51,13 @@ public class Tenant {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    @Column(name = "last_activity")
+    // Kept current by ActivityCounters' batched flushes
+    @Column(name = "last_activity", updatable = false)
     private LocalDateTime lastActivity = LocalDateTime.now();
 
     @ElementCollection
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tenant-features")
     private List<Feature> features;
 
     public enum Status {
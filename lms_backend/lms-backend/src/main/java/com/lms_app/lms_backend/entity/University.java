@@ -1,15 +1,35 @@
 package com.lms_app.lms_backend.entity;
 
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import com.lms_app.lms_backend.tenant.TenantScopedListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 import java.util.List;
 
 @Entity
-public class University {
+@Table(indexes = {
+        @Index(name = "idx_university_admin_name", columnList = "adminName"),
+        @Index(name = "idx_university_tenant", columnList = "tenant_id")
+})
+@EntityListeners(TenantScopedListener.class)
+@FilterDef(name = TenantFilter.NAME, defaultCondition = TenantFilter.CONDITION, autoEnabled = true,
+        parameters = @ParamDef(name = TenantFilter.PARAMETER, type = Long.class, resolver = TenantFilter.TenantIdResolver.class))
+@Filter(name = TenantFilter.NAME)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "university")
+public class University implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", updatable = false)
+    private Long tenantId;
+
     private String uniName;
     private String estYear;
     private String address;
@@ -18,7 +38,11 @@ public class University {
     private Status status;
 
     private String adminName;
+    // Written only by UniversityCounters' JDBC flush, so entity updates (possibly from a cached copy)
+    // never write back a stale count
+    @Column(updatable = false)
     private int students;
+    @Column(updatable = false)
     private int courses;
 
     public enum Status {
@@ -100,6 +124,11 @@ public class University {
 		this.studentList = studentList;
 	}
 
-    // Getters and Setters
-    
-}
\ No newline at end of file
+	public Long getTenantId() {
+		return tenantId;
+	}
+
+	public void setTenantId(Long tenantId) {
+		this.tenantId = tenantId;
+	}
+}
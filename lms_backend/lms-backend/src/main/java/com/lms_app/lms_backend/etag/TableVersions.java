@@ -0,0 +1,59 @@
+package com.lms_app.lms_backend.etag;
+
+import com.lms_app.lms_backend.support.AfterCommit;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory version counters behind the read endpoints' ETags. Services call changed(...) for every
+// table whose API representation a write affects; controllers compare etag(...) with If-None-Match
+// before touching the database. Versions are per tenant, plus a per-table generation that writes
+// from the unpartitioned default tenant (which can touch any tenant's rows) bump for everyone.
+// The epoch makes ETags from a previous run never match. Assumes a single application instance.
+@Component
+public class TableVersions {
+
+    public enum Table {
+        UNIVERSITIES, ADMINS, COURSES, STUDENTS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Table, AtomicLong> generations = new EnumMap<>(Table.class);
+    private final Map<Table, Map<Long, AtomicLong>> tenantVersions = new EnumMap<>(Table.class);
+
+    public TableVersions() {
+        for (Table table : Table.values()) {
+            generations.put(table, new AtomicLong());
+            tenantVersions.put(table, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Read before the data so a response never carries a newer ETag than its content
+    public String etag(Table table) {
+        long tenantId = TenantFilter.currentTenantId();
+        AtomicLong version = tenantVersions.get(table).get(tenantId);
+        return "\"" + table.name().toLowerCase() + "-" + epoch + "-" + tenantId + "-"
+                + generations.get(table).get() + "." + (version != null ? version.get() : 0) + "\"";
+    }
+
+    // Applied after commit, so a client can't be handed the new ETag together with the old rows
+    public void changed(Table... tables) {
+        long tenantId = TenantFilter.currentTenantId();
+        AfterCommit.run(() -> {
+            for (Table table : tables) {
+                if (tenantId == TenantFilter.UNPARTITIONED) {
+                    generations.get(table).incrementAndGet();
+                } else {
+                    Map<Long, AtomicLong> versions = tenantVersions.get(table);
+                    versions.computeIfAbsent(tenantId, id -> new AtomicLong()).incrementAndGet();
+                    // The default tenant sees every tenant's rows
+                    versions.computeIfAbsent(TenantFilter.UNPARTITIONED, id -> new AtomicLong()).incrementAndGet();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package com.lms_app.lms_backend.exception;
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,6 @@
+package com.lms_app.lms_backend.exception;
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms_app.lms_backend.exception;
+
+public class QuotaExceededException extends RuntimeException {
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
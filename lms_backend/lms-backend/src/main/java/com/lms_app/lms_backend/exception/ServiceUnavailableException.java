@@ -0,0 +1,7 @@
+package com.lms_app.lms_backend.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
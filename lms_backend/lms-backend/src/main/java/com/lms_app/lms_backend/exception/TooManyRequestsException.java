@@ -0,0 +1,7 @@
+package com.lms_app.lms_backend.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
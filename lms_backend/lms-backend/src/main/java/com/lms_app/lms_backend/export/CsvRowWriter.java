@@ -0,0 +1,58 @@
+package com.lms_app.lms_backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180 CSV in UTF-8 with a byte order mark so Excel detects the encoding. Text that a
+// spreadsheet would run as a formula is prefixed with a quote.
+public class CsvRowWriter implements RowWriter {
+
+    private final Writer out;
+
+    public CsvRowWriter(OutputStream out) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.out.write('\uFEFF');
+    }
+
+    @Override
+    public void row(Object... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) out.write(',');
+            Object cell = cells[i];
+            if (cell == null) continue;
+            if (cell instanceof Number) {
+                out.write(cell.toString());
+            } else {
+                writeText(cell.toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private void writeText(String value) throws IOException {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,48 @@
+package com.lms_app.lms_backend.export;
+
+// What can be exported: a tenant-scoped query in primary-key order and the header naming its
+// columns. Student columns match what the CSV import reads, so an export can be imported again.
+public enum ExportDataset {
+
+    STUDENTS("Students",
+            "SELECT s.id, s.student_id, s.full_name, s.email, s.major, s.year, s.phone_number, s.status, s.university_id "
+                    + "FROM students s WHERE (? = 0 OR s.tenant_id = ?) ORDER BY s.id",
+            "id", "studentId", "fullName", "email", "major", "year", "phoneNumber", "status", "universityId"),
+
+    COURSES("Courses",
+            "SELECT c.id, c.course_code, c.course_name, c.description, c.credits, c.instructor, c.status, "
+                    + "c.capacity, c.enrolled_count, c.university_id "
+                    + "FROM course c WHERE (? = 0 OR c.tenant_id = ?) ORDER BY c.id",
+            "id", "courseCode", "courseName", "description", "credits", "instructor", "status",
+            "capacity", "enrolledCount", "universityId"),
+
+    ENROLLMENTS("Enrollments",
+            "SELECT e.id, e.student_id, s.student_id, s.full_name, e.course_id, c.course_code, e.status, "
+                    + "e.enrolled_at, e.completed_at, e.progress, e.grade, e.final_score "
+                    + "FROM enrollments e JOIN students s ON s.id = e.student_id JOIN course c ON c.id = e.course_id "
+                    + "WHERE (? = 0 OR e.tenant_id = ?) ORDER BY e.id",
+            "id", "studentId", "studentNumber", "studentName", "courseId", "courseCode", "status",
+            "enrolledAt", "completedAt", "progress", "grade", "finalScore");
+
+    private final String title;
+    private final String sql;
+    private final String[] header;
+
+    ExportDataset(String title, String sql, String... header) {
+        this.title = title;
+        this.sql = sql;
+        this.header = header;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    String[] getHeader() {
+        return header;
+    }
+}
@@ -0,0 +1,37 @@
+package com.lms_app.lms_backend.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum ExportFormat {
+
+    CSV("text/csv;charset=UTF-8", "csv", true),
+    // Already deflated, so gzipping it again only costs CPU
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx", false);
+
+    private final String contentType;
+    private final String extension;
+    private final boolean compressible;
+
+    ExportFormat(String contentType, String extension, boolean compressible) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.compressible = compressible;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public boolean isCompressible() {
+        return compressible;
+    }
+
+    RowWriter open(OutputStream out, String sheetName) throws IOException {
+        return this == CSV ? new CsvRowWriter(out) : new XlsxRowWriter(out, sheetName);
+    }
+}
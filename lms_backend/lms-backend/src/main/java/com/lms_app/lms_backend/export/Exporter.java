@@ -0,0 +1,65 @@
+package com.lms_app.lms_backend.export;
+
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Streams a dataset from a forward-only MySQL cursor (fetch size Integer.MIN_VALUE: one row in
+// memory at a time) straight into the response, so memory stays flat whatever the row count.
+// A failed write means the client is gone: the query is cancelled rather than left for close()
+// to drain the remaining rows of the streaming result.
+@Component
+public class Exporter {
+
+    private static final Logger log = LoggerFactory.getLogger(Exporter.class);
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    // Returns the number of data rows written
+    public long export(ExportDataset dataset, ExportFormat format, OutputStream out) throws IOException {
+        long tenantId = TenantFilter.currentTenantId();
+        String[] header = dataset.getHeader();
+        try (Connection connection = routingDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(dataset.getSql(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, tenantId);
+            statement.setLong(2, tenantId);
+            try (ResultSet rs = statement.executeQuery()) {
+                long rows = 0;
+                try {
+                    RowWriter writer = format.open(out, dataset.getTitle());
+                    writer.row((Object[]) header);
+                    Object[] cells = new Object[header.length];
+                    while (rs.next()) {
+                        for (int i = 0; i < cells.length; i++) {
+                            cells[i] = rs.getObject(i + 1);
+                        }
+                        writer.row(cells);
+                        rows++;
+                    }
+                    writer.close();
+                } catch (IOException e) {
+                    log.info("{} export cancelled after {} rows: {}", dataset.getTitle(), rows, e.getMessage());
+                    statement.cancel();
+                    throw e;
+                }
+                return rows;
+            }
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException(dataset.getTitle() + " export", dataset.getSql(), e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.lms_app.lms_backend.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Writes one export row at a time straight to the response. close() finishes the document but
+// leaves the underlying stream to its owner.
+public interface RowWriter extends Closeable {
+
+    // Cells are null, a Number, or anything else (written as its toString())
+    void row(Object... cells) throws IOException;
+}
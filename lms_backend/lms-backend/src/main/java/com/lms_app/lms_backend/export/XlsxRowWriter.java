@@ -0,0 +1,162 @@
+package com.lms_app.lms_backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Minimal streaming XLSX: worksheet XML is written into the zip as rows arrive, with inline
+// strings so there is no shared-string table to hold in memory (the same idea as POI's SXSSF,
+// without its temp files). A sheet that reaches Excel's row limit continues on the next one; the
+// workbook parts listing the sheets are written last.
+public class XlsxRowWriter implements RowWriter {
+
+    // Excel's limit, header row included
+    private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String SHEET_START = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>";
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private final ZipOutputStream zip;
+    private final Writer out;
+    private final String sheetName;
+    private Object[] header;
+    private int sheets;
+    private int rowInSheet;
+
+    public XlsxRowWriter(OutputStream out, String sheetName) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // Throughput over ratio: the export should run at network speed
+        this.zip.setLevel(Deflater.BEST_SPEED);
+        this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.sheetName = sheetName;
+    }
+
+    @Override
+    public void row(Object... cells) throws IOException {
+        if (header == null) {
+            header = cells.clone();
+        }
+        if (sheets == 0 || rowInSheet == MAX_ROWS_PER_SHEET) {
+            startSheet();
+        }
+        rowInSheet++;
+        out.write("<row r=\"");
+        out.write(Integer.toString(rowInSheet));
+        out.write("\">");
+        for (Object cell : cells) {
+            if (cell == null) {
+                out.write("<c/>");
+            } else if (cell instanceof Number number && Double.isFinite(number.doubleValue())) {
+                out.write("<c><v>");
+                out.write(cell.toString());
+                out.write("</v></c>");
+            } else {
+                out.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(cell.toString());
+                out.write("</t></is></c>");
+            }
+        }
+        out.write("</row>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sheets == 0) {
+            startSheet();
+        }
+        out.write(SHEET_END);
+        out.flush();
+        zip.closeEntry();
+        writeEntry("[Content_Types].xml", contentTypes());
+        writeEntry("_rels/.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("xl/workbook.xml", workbook());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships());
+        // Writes the central directory; the response stream itself stays open
+        zip.finish();
+    }
+
+    private void startSheet() throws IOException {
+        if (sheets > 0) {
+            out.write(SHEET_END);
+            out.flush();
+            zip.closeEntry();
+        }
+        sheets++;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        out.write(SHEET_START);
+        rowInSheet = 0;
+        // Every continuation sheet repeats the header
+        if (sheets > 1 && header != null) {
+            row(header);
+        }
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(content);
+        out.flush();
+        zip.closeEntry();
+    }
+
+    private String contentTypes() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (int i = 1; i <= sheets; i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private String workbook() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        for (int i = 1; i <= sheets; i++) {
+            String name = sheets == 1 ? sheetName : sheetName + " " + i;
+            xml.append("<sheet name=\"").append(name).append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelationships() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheets; i++) {
+            xml.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+                    .append(i).append(".xml\"/>");
+        }
+        return xml.append("</Relationships>").toString();
+    }
+
+    // Characters XML 1.0 can't carry at all are dropped
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                case '&' -> out.write("&amp;");
+                case '"' -> out.write("&quot;");
+                default -> {
+                    if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') out.write(ch);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.lms_app.lms_backend.interceptor;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket limits per tenant and per signed-in user, sized by the tenant's plan, so one
+// tenant's scripts can't starve everyone else's requests. Runs after TenantInterceptor. Once a
+// tenant's and user's buckets exist a request costs two map lookups and two CASes. Over-limit
+// requests get 429 with Retry-After. Buckets live in memory, so limits are per application instance.
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    // The default hosts (super admin only) share the default limits and one tenant bucket
+    private static final Long UNREGISTERED = 0L;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private final Map<Long, TenantBuckets> tenants = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // Preflights are sent by the browser on the caller's behalf and never reach a controller
+        if (!properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod())) return true;
+        long now = System.nanoTime();
+        TenantBuckets buckets = bucketsFor(TenantContextHolder.get(), now);
+
+        // The user's own budget first, so a user who is over it doesn't also use up the tenant's;
+        // a request the tenant's bucket then turns away gives the user's token back
+        AuthPrincipal principal = (AuthPrincipal) request.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE);
+        TokenBucket user = null;
+        if (principal != null && principal.getUserId() != null) {
+            Map<String, TokenBucket> users = "student".equals(principal.getRole()) ? buckets.students : buckets.admins;
+            user = users.get(principal.getUserId());
+            if (user == null) {
+                user = users.computeIfAbsent(principal.getUserId(), id -> buckets.newUserBucket(now));
+            }
+            long wait = user.tryTake(now);
+            if (wait > 0) return reject(response, wait);
+        }
+        long wait = buckets.tenant.tryTake(now);
+        if (wait > 0) {
+            if (user != null) user.giveBack();
+            return reject(response, wait);
+        }
+        return true;
+    }
+
+    // Full buckets carry no state worth keeping
+    @Scheduled(fixedDelayString = "${lms.rate-limit.sweep-interval:1m}")
+    public void sweep() {
+        long idleBefore = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        tenants.values().forEach(buckets -> {
+            buckets.students.values().removeIf(bucket -> bucket.isFull(idleBefore));
+            buckets.admins.values().removeIf(bucket -> bucket.isFull(idleBefore));
+        });
+    }
+
+    // Only ever swapped atomically, so racing first requests share one set of buckets and nothing
+    // already taken from them is lost
+    private TenantBuckets bucketsFor(TenantMetadata tenant, long now) {
+        Long key = tenant.isRegistered() ? tenant.getId() : UNREGISTERED;
+        while (true) {
+            TenantBuckets buckets = tenants.get(key);
+            if (buckets == null) {
+                buckets = tenants.computeIfAbsent(key, id -> newBuckets(tenant, now));
+            }
+            if (buckets.plan == tenant.getPlan()) return buckets;
+            // A plan change (picked up when the registry reloads the tenant) starts fresh buckets
+            TenantBuckets fresh = newBuckets(tenant, now);
+            if (tenants.replace(key, buckets, fresh)) return fresh;
+        }
+    }
+
+    private TenantBuckets newBuckets(TenantMetadata tenant, long now) {
+        return new TenantBuckets(tenant.getPlan(), properties.limitsFor(tenant.getPlan()), now);
+    }
+
+    private static boolean reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+        return false;
+    }
+
+    private static class TenantBuckets {
+        private final Tenant.Plan plan;
+        private final RateLimitProperties.Limits limits;
+        private final TokenBucket tenant;
+        // User ids are only unique per table, hence separate maps for students and admins
+        private final Map<String, TokenBucket> students = new ConcurrentHashMap<>();
+        private final Map<String, TokenBucket> admins = new ConcurrentHashMap<>();
+
+        private TenantBuckets(Tenant.Plan plan, RateLimitProperties.Limits limits, long now) {
+            this.plan = plan;
+            this.limits = limits;
+            this.tenant = new TokenBucket(limits.getTenantRate(), limits.getTenantBurst(), now);
+        }
+
+        private TokenBucket newUserBucket(long now) {
+            return new TokenBucket(limits.getUserRate(), limits.getUserBurst(), now);
+        }
+    }
+}
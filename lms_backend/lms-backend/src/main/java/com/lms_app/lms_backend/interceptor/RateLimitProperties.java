@@ -0,0 +1,100 @@
+package com.lms_app.lms_backend.interceptor;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// lms.rate-limit.*: request budgets per tenant and per signed-in user, by plan
+@ConfigurationProperties("lms.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Map<Tenant.Plan, Limits> plans = new EnumMap<>(Tenant.Plan.class);
+
+    // Plans missing from plans, and the default hosts
+    private Limits defaultLimits = new Limits();
+
+    // Per-user buckets that have been full this long are dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Sustained rates are requests per second; bursts are how many may arrive at once
+    public static class Limits {
+        private double tenantRate = 50;
+        private int tenantBurst = 100;
+        private double userRate = 10;
+        private int userBurst = 20;
+
+        public double getTenantRate() {
+            return tenantRate;
+        }
+
+        public void setTenantRate(double tenantRate) {
+            this.tenantRate = tenantRate;
+        }
+
+        public int getTenantBurst() {
+            return tenantBurst;
+        }
+
+        public void setTenantBurst(int tenantBurst) {
+            this.tenantBurst = tenantBurst;
+        }
+
+        public double getUserRate() {
+            return userRate;
+        }
+
+        public void setUserRate(double userRate) {
+            this.userRate = userRate;
+        }
+
+        public int getUserBurst() {
+            return userBurst;
+        }
+
+        public void setUserBurst(int userBurst) {
+            this.userBurst = userBurst;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<Tenant.Plan, Limits> getPlans() {
+        return plans;
+    }
+
+    public void setPlans(Map<Tenant.Plan, Limits> plans) {
+        this.plans = plans;
+    }
+
+    public Limits getDefaultLimits() {
+        return defaultLimits;
+    }
+
+    public void setDefaultLimits(Limits defaultLimits) {
+        this.defaultLimits = defaultLimits;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Limits limitsFor(Tenant.Plan plan) {
+        Limits limits = plan != null ? plans.get(plan) : null;
+        return limits != null ? limits : defaultLimits;
+    }
+}
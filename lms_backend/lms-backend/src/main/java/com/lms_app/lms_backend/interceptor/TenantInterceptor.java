@@ -1,56 +1,133 @@
 package com.lms_app.lms_backend.interceptor;
 
-import com.lms_app.lms_backend.config.TenantConfig;
+import com.lms_app.lms_backend.counter.ActivityCounters;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import com.lms_app.lms_backend.tenant.TenantRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Resolves the tenant from the Host header. Only registered subdomains get through (404
+// otherwise). The configured default hosts see every tenant's rows, so they are reserved for the
+// super admin: anyone else may only sign in there (where AuthService turns them away). Runs after
+// TokenAuthenticationFilter, which has checked the token's signature; the token's tenant is
+// checked here, once the tenant is known.
 @Component
-public class TenantInterceptor implements HandlerInterceptor {
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
 
     @Autowired
-    private TenantConfig.TenantContext tenantContext;
+    private ActivityCounters activityCounters;
+
+    @Value("${lms.tenant.default-hosts:}")
+    private Set<String> configuredDefaultHosts;
+
+    private Set<String> defaultHosts;
+
+    @PostConstruct
+    void init() {
+        defaultHosts = configuredDefaultHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String host = request.getHeader("Host");
-        String tenantId = extractTenantFromHost(host);
-        
-        if (tenantId != null) {
-            tenantContext.setTenantId(tenantId);
-            tenantContext.setSubdomain(tenantId);
-            tenantContext.setTenantName(tenantId + " LMS");
+        // Preflights carry no credentials and never reach a controller
+        if (CorsUtils.isPreFlightRequest(request)) return true;
+
+        String host = hostName(request.getHeader(HttpHeaders.HOST));
+        boolean defaultHost = host != null && defaultHosts.contains(host);
+        TenantMetadata tenant;
+        if (defaultHost) {
+            tenant = TenantMetadata.DEFAULT;
         } else {
-            // Default tenant for direct access
-            tenantContext.setTenantId("default");
-            tenantContext.setSubdomain("default");
-            tenantContext.setTenantName("Default LMS");
+            String subdomain = extractTenantFromHost(host);
+            tenant = subdomain != null ? tenantRegistry.resolve(subdomain) : null;
+            if (tenant == null || !tenant.isRegistered()) {
+                return reject(response, HttpStatus.NOT_FOUND, "Unknown tenant");
+            }
+        }
+
+        // A token only works on the tenant it was issued on (TokenService)
+        AuthPrincipal principal = (AuthPrincipal) request.getAttribute(AuthPrincipal.REQUEST_ATTRIBUTE);
+        long tenantId = tenant.isRegistered() ? tenant.getId() : TenantFilter.UNPARTITIONED;
+        if (principal != null && principal.getTenantId() != tenantId) {
+            return reject(response, HttpStatus.UNAUTHORIZED, "Token was issued for another tenant");
+        }
+        if (defaultHost) {
+            boolean superAdmin = principal != null && "super_admin".equals(principal.getRole());
+            if (!superAdmin && !(principal == null && LOGIN_PATH.equals(request.getRequestURI()))) {
+                return reject(response, HttpStatus.FORBIDDEN, "Only the super admin can use the default host");
+            }
+        }
+
+        TenantContextHolder.set(tenant);
+        if (tenant.isRegistered()) {
+            activityCounters.tenantActive(tenant.getId());
         }
-        
         return true;
     }
 
+    // Lower-cased host without the port ("[::1]:8082" -> "[::1]")
+    private static String hostName(String host) {
+        if (host == null || host.isEmpty()) return null;
+        int end = host.startsWith("[") ? host.indexOf(']') + 1 : host.lastIndexOf(':');
+        if (end <= 0) end = host.length();
+        return host.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
     private String extractTenantFromHost(String host) {
         if (host == null) return null;
         
         // Extract subdomain from host
         // Example: iit.lms.com -> iit
-        String[] parts = host.split("\\.");
-        if (parts.length >= 3 && !parts[0].equals("www")) {
-            return parts[0];
+        int firstDot = host.indexOf('.');
+        if (firstDot <= 0 || host.indexOf('.', firstDot + 1) < 0 || host.startsWith("www.")) {
+            return null;
         }
         
-        return null;
+        return host.substring(0, firstDot);
+    }
+
+    private static boolean reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+        return false;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // afterCompletion is skipped on the container thread when a handler goes async
+        TenantContextHolder.clear();
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
         // Clear tenant context after request
-        tenantContext.setTenantId(null);
-        tenantContext.setSubdomain(null);
-        tenantContext.setTenantName(null);
+        TenantContextHolder.clear();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.lms_app.lms_backend.interceptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single timestamp (GCRA): the time at which the bucket would be full
+// again. Taking a token is one CAS on that long, with no lock and no allocation.
+final class TokenBucket {
+
+    // Nanoseconds to earn one token
+    private final long interval;
+    // How far ahead of now the full-again time may run: burst tokens' worth
+    private final long tolerance;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double ratePerSecond, int burst, long now) {
+        this.interval = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.tolerance = interval * Math.max(1, burst);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // 0 if a token was taken, otherwise nanoseconds until one will be available
+    long tryTake(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long waitNanos = next - tolerance - now;
+            if (waitNanos > 0) return waitNanos;
+            if (fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    // Returns a token taken by tryTake, e.g. when a later check rejected the request anyway
+    void giveBack() {
+        fullAt.addAndGet(-interval);
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
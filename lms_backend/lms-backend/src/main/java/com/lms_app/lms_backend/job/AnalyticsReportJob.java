@@ -0,0 +1,67 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lms_app.lms_backend.analytics.EnrollmentAnalytics;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.exception.ServiceUnavailableException;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// GET /api/analytics/enrollments as a job, for reports that have to wait for a first snapshot.
+// Params: {"groupBy": "course", "universityId": 3, "courseId": null}; university admins are
+// pinned to their own university as in AnalyticsController.
+@Component
+public class AnalyticsReportJob implements JobHandler {
+
+    @Autowired
+    private EnrollmentAnalytics enrollmentAnalytics;
+
+    @Override
+    public String type() {
+        return "analytics.report";
+    }
+
+    @Override
+    public boolean permitted(AuthPrincipal principal) {
+        if (!TenantContextHolder.get().hasFeature(Tenant.Feature.ADVANCED_ANALYTICS)) return false;
+        if ("student".equals(principal.getRole())) return false;
+        return !"university_admin".equals(principal.getRole()) || principal.getUniversityId() != null;
+    }
+
+    @Override
+    public void validate(ObjectNode params, AuthPrincipal principal) {
+        EnrollmentAnalytics.GroupBy groupBy;
+        try {
+            groupBy = EnrollmentAnalytics.GroupBy.valueOf(params.path("groupBy").asText("none").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("groupBy must be one of "
+                    + Arrays.toString(EnrollmentAnalytics.GroupBy.values()).toLowerCase(Locale.ROOT));
+        }
+        params.put("groupBy", groupBy.name());
+        if ("university_admin".equals(principal.getRole())) {
+            params.put("universityId", Long.valueOf(principal.getUniversityId()));
+        }
+    }
+
+    // A job can wait for a snapshot that isn't ready yet, so it loads one itself instead of failing
+    @Override
+    public Object run(JobContext context) {
+        ObjectNode params = context.params();
+        EnrollmentAnalytics.GroupBy groupBy = EnrollmentAnalytics.GroupBy.valueOf(params.path("groupBy").asText());
+        try {
+            return enrollmentAnalytics.report(groupBy, id(params, "universityId"), id(params, "courseId"));
+        } catch (ServiceUnavailableException e) {
+            enrollmentAnalytics.refreshNow();
+            return enrollmentAnalytics.report(groupBy, id(params, "universityId"), id(params, "courseId"));
+        }
+    }
+
+    private static Long id(ObjectNode params, String name) {
+        return params.hasNonNull(name) ? params.get(name).asLong() : null;
+    }
+}
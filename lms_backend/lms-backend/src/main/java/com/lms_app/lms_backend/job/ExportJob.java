@@ -0,0 +1,97 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lms_app.lms_backend.export.ExportDataset;
+import com.lms_app.lms_backend.export.ExportFormat;
+import com.lms_app.lms_backend.export.Exporter;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+// The /api/export datasets written to a file, for exports too large to wait on. Params:
+// {"dataset": "students", "format": "xlsx"}. A retry starts the file over.
+@Component
+public class ExportJob implements JobHandler {
+
+    @Autowired
+    private Exporter exporter;
+
+    @Override
+    public String type() {
+        return "export";
+    }
+
+    @Override
+    public void validate(ObjectNode params, AuthPrincipal principal) {
+        params.put("dataset", parse(ExportDataset.class, params.path("dataset").asText(""), "dataset").name());
+        params.put("format", parse(ExportFormat.class, params.path("format").asText("csv"), "format").name());
+    }
+
+    @Override
+    public Object run(JobContext context) throws Exception {
+        ExportDataset dataset = ExportDataset.valueOf(context.params().path("dataset").asText());
+        ExportFormat format = ExportFormat.valueOf(context.params().path("format").asText());
+        String filename = dataset.name().toLowerCase(Locale.ROOT) + "-" + LocalDate.now() + "." + format.getExtension();
+        try (OutputStream out = new BufferedOutputStream(
+                new ProgressOutputStream(Files.newOutputStream(context.resultFile(filename, format.getContentType())), context),
+                64 * 1024)) {
+            return Map.of("rows", exporter.export(dataset, format, out));
+        } catch (InterruptedIOException e) {
+            context.checkCancelled();
+            throw e;
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be one of "
+                    + Arrays.toString(type.getEnumConstants()).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // Reports bytes written as progress. Cancellation surfaces as an IOException so that Exporter
+    // cancels its query instead of draining the rest of the result.
+    private static final class ProgressOutputStream extends FilterOutputStream {
+        private final JobContext context;
+        private long written;
+
+        private ProgressOutputStream(OutputStream out, JobContext context) {
+            super(out);
+            this.context = context;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written(len);
+        }
+
+        private void written(int bytes) throws IOException {
+            written += bytes;
+            try {
+                context.progress(written, 0);
+            } catch (JobCancelledException e) {
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.lms_app.lms_backend.job;
+
+// Thrown from JobContext when the job was cancelled, the instance is shutting down or another
+// instance has taken the job over; the worker stops without recording a failure.
+public class JobCancelledException extends RuntimeException {
+    public JobCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,117 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Path;
+
+// A running job's view of itself: its params, the checkpoint it left on an earlier attempt, a
+// private work directory, and ways to report progress and notice cancellation.
+public class JobContext {
+
+    // Progress alone is only written this often; checkpoints are always written
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final JobStore store;
+    private final String owner;
+    private final long id;
+    private final ObjectNode params;
+    private final String checkpoint;
+    private final int attempt;
+    private final Path workDir;
+    private volatile boolean cancelRequested;
+    private volatile boolean stopping;
+    private long lastProgressNanos;
+    private String resultFile;
+    private String resultType;
+
+    JobContext(JobStore store, String owner, long id, ObjectNode params, String checkpoint, int attempt, Path workDir) {
+        this.store = store;
+        this.owner = owner;
+        this.id = id;
+        this.params = params;
+        this.checkpoint = checkpoint;
+        this.attempt = attempt;
+        this.workDir = workDir;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public ObjectNode params() {
+        return params;
+    }
+
+    // null on a job's first run
+    public String checkpoint() {
+        return checkpoint;
+    }
+
+    public int attempt() {
+        return attempt;
+    }
+
+    public Path workDir() {
+        return workDir;
+    }
+
+    // Whatever was staged with the submission, e.g. an uploaded CSV
+    public Path input() {
+        return workDir.resolve(JobRunner.INPUT_FILE);
+    }
+
+    public void progress(long done, long total) {
+        long now = System.nanoTime();
+        if ((total == 0 || done < total) && now - lastProgressNanos < PROGRESS_INTERVAL_NANOS) return;
+        lastProgressNanos = now;
+        if (store.progress(id, owner, done, total) == 0) {
+            stopping = true;
+        }
+        checkCancelled();
+    }
+
+    // Records where a retry or restart should resume. Call it only once the work it describes is committed.
+    public void checkpoint(String checkpoint, long done, long total) {
+        lastProgressNanos = System.nanoTime();
+        if (store.checkpoint(id, owner, checkpoint, done, total) == 0) {
+            stopping = true;
+        }
+        checkCancelled();
+    }
+
+    public boolean isCancelled() {
+        return cancelRequested || stopping;
+    }
+
+    public void checkCancelled() {
+        if (cancelRequested) throw new JobCancelledException("Job " + id + " was cancelled");
+        if (stopping) throw new JobCancelledException("Job " + id + " is no longer held by this instance");
+    }
+
+    // Where to write a file result; it is served by GET /api/jobs/{id}/result once the job succeeds
+    public Path resultFile(String name, String contentType) {
+        this.resultFile = name;
+        this.resultType = contentType;
+        return workDir.resolve(name);
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void stop() {
+        stopping = true;
+    }
+
+    boolean wasCancelRequested() {
+        return cancelRequested;
+    }
+
+    String getResultFile() {
+        return resultFile;
+    }
+
+    String getResultType() {
+        return resultType;
+    }
+}
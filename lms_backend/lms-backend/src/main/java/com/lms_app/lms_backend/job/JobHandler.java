@@ -0,0 +1,35 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+
+// One kind of background job, registered by its type name. run() is called on a worker thread
+// with the submitting tenant restored, possibly several times for the same job: after a failure
+// (up to maxAttempts) or after a restart, so it should pick up from context.checkpoint().
+public interface JobHandler {
+
+    String type();
+
+    default int maxAttempts() {
+        return 3;
+    }
+
+    // Jobs that work on an upload, staged as context.input() before the job can start
+    default boolean requiresInput() {
+        return false;
+    }
+
+    default boolean permitted(AuthPrincipal principal) {
+        return !"student".equals(principal.getRole());
+    }
+
+    // On the request thread, before the job is stored. Throws IllegalArgumentException for bad
+    // params and may narrow them to what the caller is allowed to see.
+    default void validate(ObjectNode params, AuthPrincipal principal) {
+    }
+
+    // The returned value is stored as the job's JSON result; a file from context.resultFile() takes
+    // its place in GET /api/jobs/{id}/result.
+    // IllegalArgumentException fails the job without retrying.
+    Object run(JobContext context) throws Exception;
+}
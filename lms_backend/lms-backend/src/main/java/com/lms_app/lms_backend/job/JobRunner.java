@@ -0,0 +1,323 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lms_app.lms_backend.entity.Job;
+import com.lms_app.lms_backend.exception.TooManyRequestsException;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import com.lms_app.lms_backend.tenant.TenantRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Runs background jobs from the jobs table on a fixed pool of worker threads. The table is the
+// queue: nothing is buffered in memory beyond the jobs actually running, and the dispatcher only
+// claims as many as it has free workers. Each poll hands free workers out round-robin by tenant
+// (oldest job first, tenants with the fewest running jobs first, at most max-running-per-tenant
+// each), so one tenant's backlog can't starve the others. A claim is a lease kept alive by
+// heartbeats; if this instance dies, its jobs are requeued once the lease runs out and resume from
+// their last checkpoint. Failures are retried with exponential backoff.
+@Component
+public class JobRunner {
+
+    static final String INPUT_FILE = "input";
+
+    private static final Logger log = LoggerFactory.getLogger(JobRunner.class);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    @Autowired
+    private JobStore store;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private List<JobHandler> handlerList;
+
+    @Value("${lms.jobs.max-workers:4}")
+    private int maxWorkers;
+
+    @Value("${lms.jobs.max-running-per-tenant:2}")
+    private int maxRunningPerTenant;
+
+    @Value("${lms.jobs.max-unfinished-per-tenant:20}")
+    private int maxUnfinishedPerTenant;
+
+    @Value("${lms.jobs.lease:2m}")
+    private Duration lease;
+
+    @Value("${lms.jobs.retry-backoff:10s}")
+    private Duration retryBackoff;
+
+    @Value("${lms.jobs.retention:7d}")
+    private Duration retention;
+
+    @Value("${lms.jobs.work-dir:data/jobs}")
+    private String workDir;
+
+    private final Map<String, JobHandler> handlers = new HashMap<>();
+    private final Map<Long, Running> running = new ConcurrentHashMap<>();
+    private final String owner = owner();
+    private ThreadPoolExecutor workers;
+    private Path root;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    void init() throws IOException {
+        for (JobHandler handler : handlerList) {
+            if (handlers.putIfAbsent(handler.type(), handler) != null) {
+                throw new IllegalStateException("Duplicate job type " + handler.type());
+            }
+        }
+        root = Paths.get(workDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        // The dispatcher never has more jobs in flight than workers, so the queue never fills
+        workers = new ThreadPoolExecutor(maxWorkers, maxWorkers, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxWorkers), new CustomizableThreadFactory("job-worker-"));
+    }
+
+    public Optional<JobHandler> handler(String type) {
+        return Optional.ofNullable(handlers.get(type));
+    }
+
+    public Path workDir(long id) {
+        return root.resolve(Long.toString(id));
+    }
+
+    // Stores the job, stages its input (if any) in its work directory and only then makes it
+    // runnable. Returns the job id.
+    public long submit(JobHandler handler, ObjectNode params, AuthPrincipal principal, InputStager input) throws IOException {
+        if (handler.requiresInput() && input == null) {
+            throw new IllegalArgumentException(handler.type() + " jobs need an uploaded file");
+        }
+        handler.validate(params, principal);
+        TenantMetadata tenant = TenantContextHolder.get();
+        if (store.countUnfinished(tenant.getId()) >= maxUnfinishedPerTenant) {
+            throw new TooManyRequestsException("Too many unfinished jobs, at most " + maxUnfinishedPerTenant + " are allowed");
+        }
+        // No subdomain for the default tenant: a tenant registered as "default" mustn't inherit its jobs
+        long id = store.insert(tenant.getId(), tenant.isRegistered() ? tenant.getSubdomain() : null, handler.type(),
+                objectMapper.writeValueAsString(params), handler.maxAttempts(), principal.getUserId());
+        Path dir = workDir(id);
+        try {
+            Files.createDirectories(dir);
+            if (input != null) {
+                input.stage(dir.resolve(INPUT_FILE));
+            }
+        } catch (IOException | RuntimeException e) {
+            FileSystemUtils.deleteRecursively(dir);
+            store.delete(List.of(id));
+            throw e;
+        }
+        store.release(id);
+        return id;
+    }
+
+    @Scheduled(fixedDelayString = "${lms.jobs.poll-interval:1s}")
+    public void dispatch() {
+        boolean claimed = true;
+        while (claimed && !stopping && running.size() < maxWorkers) {
+            claimed = false;
+            Map<Long, Integer> perTenant = runningPerTenant();
+            List<JobStore.Head> heads = new ArrayList<>(store.queuedHeads());
+            heads.removeIf(head -> perTenant.getOrDefault(head.tenantId, 0) >= maxRunningPerTenant);
+            heads.sort(Comparator.comparingInt((JobStore.Head head) -> perTenant.getOrDefault(head.tenantId, 0))
+                    .thenComparingLong(head -> head.id));
+            for (JobStore.Head head : heads) {
+                if (stopping || running.size() >= maxWorkers) break;
+                Optional<JobStore.Claimed> job = store.claim(head.id, owner, LocalDateTime.now().plus(lease));
+                if (job.isPresent()) {
+                    start(job.get());
+                    claimed = true;
+                }
+            }
+        }
+    }
+
+    // Extends the leases of running jobs, tells them about cancellations and requeues jobs whose
+    // owner stopped heartbeating
+    @Scheduled(fixedDelayString = "${lms.jobs.heartbeat-interval:30s}")
+    public void heartbeat() {
+        Set<Long> ids = new HashSet<>(running.keySet());
+        store.heartbeat(ids, owner, LocalDateTime.now().plus(lease));
+        store.toStop(ids, owner).forEach((id, cancelRequested) -> {
+            Running job = running.get(id);
+            if (job == null) return;
+            if (cancelRequested) {
+                job.context.requestCancel();
+            } else {
+                job.context.stop();
+            }
+        });
+        int requeued = store.requeueExpired();
+        if (requeued > 0) {
+            log.info("Requeued {} jobs whose lease expired", requeued);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.jobs.purge-interval:1h}")
+    public void purge() {
+        List<Long> ids = store.purgeable(LocalDateTime.now().minus(retention));
+        for (Long id : ids) {
+            try {
+                FileSystemUtils.deleteRecursively(workDir(id));
+            } catch (IOException e) {
+                log.warn("Could not delete the work directory of job {}", id, e);
+            }
+        }
+        store.delete(ids);
+    }
+
+    // Running jobs stop at their next check and go back to the queue without using up an attempt
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        stopping = true;
+        running.values().forEach(job -> job.context.stop());
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        store.releaseAll(owner);
+    }
+
+    private void start(JobStore.Claimed job) {
+        JobHandler handler = handlers.get(job.type);
+        if (handler == null) {
+            store.finish(job.id, owner, Job.Status.FAILED, "Unknown job type " + job.type);
+            return;
+        }
+        JobContext context;
+        try {
+            ObjectNode params = job.params != null ? (ObjectNode) objectMapper.readTree(job.params) : objectMapper.createObjectNode();
+            context = new JobContext(store, owner, job.id, params, job.checkpoint, job.attempts, workDir(job.id));
+        } catch (IOException | ClassCastException e) {
+            store.finish(job.id, owner, Job.Status.FAILED, "Unreadable job params");
+            return;
+        }
+        running.put(job.id, new Running(job.tenantId, context));
+        try {
+            workers.execute(() -> run(job, handler, context));
+        } catch (RejectedExecutionException e) {
+            running.remove(job.id);
+            store.retry(job.id, owner, null, LocalDateTime.now());
+        }
+    }
+
+    private void run(JobStore.Claimed job, JobHandler handler, JobContext context) {
+        Optional<TenantMetadata> tenant = tenantOf(job);
+        if (tenant.isEmpty()) {
+            log.warn("{} job {} of tenant {} failed: the tenant no longer exists", job.type, job.id, job.tenantId);
+            store.finish(job.id, owner, Job.Status.FAILED, "The tenant no longer exists");
+            running.remove(job.id);
+            return;
+        }
+        TenantContextHolder.set(tenant.get());
+        try {
+            Object result = handler.run(context);
+            store.succeed(job.id, owner, result != null ? objectMapper.writeValueAsString(result) : null,
+                    context.getResultFile(), context.getResultType());
+        } catch (JobCancelledException e) {
+            if (context.wasCancelRequested()) {
+                store.finish(job.id, owner, Job.Status.CANCELLED, null);
+            } else {
+                log.info("{} job {} stopped: {}", job.type, job.id, e.getMessage());
+            }
+        } catch (Exception e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            if (e instanceof IllegalArgumentException || job.attempts >= job.maxAttempts) {
+                log.warn("{} job {} failed after {} attempts", job.type, job.id, job.attempts, e);
+                store.finish(job.id, owner, Job.Status.FAILED, message);
+            } else {
+                Duration backoff = backoff(job.attempts);
+                log.info("{} job {} failed, retrying in {}: {}", job.type, job.id, backoff, message);
+                store.retry(job.id, owner, message, LocalDateTime.now().plus(backoff));
+            }
+        } finally {
+            TenantContextHolder.clear();
+            running.remove(job.id);
+        }
+    }
+
+    // By the tenant id stored with the job, never its subdomain: a deleted tenant's subdomain resolves
+    // to an unregistered tenant with no id, which would run the job across every tenant's rows, and
+    // a reused one to somebody else. Only jobs submitted on the default host run as the default tenant.
+    private Optional<TenantMetadata> tenantOf(JobStore.Claimed job) {
+        if (job.tenantId == null) {
+            return job.subdomain == null ? Optional.of(TenantMetadata.DEFAULT) : Optional.empty();
+        }
+        if (job.tenantId == TenantFilter.UNPARTITIONED) return Optional.empty();
+        return tenantRegistry.resolveById(job.tenantId)
+                .filter(tenant -> job.tenantId.equals(tenant.getId()));
+    }
+
+    // retry-backoff after the first failure, doubling after each one after that
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    // HashMap rather than Collectors.groupingBy: jobs of the default tenant have a null tenant id
+    private Map<Long, Integer> runningPerTenant() {
+        Map<Long, Integer> perTenant = new HashMap<>();
+        running.values().forEach(job -> perTenant.merge(job.tenantId, 1, Integer::sum));
+        return perTenant;
+    }
+
+    private static String owner() {
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        if (name.length() > 50) name = name.substring(0, 50);
+        return name + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @FunctionalInterface
+    public interface InputStager {
+        void stage(Path target) throws IOException;
+    }
+
+    private static final class Running {
+        private final Long tenantId;
+        private final JobContext context;
+
+        private Running(Long tenantId, JobContext context) {
+            this.tenantId = tenantId;
+            this.context = context;
+        }
+    }
+}
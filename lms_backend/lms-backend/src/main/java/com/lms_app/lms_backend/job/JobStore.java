@@ -0,0 +1,260 @@
+package com.lms_app.lms_backend.job;
+
+import com.lms_app.lms_backend.dto.JobDTO;
+import com.lms_app.lms_backend.entity.Job;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// JDBC access to the jobs table in the shared schema. Every change a worker makes is conditional
+// on it still holding the job (locked_by), so a worker whose lease was taken over can't overwrite
+// the new run. Visibility follows TenantFilter: tenant 0 sees every job.
+@Component
+public class JobStore {
+
+    private static final String VISIBLE = "(? = 0 OR tenant_id = ?)";
+    private static final String DTO_COLUMNS = "id, type, status, progress_done, progress_total, attempts, max_attempts, "
+            + "cancel_requested, result IS NOT NULL OR result_file IS NOT NULL, error, created_by, run_after, "
+            + "created_at, started_at, finished_at";
+
+    private static final RowMapper<JobDTO> DTO_MAPPER = (rs, row) -> {
+        JobDTO dto = new JobDTO();
+        dto.setId(rs.getLong(1));
+        dto.setType(rs.getString(2));
+        dto.setStatus(rs.getString(3));
+        dto.setProgressDone(rs.getLong(4));
+        dto.setProgressTotal(rs.getLong(5));
+        dto.setAttempts(rs.getInt(6));
+        dto.setMaxAttempts(rs.getInt(7));
+        dto.setCancelRequested(rs.getBoolean(8));
+        dto.setHasResult(rs.getBoolean(9));
+        dto.setError(rs.getString(10));
+        dto.setCreatedBy(rs.getString(11));
+        dto.setRunAfter(rs.getObject(12, LocalDateTime.class));
+        dto.setCreatedAt(rs.getObject(13, LocalDateTime.class));
+        dto.setStartedAt(rs.getObject(14, LocalDateTime.class));
+        dto.setFinishedAt(rs.getObject(15, LocalDateTime.class));
+        return dto;
+    };
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbc;
+
+    @PostConstruct
+    void init() {
+        jdbc = routingDataSource.jdbcTemplate(TenantRoutingDataSource.SHARED);
+    }
+
+    // Inserted without run_after, so it stays invisible to the dispatcher until release()
+    public long insert(Long tenantId, String subdomain, String type, String params, int maxAttempts, String createdBy) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO jobs (tenant_id, subdomain, type, status, "
+                    + "params, progress_done, progress_total, attempts, max_attempts, cancel_requested, created_by, created_at) "
+                    + "VALUES (?, ?, ?, 'QUEUED', ?, 0, 0, 0, ?, false, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            if (tenantId != null) ps.setLong(1, tenantId); else ps.setNull(1, Types.BIGINT);
+            ps.setString(2, subdomain);
+            ps.setString(3, type);
+            ps.setString(4, params);
+            ps.setInt(5, maxAttempts);
+            ps.setString(6, createdBy);
+            ps.setObject(7, LocalDateTime.now());
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    public void release(long id) {
+        jdbc.update("UPDATE jobs SET run_after = ? WHERE id = ?", LocalDateTime.now(), id);
+    }
+
+    public int countUnfinished(Long tenantId) {
+        Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM jobs WHERE tenant_id <=> ? AND status IN ('QUEUED', 'RUNNING')",
+                Integer.class, tenantId);
+        return count != null ? count : 0;
+    }
+
+    public Optional<JobDTO> find(long id, long visibleTo) {
+        return jdbc.query("SELECT " + DTO_COLUMNS + " FROM jobs WHERE id = ? AND " + VISIBLE,
+                DTO_MAPPER, id, visibleTo, visibleTo).stream().findFirst();
+    }
+
+    public List<JobDTO> recent(long visibleTo, int limit) {
+        return jdbc.query("SELECT " + DTO_COLUMNS + " FROM jobs WHERE " + VISIBLE + " ORDER BY id DESC LIMIT ?",
+                DTO_MAPPER, visibleTo, visibleTo, limit);
+    }
+
+    // JSON result, file name and content type of a finished job
+    public Optional<String[]> result(long id, long visibleTo) {
+        return jdbc.query("SELECT result, result_file, result_type FROM jobs WHERE id = ? AND status = 'SUCCEEDED' AND " + VISIBLE,
+                (rs, row) -> new String[] { rs.getString(1), rs.getString(2), rs.getString(3) },
+                id, visibleTo, visibleTo).stream().findFirst();
+    }
+
+    // The oldest runnable job of every tenant that has one
+    public List<Head> queuedHeads() {
+        return jdbc.query("SELECT MIN(id), tenant_id FROM jobs WHERE status = 'QUEUED' AND run_after <= ? GROUP BY tenant_id",
+                (rs, row) -> new Head(rs.getLong(1), rs.getObject(2, Long.class)), LocalDateTime.now());
+    }
+
+    // Compare-and-set from QUEUED; empty when another dispatcher got there first
+    public Optional<Claimed> claim(long id, String owner, LocalDateTime leaseUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = jdbc.update("UPDATE jobs SET status = 'RUNNING', locked_by = ?, lease_until = ?, attempts = attempts + 1, "
+                + "started_at = COALESCE(started_at, ?) WHERE id = ? AND status = 'QUEUED'", owner, leaseUntil, now, id);
+        if (claimed == 0) return Optional.empty();
+        return jdbc.query("SELECT id, tenant_id, subdomain, type, params, checkpoint, attempts, max_attempts FROM jobs WHERE id = ?",
+                (rs, row) -> new Claimed(rs), id).stream().findFirst();
+    }
+
+    public int progress(long id, String owner, long done, long total) {
+        return jdbc.update("UPDATE jobs SET progress_done = ?, progress_total = ? WHERE id = ? AND locked_by = ?",
+                done, total, id, owner);
+    }
+
+    public int checkpoint(long id, String owner, String checkpoint, long done, long total) {
+        return jdbc.update("UPDATE jobs SET checkpoint = ?, progress_done = ?, progress_total = ? WHERE id = ? AND locked_by = ?",
+                checkpoint, done, total, id, owner);
+    }
+
+    public void heartbeat(Collection<Long> ids, String owner, LocalDateTime leaseUntil) {
+        if (ids.isEmpty()) return;
+        jdbc.update("UPDATE jobs SET lease_until = ? WHERE locked_by = ? AND id IN (" + placeholders(ids) + ")",
+                parameters(List.of(leaseUntil, owner), ids));
+    }
+
+    // Of the given jobs, those that must stop: true when someone asked to cancel, false when this
+    // instance no longer holds the job
+    public Map<Long, Boolean> toStop(Collection<Long> ids, String owner) {
+        Map<Long, Boolean> toStop = new HashMap<>();
+        if (ids.isEmpty()) return toStop;
+        jdbc.query("SELECT id, cancel_requested FROM jobs WHERE (cancel_requested OR NOT locked_by <=> ?) AND id IN ("
+                        + placeholders(ids) + ")",
+                (RowCallbackHandler) rs -> toStop.put(rs.getLong(1), rs.getBoolean(2)), parameters(List.of(owner), ids));
+        return toStop;
+    }
+
+    public void succeed(long id, String owner, String result, String resultFile, String resultType) {
+        jdbc.update("UPDATE jobs SET status = 'SUCCEEDED', result = ?, result_file = ?, result_type = ?, checkpoint = NULL, "
+                        + "error = NULL, locked_by = NULL, lease_until = NULL, finished_at = ? WHERE id = ? AND locked_by = ?",
+                result, resultFile, resultType, LocalDateTime.now(), id, owner);
+    }
+
+    public void retry(long id, String owner, String error, LocalDateTime runAfter) {
+        jdbc.update("UPDATE jobs SET status = 'QUEUED', error = ?, run_after = ?, locked_by = NULL, lease_until = NULL "
+                + "WHERE id = ? AND locked_by = ?", truncate(error), runAfter, id, owner);
+    }
+
+    public void finish(long id, String owner, Job.Status status, String error) {
+        jdbc.update("UPDATE jobs SET status = ?, error = ?, locked_by = NULL, lease_until = NULL, finished_at = ? "
+                + "WHERE id = ? AND locked_by = ?", status.name(), truncate(error), LocalDateTime.now(), id, owner);
+    }
+
+    // A queued job is cancelled on the spot; a running one is flagged for its worker to notice
+    public boolean requestCancel(long id, long visibleTo) {
+        int cancelled = jdbc.update("UPDATE jobs SET status = 'CANCELLED', finished_at = ? WHERE id = ? AND status = 'QUEUED' AND "
+                + VISIBLE, LocalDateTime.now(), id, visibleTo, visibleTo);
+        if (cancelled > 0) return true;
+        return jdbc.update("UPDATE jobs SET cancel_requested = true WHERE id = ? AND status = 'RUNNING' AND " + VISIBLE,
+                id, visibleTo, visibleTo) > 0;
+    }
+
+    // Jobs whose worker stopped heartbeating (crash, lost connection) run again from their
+    // checkpoint, unless they were being cancelled or have used up their attempts
+    public int requeueExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbc.update("UPDATE jobs SET "
+                + "finished_at = CASE WHEN cancel_requested OR attempts >= max_attempts THEN ? ELSE NULL END, "
+                + "error = CASE WHEN NOT cancel_requested AND attempts >= max_attempts THEN 'Worker stopped responding' ELSE error END, "
+                + "status = CASE WHEN cancel_requested THEN 'CANCELLED' WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'QUEUED' END, "
+                + "run_after = ?, locked_by = NULL, lease_until = NULL "
+                + "WHERE status = 'RUNNING' AND lease_until < ?", now, now, now);
+    }
+
+    // Graceful shutdown: hand the jobs back without charging them an attempt
+    public void releaseAll(String owner) {
+        jdbc.update("UPDATE jobs SET status = 'QUEUED', attempts = attempts - 1, run_after = ?, locked_by = NULL, lease_until = NULL "
+                + "WHERE status = 'RUNNING' AND locked_by = ?", LocalDateTime.now(), owner);
+    }
+
+    // Finished jobs, and submissions that never got as far as release()
+    public List<Long> purgeable(LocalDateTime before) {
+        return jdbc.queryForList("SELECT id FROM jobs WHERE (status IN ('SUCCEEDED', 'FAILED', 'CANCELLED') AND finished_at < ?) "
+                + "OR (status = 'QUEUED' AND run_after IS NULL AND created_at < ?)", Long.class, before, before);
+    }
+
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        jdbc.update("DELETE FROM jobs WHERE id IN (" + placeholders(ids) + ")", ids.toArray());
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+
+    private static Object[] parameters(List<Object> leading, Collection<Long> ids) {
+        Object[] parameters = new Object[leading.size() + ids.size()];
+        int i = 0;
+        for (Object value : leading) parameters[i++] = value;
+        for (Long id : ids) parameters[i++] = id;
+        return parameters;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 2000 ? error.substring(0, 2000) : error;
+    }
+
+    public static final class Head {
+        final long id;
+        final Long tenantId;
+
+        private Head(long id, Long tenantId) {
+            this.id = id;
+            this.tenantId = tenantId;
+        }
+    }
+
+    // What a worker needs to run a job it has claimed
+    public static final class Claimed {
+        final long id;
+        final Long tenantId;
+        final String subdomain;
+        final String type;
+        final String params;
+        final String checkpoint;
+        final int attempts;
+        final int maxAttempts;
+
+        private Claimed(ResultSet rs) throws SQLException {
+            this.id = rs.getLong(1);
+            this.tenantId = rs.getObject(2, Long.class);
+            this.subdomain = rs.getString(3);
+            this.type = rs.getString(4);
+            this.params = rs.getString(5);
+            this.checkpoint = rs.getString(6);
+            this.attempts = rs.getInt(7);
+            this.maxAttempts = rs.getInt(8);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.lms_app.lms_backend.analytics.EnrollmentAnalytics;
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.search.CourseSearchIndex;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+// Tenant-wide rebuilds of derived state, the same as the super admin rebuild/refresh endpoints.
+// Params: {"target": "search" | "dashboard" | "analytics"}
+@Component
+public class RecalculateJob implements JobHandler {
+
+    enum Target {
+        SEARCH, DASHBOARD, ANALYTICS
+    }
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private EnrollmentAnalytics enrollmentAnalytics;
+
+    @Override
+    public String type() {
+        return "recalculate";
+    }
+
+    @Override
+    public boolean permitted(AuthPrincipal principal) {
+        return "super_admin".equals(principal.getRole());
+    }
+
+    @Override
+    public void validate(ObjectNode params, AuthPrincipal principal) {
+        Target target;
+        try {
+            target = Target.valueOf(params.path("target").asText("").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("target must be one of "
+                    + Arrays.toString(Target.values()).toLowerCase(Locale.ROOT));
+        }
+        if (target == Target.ANALYTICS && !TenantContextHolder.get().hasFeature(Tenant.Feature.ADVANCED_ANALYTICS)) {
+            throw new IllegalArgumentException("Analytics are not enabled for this tenant");
+        }
+        params.put("target", target.name());
+    }
+
+    @Override
+    public Object run(JobContext context) {
+        Target target = Target.valueOf(context.params().path("target").asText());
+        switch (target) {
+            case SEARCH:
+                return Map.of("target", target.name(), "indexed", courseSearchIndex.rebuild());
+            case DASHBOARD:
+                dashboardAggregates.rebuild();
+                return Map.of("target", target.name());
+            default:
+                return Map.of("target", target.name(), "snapshotAt", enrollmentAnalytics.refreshNow());
+        }
+    }
+}
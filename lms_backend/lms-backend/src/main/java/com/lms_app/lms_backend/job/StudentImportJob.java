@@ -0,0 +1,78 @@
+package com.lms_app.lms_backend.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.bulk.StudentBulkImporter;
+import com.lms_app.lms_backend.bulk.StudentCsvReader;
+import com.lms_app.lms_backend.dto.BulkImportResult;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.etag.TableVersions;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+// The uploaded CSV of POST /api/students/bulk/async. The running BulkImportResult is the
+// checkpoint, written after every committed chunk; a resumed run skips the records it has
+// already counted.
+@Component
+public class StudentImportJob implements JobHandler {
+
+    public static final String TYPE = "students.import";
+
+    @Autowired
+    private StudentBulkImporter studentBulkImporter;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public boolean requiresInput() {
+        return true;
+    }
+
+    @Override
+    public boolean permitted(AuthPrincipal principal) {
+        return JobHandler.super.permitted(principal)
+                && TenantContextHolder.get().hasFeature(Tenant.Feature.BULK_OPERATIONS);
+    }
+
+    @Override
+    public Object run(JobContext context) throws Exception {
+        BulkImportResult result = context.checkpoint() != null
+                ? objectMapper.readValue(context.checkpoint(), BulkImportResult.class)
+                : new BulkImportResult();
+        int resumed = result.getImported();
+        try (Reader reader = Files.newBufferedReader(context.input(), StandardCharsets.UTF_8)) {
+            StudentCsvReader rows = new StudentCsvReader(reader);
+            for (int i = 0; i < result.getTotal() && rows.hasNext(); i++) {
+                rows.next();
+            }
+            studentBulkImporter.importRows(rows, result, progress -> {
+                try {
+                    context.checkpoint(objectMapper.writeValueAsString(progress), progress.getTotal(), 0);
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            if (result.getImported() > resumed) {
+                tableVersions.changed(TableVersions.Table.STUDENTS, TableVersions.Table.UNIVERSITIES, TableVersions.Table.ADMINS);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.lms_app.lms_backend.outbox;
+
+import java.time.LocalDateTime;
+
+// One created/updated/deleted entity, as relayed from the outbox. Ids are per source database,
+// so (source, id) identifies an event; delivery is at least once.
+public final class ChangeEvent {
+
+    public enum Aggregate {
+        UNIVERSITY, ADMIN, COURSE, STUDENT
+    }
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final String source;
+    private final long id;
+    private final Long tenantId;
+    private final Aggregate aggregate;
+    private final Long aggregateId;
+    private final Type type;
+    private final String payload;
+    private final LocalDateTime occurredAt;
+
+    ChangeEvent(String source, long id, Long tenantId, Aggregate aggregate, Long aggregateId, Type type,
+                String payload, LocalDateTime occurredAt) {
+        this.source = source;
+        this.id = id;
+        this.tenantId = tenantId;
+        this.aggregate = aggregate;
+        this.aggregateId = aggregateId;
+        this.type = type;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+
+    // Routing key of the database the change was made in
+    public String getSource() {
+        return source;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    // null for rows of the default, unpartitioned tenant
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public Aggregate getAggregate() {
+        return aggregate;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // JSON of the entity's DTO; null for deletions
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,107 @@
+package com.lms_app.lms_backend.outbox;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-process subscribers to change events. Each subscription has a bounded queue drained by its
+// own thread, so it sees its events in outbox order and a slow one doesn't hold up the others
+// until its queue fills; then capacity() drops to 0 and the relay waits.
+@Component
+public class ChangeEventBus implements ChangeEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // An empty aggregates set subscribes to everything
+    public Subscription subscribe(String name, Set<ChangeEvent.Aggregate> aggregates, int capacity,
+                                  Consumer<ChangeEvent> listener) {
+        Subscription subscription = new Subscription(name,
+                aggregates.isEmpty() ? EnumSet.allOf(ChangeEvent.Aggregate.class) : EnumSet.copyOf(aggregates),
+                capacity, listener);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    @Override
+    public int capacity() {
+        int capacity = Integer.MAX_VALUE;
+        for (Subscription subscription : subscriptions) {
+            capacity = Math.min(capacity, subscription.queue.remainingCapacity());
+        }
+        return capacity;
+    }
+
+    // The relay is the only producer and stays within capacity(), so put() doesn't block in practice
+    @Override
+    public void publish(List<ChangeEvent> events) throws InterruptedException {
+        for (Subscription subscription : subscriptions) {
+            for (ChangeEvent event : events) {
+                if (subscription.aggregates.contains(event.getAggregate())) {
+                    subscription.queue.put(event);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.forEach(Subscription::close);
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final Set<ChangeEvent.Aggregate> aggregates;
+        private final BlockingQueue<ChangeEvent> queue;
+        private final Consumer<ChangeEvent> listener;
+        private final Thread thread;
+
+        private Subscription(String name, Set<ChangeEvent.Aggregate> aggregates, int capacity, Consumer<ChangeEvent> listener) {
+            this.name = name;
+            this.aggregates = aggregates;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.listener = listener;
+            this.thread = new Thread(this::drain, "change-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        // Events not yet handed to the listener
+        public int pending() {
+            return queue.size();
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            thread.interrupt();
+        }
+
+        private void drain() {
+            while (!Thread.currentThread().isInterrupted()) {
+                ChangeEvent event;
+                try {
+                    event = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    log.warn("Change event subscriber {} failed on {} {} {}", name, event.getType(),
+                            event.getAggregate(), event.getAggregateId(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.lms_app.lms_backend.outbox;
+
+import java.util.List;
+
+// Where OutboxRelay hands change events: ChangeEventBus for in-process subscribers, or an adapter
+// for an external broker. Every sink bean receives every event.
+public interface ChangeEventSink {
+
+    // How many more events it can take right now. The relay never fetches more than the smallest
+    // capacity of all sinks, so a slow consumer holds events back in the outbox, not in memory.
+    default int capacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    // Events of one database in outbox order. Returning hands them off; throwing leaves them in
+    // the outbox to be published again, to every sink.
+    void publish(List<ChangeEvent> events) throws Exception;
+}
@@ -0,0 +1,101 @@
+package com.lms_app.lms_backend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records change events in outbox_events on the connection of the current transaction, so an
+// event exists exactly when its change commits. The change is flushed first: its row locks are
+// then held before the event gets its id, so events of one entity are numbered in commit order.
+// After commit the relay is woken to publish right away instead of at its next poll.
+@Component
+public class Outbox {
+
+    private static final String INSERT = "INSERT INTO outbox_events (tenant_id, aggregate_type, aggregate_id, event_type, "
+            + "payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    public void record(ChangeEvent.Aggregate aggregate, ChangeEvent.Type type, Long aggregateId, Long tenantId, Object payload) {
+        recordAll(aggregate, type, List.of(new Change(aggregateId, tenantId, payload)));
+    }
+
+    // One batched INSERT for many changes, e.g. a bulk import chunk
+    public void recordAll(ChangeEvent.Aggregate aggregate, ChangeEvent.Type type, List<Change> changes) {
+        if (changes.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change events must be recorded in the transaction that makes the change");
+        }
+        List<String> payloads = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            try {
+                payloads.add(change.payload != null ? objectMapper.writeValueAsString(change.payload) : null);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < changes.size(); i++) {
+                    Change change = changes.get(i);
+                    if (change.tenantId != null) ps.setLong(1, change.tenantId); else ps.setNull(1, Types.BIGINT);
+                    ps.setString(2, aggregate.name());
+                    if (change.aggregateId != null) ps.setLong(3, change.aggregateId); else ps.setNull(3, Types.BIGINT);
+                    ps.setString(4, type.name());
+                    ps.setString(5, payloads.get(i));
+                    ps.setTimestamp(6, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+        String key = routingDataSource.currentKey();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp(key);
+            }
+        });
+    }
+
+    public static final class Change {
+        private final Long aggregateId;
+        private final Long tenantId;
+        private final Object payload;
+
+        // payload is serialized to JSON; null for deletions
+        public Change(Long aggregateId, Long tenantId, Object payload) {
+            this.aggregateId = aggregateId;
+            this.tenantId = tenantId;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.lms_app.lms_backend.outbox;
+
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Publishes unpublished outbox rows to every ChangeEventSink, oldest first, in batches of up to
+// batch-size per database, then marks them published. A tenant's rows all live in its one
+// database, so each tenant's events go out in outbox order; a transaction that commits late can
+// still surface after events numbered above its own, but never those of the same entity (see
+// Outbox). The relay thread is woken by commits
+// that wrote events, so latency is one query rather than a poll interval; the poll only picks up
+// what a wake-up missed (e.g. rows left over from before a restart). When a sink has no capacity
+// left the relay stops fetching until it has. A sink that throws gets the batch again, so
+// delivery is at least once. Databases are polled from their first event since startup (the
+// shared one always). Assumes a single application instance.
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // How long to wait for a full sink to make room before asking again
+    private static final long BACKPRESSURE_WAIT_MILLIS = 50;
+    private static final int PURGE_BATCH = 10_000;
+
+    private enum Outcome { IDLE, MORE, BLOCKED }
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Autowired
+    private List<ChangeEventSink> sinks;
+
+    @Value("${lms.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${lms.outbox.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${lms.outbox.retention:1d}")
+    private Duration retention;
+
+    // JDBC URL -> routing key, so a dedicated pool pointing at the shared schema isn't polled twice
+    private final Map<String, String> databases = new ConcurrentHashMap<>();
+    private final Semaphore wakeups = new Semaphore(0);
+    private Thread thread;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        databases.put(routingDataSource.jdbcUrl(TenantRoutingDataSource.SHARED), TenantRoutingDataSource.SHARED);
+        running = true;
+        thread = new Thread(this::relayLoop, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void wakeUp(String routingKey) {
+        databases.putIfAbsent(routingDataSource.jdbcUrl(routingKey), routingKey);
+        wakeups.release();
+    }
+
+    @Scheduled(fixedDelayString = "${lms.outbox.purge-interval:1h}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        for (String key : databases.values()) {
+            try {
+                JdbcTemplate jdbc = routingDataSource.jdbcTemplate(key);
+                // In batches, so no single statement holds its locks for long
+                int deleted;
+                do {
+                    deleted = jdbc.update("DELETE FROM outbox_events WHERE published_at < ? LIMIT " + PURGE_BATCH, before);
+                } while (deleted == PURGE_BATCH);
+            } catch (RuntimeException e) {
+                log.warn("Purging published outbox events of {} failed", key, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        wakeups.release();
+        thread.join(pollInterval.toMillis() + 5000);
+    }
+
+    private void relayLoop() {
+        while (running) {
+            boolean more = false;
+            boolean blocked = false;
+            for (String key : databases.values()) {
+                Outcome outcome;
+                try {
+                    outcome = relay(key);
+                } catch (RuntimeException e) {
+                    log.warn("Relaying outbox events of {} failed, retrying in {}", key, pollInterval, e);
+                    outcome = Outcome.IDLE;
+                }
+                more |= outcome == Outcome.MORE;
+                blocked |= outcome == Outcome.BLOCKED;
+            }
+            if (more) continue;
+            try {
+                wakeups.tryAcquire(blocked ? BACKPRESSURE_WAIT_MILLIS : pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private Outcome relay(String key) {
+        int limit = batchSize;
+        for (ChangeEventSink sink : sinks) {
+            limit = Math.min(limit, sink.capacity());
+        }
+        if (limit <= 0) return Outcome.BLOCKED;
+
+        JdbcTemplate jdbc = routingDataSource.jdbcTemplate(key);
+        List<ChangeEvent> events = jdbc.query("SELECT id, tenant_id, aggregate_type, aggregate_id, event_type, payload, created_at "
+                        + "FROM outbox_events WHERE published_at IS NULL ORDER BY id LIMIT ?",
+                (rs, row) -> new ChangeEvent(key, rs.getLong(1), rs.getObject(2, Long.class),
+                        ChangeEvent.Aggregate.valueOf(rs.getString(3)), rs.getObject(4, Long.class),
+                        ChangeEvent.Type.valueOf(rs.getString(5)), rs.getString(6),
+                        rs.getTimestamp(7).toLocalDateTime()),
+                limit);
+        if (events.isEmpty()) return Outcome.IDLE;
+
+        for (ChangeEventSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (Exception e) {
+                log.warn("{} rejected {} change events from {}, retrying in {}", sink.getClass().getSimpleName(),
+                        events.size(), key, pollInterval, e);
+                return Outcome.IDLE;
+            }
+        }
+
+        List<Object> parameters = new ArrayList<>(events.size() + 1);
+        parameters.add(LocalDateTime.now());
+        events.forEach(event -> parameters.add(event.getId()));
+        jdbc.update("UPDATE outbox_events SET published_at = ? WHERE id IN ("
+                + String.join(", ", Collections.nCopies(events.size(), "?")) + ")", parameters.toArray());
+        return events.size() == limit ? Outcome.MORE : Outcome.IDLE;
+    }
+}
@@ -1,10 +1,57 @@
 package com.lms_app.lms_backend.repository;
 
 import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.security.LoginPrincipal;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
+
+    @Override
+    @Query("select a from Admin a where a.id = :id")
+    Optional<Admin> findById(@Param("id") Long id);
+
     Optional<Admin> findByEmail(String email);
-}
 
+    // Admins and students in one round trip, each branch served by its email index; admins win on a tie
+    @Query(value = """
+            select * from (
+                select 'university_admin' as role, a.id as id, a.email as email, a.admin_name as name,
+                       a.uni_name as universityName,
+                       (select min(u.id) from university u where u.admin_name = a.admin_name
+                          and (:tenantId = 0 or u.tenant_id = :tenantId)) as universityId,
+                       null as studentId, null as major, null as year, 0 as priority
+                from admin a where a.email = :email
+                  and (:tenantId = 0 or a.tenant_id = :tenantId)
+                union all
+                select 'student', s.id, s.email, s.full_name, null, s.university_id,
+                       s.student_id, s.major, s.year, 1
+                from students s where s.email = :email
+                  and (:tenantId = 0 or s.tenant_id = :tenantId)
+            ) p order by p.priority limit 1
+            """, nativeQuery = true)
+    Optional<LoginPrincipal> findLoginPrincipal(@Param("email") String email, @Param("tenantId") long tenantId);
+
+    default Optional<LoginPrincipal> findLoginPrincipal(String email) {
+        return findLoginPrincipal(email, TenantFilter.currentTenantId());
+    }
+
+    List<Admin> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Admin a order by a.id")
+    Stream<Admin> streamAll();
+}
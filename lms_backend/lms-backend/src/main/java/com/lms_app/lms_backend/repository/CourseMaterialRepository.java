@@ -0,0 +1,28 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.dto.CourseMaterialDTO;
+import com.lms_app.lms_backend.entity.CourseMaterial;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseMaterialRepository extends JpaRepository<CourseMaterial, Long> {
+
+    @Override
+    @Query("select m from CourseMaterial m where m.id = :id")
+    Optional<CourseMaterial> findById(@Param("id") Long id);
+
+    String DTO_SELECT = "select new com.lms_app.lms_backend.dto.CourseMaterialDTO("
+            + "m.id, m.course.id, m.title, m.type, m.url, m.description, m.fileSize, m.contentType, "
+            + "m.duration, m.uploadedAt, m.isPublic, m.downloadCount) "
+            + "from CourseMaterial m ";
+
+    @Query(DTO_SELECT + "where m.id = :id")
+    Optional<CourseMaterialDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where m.course.id = :courseId order by m.id")
+    List<CourseMaterialDTO> findDtosByCourseId(@Param("courseId") Long courseId);
+}
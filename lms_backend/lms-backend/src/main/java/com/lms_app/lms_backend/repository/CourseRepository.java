@@ -1,6 +1,59 @@
 package com.lms_app.lms_backend.repository;
 
+import com.lms_app.lms_backend.dto.CourseDTO;
 import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {}
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    // Not query-cached: Hibernate's query cache key isn't guaranteed to include the tenant filter's
+    // parameter, so tenants could be served each other's results. Course rows are still entity-cached.
+    @Override
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> findById(@Param("id") Long id);
+
+    String DTO_SELECT = "select new com.lms_app.lms_backend.dto.CourseDTO("
+            + "c.id, c.courseCode, c.courseName, c.description, c.credits, c.instructor, c.status, c.university.id) "
+            + "from Course c ";
+
+    // The cached queries bind the tenant as an ordinary parameter, which is part of the cache key
+    String TENANT_SCOPE = "(:tenantId = 0 or c.tenantId = :tenantId) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_SELECT + "where c.id = :id and " + TENANT_SCOPE)
+    Optional<CourseDTO> findDtoById(@Param("id") Long id, @Param("tenantId") long tenantId);
+
+    default Optional<CourseDTO> findDtoById(Long id) {
+        return findDtoById(id, TenantFilter.currentTenantId());
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_SELECT + "where " + TENANT_SCOPE + "order by c.id")
+    List<CourseDTO> findAllDtos(@Param("tenantId") long tenantId);
+
+    default List<CourseDTO> findAllDtos() {
+        return findAllDtos(TenantFilter.currentTenantId());
+    }
+
+    @Query(DTO_SELECT + "where c.id > :afterId order by c.id")
+    List<CourseDTO> findDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DTO_SELECT + "order by c.id")
+    Stream<CourseDTO> streamAllDtos();
+}
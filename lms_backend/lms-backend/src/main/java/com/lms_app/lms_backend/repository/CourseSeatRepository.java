@@ -0,0 +1,51 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.Course;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Seats are taken and returned with single conditional UPDATEs so concurrent enrollments can't
+// oversell a course. Plain JDBC (joining the surrounding JPA transaction) rather than a JPQL bulk
+// update, which would evict the whole Course cache region on every enrollment; only the one
+// course is evicted here. A course without a status counts as ACTIVE, as everywhere else.
+@Repository
+public class CourseSeatRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public boolean claimSeat(Long courseId) {
+        int updated = jdbcTemplate.update("UPDATE course SET enrolled_count = enrolled_count + 1 "
+                + "WHERE id = ? AND (status = 'ACTIVE' OR status IS NULL) AND (capacity IS NULL OR enrolled_count < capacity)",
+                courseId);
+        if (updated > 0) evict(courseId);
+        return updated > 0;
+    }
+
+    public boolean releaseSeat(Long courseId) {
+        int updated = jdbcTemplate.update("UPDATE course SET enrolled_count = enrolled_count - 1 "
+                + "WHERE id = ? AND enrolled_count > 0", courseId);
+        if (updated > 0) evict(courseId);
+        return updated > 0;
+    }
+
+    // Again after commit, in case a concurrent reader re-cached the old row in between
+    private void evict(Long courseId) {
+        entityManagerFactory.getCache().evict(Course.class, courseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManagerFactory.getCache().evict(Course.class, courseId);
+                }
+            });
+        }
+    }
+}
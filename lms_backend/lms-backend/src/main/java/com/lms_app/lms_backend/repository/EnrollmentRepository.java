@@ -0,0 +1,55 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.entity.Enrollment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    @Override
+    @Query("select e from Enrollment e where e.id = :id")
+    Optional<Enrollment> findById(@Param("id") Long id);
+
+    String DTO_SELECT = "select new com.lms_app.lms_backend.dto.EnrollmentDTO("
+            + "e.id, s.id, s.fullName, c.id, c.courseCode, c.courseName, e.status, "
+            + "e.enrolledAt, e.completedAt, e.progress, e.grade, e.finalScore) "
+            + "from Enrollment e join e.student s join e.course c ";
+
+    @Query(DTO_SELECT + "where e.id = :id")
+    Optional<EnrollmentDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "where s.id = :studentId order by e.id")
+    List<EnrollmentDTO> findDtosByStudentId(@Param("studentId") Long studentId);
+
+    @Query(DTO_SELECT + "where c.id = :courseId order by e.id")
+    List<EnrollmentDTO> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    @Query(DTO_SELECT + "where c.id = :courseId and e.status = :status order by e.id")
+    List<EnrollmentDTO> findDtosByCourseIdAndStatus(@Param("courseId") Long courseId,
+            @Param("status") Enrollment.Status status);
+
+    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    // Status changes are compare-and-set on the current status; 0 means the enrollment was not in one of `from`
+    @Modifying(clearAutomatically = true)
+    @Query("update Enrollment e set e.status = :to, e.version = e.version + 1 "
+            + "where e.id = :id and e.status in :from")
+    int transition(@Param("id") Long id, @Param("from") Collection<Enrollment.Status> from,
+            @Param("to") Enrollment.Status to);
+
+    // Re-enrollment reuses the (student_id, course_id) row and starts it over
+    @Modifying(clearAutomatically = true)
+    @Query("update Enrollment e set e.status = :to, e.enrolledAt = :now, e.completedAt = null, "
+            + "e.progress = 0, e.grade = null, e.finalScore = null, e.version = e.version + 1 "
+            + "where e.id = :id and e.status in :from")
+    int reset(@Param("id") Long id, @Param("from") Collection<Enrollment.Status> from,
+            @Param("to") Enrollment.Status to, @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,54 @@
 package com.lms_app.lms_backend.repository;
 
+import com.lms_app.lms_backend.dto.StudentDTO;
 import com.lms_app.lms_backend.entity.Students;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface StudentRepository extends JpaRepository<Students, Long>, StudentSearchRepository {
+
+    @Override
+    @Query("select s from Students s where s.id = :id")
+    Optional<Students> findById(@Param("id") Long id);
 
-public interface StudentRepository extends JpaRepository<Students, Long> {
     boolean existsByEmail(String email);
     Optional<Students> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Native so the tenant filter doesn't apply: both columns are unique across all tenants
+    @Query(value = "select student_id from students where student_id in :studentIds", nativeQuery = true)
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    @Query(value = "select email from students where email in :emails", nativeQuery = true)
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // s.university.id reads the FK column directly, so none of these join or load University
+    String DTO_SELECT = "select new com.lms_app.lms_backend.dto.StudentDTO("
+            + "s.id, s.studentId, s.fullName, s.email, s.major, s.year, s.phoneNumber, s.status, s.university.id) "
+            + "from Students s ";
+
+    @Query(DTO_SELECT + "where s.id = :id")
+    Optional<StudentDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "order by s.id")
+    List<StudentDTO> findAllDtos();
+
+    @Query(DTO_SELECT + "where s.id > :afterId order by s.id")
+    List<StudentDTO> findDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DTO_SELECT + "order by s.id")
+    Stream<StudentDTO> streamAllDtos();
+}
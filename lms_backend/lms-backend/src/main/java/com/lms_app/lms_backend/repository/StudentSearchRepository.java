@@ -0,0 +1,13 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.Students;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface StudentSearchRepository {
+
+    List<StudentDTO> searchDtos(Specification<Students> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,41 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+import com.lms_app.lms_backend.entity.Students;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+// Same projection as StudentRepository.DTO_SELECT, but with a Specification for the where clause
+class StudentSearchRepositoryImpl implements StudentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentDTO> searchDtos(Specification<Students> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentDTO> query = cb.createQuery(StudentDTO.class);
+        Root<Students> s = query.from(Students.class);
+        query.select(cb.construct(StudentDTO.class,
+                s.get("id"), s.get("studentId"), s.get("fullName"), s.get("email"), s.get("major"),
+                s.get("year"), s.get("phoneNumber"), s.get("status"), s.get("university").get("id")));
+        Predicate where = spec.toPredicate(s, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, s, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.Students;
+import org.springframework.data.jpa.domain.Specification;
+
+// Building blocks for the student directory search. Each one maps onto a leading column of one of
+// the composite indexes on Students; name/studentId matching is prefix-only so it stays an index range scan.
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {}
+
+    public static Specification<Students> inUniversity(Long universityId) {
+        return (s, query, cb) -> cb.equal(s.get("university").get("id"), universityId);
+    }
+
+    public static Specification<Students> hasMajor(String major) {
+        return (s, query, cb) -> cb.equal(s.get("major"), major);
+    }
+
+    public static Specification<Students> inYear(String year) {
+        return (s, query, cb) -> cb.equal(s.get("year"), year);
+    }
+
+    public static Specification<Students> hasStatus(Students.Status status) {
+        return (s, query, cb) -> cb.equal(s.get("status"), status);
+    }
+
+    public static Specification<Students> nameOrStudentIdStartsWith(String prefix) {
+        String pattern = escapeLike(prefix) + "%";
+        return (s, query, cb) -> cb.or(
+                cb.like(s.get("fullName"), pattern, '\\'),
+                cb.like(s.get("studentId"), pattern, '\\'));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
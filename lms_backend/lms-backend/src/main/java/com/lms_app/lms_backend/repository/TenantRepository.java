@@ -0,0 +1,21 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+import java.util.Optional;
+
+public interface TenantRepository extends JpaRepository<Tenant, Long> {
+    @EntityGraph(attributePaths = "features")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Tenant> findBySubdomain(String subdomain);
+
+    @Query("select t.id from Tenant t join t.features f where f = :feature")
+    List<Long> findIdsWithFeature(@Param("feature") Tenant.Feature feature);
+}
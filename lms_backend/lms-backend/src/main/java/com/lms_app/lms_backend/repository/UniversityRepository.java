@@ -1,11 +1,51 @@
 package com.lms_app.lms_backend.repository;
 
 import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UniversityRepository extends JpaRepository<University, Long> {
+
+    // Not query-cached: Hibernate's query cache key isn't guaranteed to include the tenant filter's
+    // parameter, so tenants could be served each other's results. University rows are still
+    // entity-cached.
+    @Override
+    @Query("select u from University u where u.id = :id")
+    Optional<University> findById(@Param("id") Long id);
+
+    // The cached list binds the tenant as an ordinary parameter, which is part of the cache key
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select u from University u where (:tenantId = 0 or u.tenantId = :tenantId)")
+    List<University> findAll(@Param("tenantId") long tenantId);
+
+    @Override
+    default List<University> findAll() {
+        return findAll(TenantFilter.currentTenantId());
+    }
+
     Optional<University> findByAdminName(String adminName);
     Optional<University> findByUniName(String uniName);
-}
 
+    @Query("select u.id from University u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    List<University> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from University u order by u.id")
+    Stream<University> streamAll();
+}
@@ -0,0 +1,370 @@
+package com.lms_app.lms_backend.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.SearchHitDTO;
+import com.lms_app.lms_backend.entity.CourseMaterial;
+import com.lms_app.lms_backend.outbox.ChangeEvent;
+import com.lms_app.lms_backend.outbox.ChangeEventBus;
+import com.lms_app.lms_backend.support.AfterCommit;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Lucene index of courses and course materials on local disk. Courses arrive as COURSE change
+// events from the outbox (subscribed on ChangeEventBus, so delivery is at least once and in commit
+// order); materials, which have no change events, come from CourseSearchListener after each
+// commit. A reopen thread makes changes searchable within about a second and the index is
+// committed to disk on a fixed delay. Anything lost between commits (a crash) or written behind
+// Hibernate's back is repaired by rebuild(). Documents are tagged with
+// the tenant and the database they came from, since row ids are only unique per database.
+// Assumes a single application instance.
+@Component
+public class CourseSearchIndex implements ApplicationRunner, DisposableBean {
+
+    public static final String COURSE = "course";
+    public static final String MATERIAL = "material";
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String DATABASE = "database";
+    private static final String TENANT = "tenant";
+    private static final String ID = "id";
+    private static final String COURSE_ID = "courseId";
+    private static final String TITLE = "title";
+    private static final String CODE = "code";
+    private static final String INSTRUCTOR = "instructor";
+    private static final String DESCRIPTION = "description";
+
+    // Searched fields and how much a match in each one counts
+    private static final Map<String, Float> BOOSTS = Map.of(
+            CODE, 4f, TITLE, 3f, INSTRUCTOR, 1.5f, DESCRIPTION, 1f);
+
+    @Value("${lms.search.index-dir:data/search-index}")
+    private Path indexDir;
+
+    @Value("${lms.search.event-queue:1000}")
+    private int eventQueue;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantRoutingDataSource routingDataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, 1.0, 0.1);
+        reopenThread.setName("course-search-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+        changeEventBus.subscribe("course-search", EnumSet.of(ChangeEvent.Aggregate.COURSE), eventQueue, this::courseChanged);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (writer.getDocStats().numDocs == 0) {
+            log.info("Course search index at {} is empty, building it from the shared database", indexDir);
+            rebuild();
+        }
+    }
+
+    // On the subscription's thread, after the change has committed. A deletion takes the course's
+    // materials with it.
+    void courseChanged(ChangeEvent event) {
+        String database = routingDataSource.jdbcUrl(event.getSource());
+        try {
+            if (event.getType() == ChangeEvent.Type.DELETED) {
+                writer.deleteDocuments(scope(database, COURSE_ID, event.getAggregateId()));
+                return;
+            }
+            CourseDTO course = objectMapper.readValue(event.getPayload(), CourseDTO.class);
+            Document doc = courseDocument(database, event.getAggregateId(), event.getTenantId(), course.getCourseCode(),
+                    course.getCourseName(), course.getInstructor(), course.getDescription());
+            writer.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+        } catch (IOException e) {
+            log.warn("Indexing course {} failed; run a rebuild to resync", event.getAggregateId(), e);
+        }
+    }
+
+    public void materialSaved(CourseMaterial material) {
+        Long courseId = material.getCourse() != null ? material.getCourse().getId() : null;
+        Document doc = materialDocument(database(), material.getId(), material.getTenantId(), courseId,
+                material.getTitle(), material.getDescription());
+        afterCommit(() -> writer.updateDocument(new Term(KEY, doc.get(KEY)), doc));
+    }
+
+    public void materialDeleted(CourseMaterial material) {
+        Term key = new Term(KEY, key(database(), MATERIAL, material.getId()));
+        afterCommit(() -> writer.deleteDocuments(key));
+    }
+
+    // Ranked, typo-tolerant search over the current tenant's courses and materials. Every word has
+    // to match some field: exactly, within one or two edits (by word length), or as a prefix for
+    // the last word so results show up while the user is still typing.
+    public List<SearchHitDTO> search(String text, String type, int limit) throws IOException {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) return List.of();
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean last = i == words.size() - 1;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            BOOSTS.forEach((field, boost) -> {
+                Term term = new Term(field, word);
+                anyField.add(new BoostQuery(new TermQuery(term), boost * 2), BooleanClause.Occur.SHOULD);
+                int maxEdits = word.length() <= 3 ? 0 : word.length() <= 6 ? 1 : 2;
+                if (maxEdits > 0) {
+                    anyField.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost), BooleanClause.Occur.SHOULD);
+                }
+                if (last) {
+                    anyField.add(new BoostQuery(new PrefixQuery(term), boost), BooleanClause.Occur.SHOULD);
+                }
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        query.add(new TermQuery(new Term(DATABASE, database())), BooleanClause.Occur.FILTER);
+        long tenantId = TenantFilter.currentTenantId();
+        if (tenantId != TenantFilter.UNPARTITIONED) {
+            query.add(new TermQuery(new Term(TENANT, Long.toString(tenantId))), BooleanClause.Occur.FILTER);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            StoredFields stored = searcher.storedFields();
+            List<SearchHitDTO> hits = new ArrayList<>();
+            for (ScoreDoc scoreDoc : searcher.search(query.build(), limit).scoreDocs) {
+                Document doc = stored.document(scoreDoc.doc);
+                hits.add(new SearchHitDTO(doc.get(TYPE), longValue(doc, ID), longValue(doc, COURSE_ID),
+                        doc.get(TITLE), doc.get(CODE), scoreDoc.score));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Re-indexes everything the current tenant can see in its database. From the default tenant
+    // that is the whole shared database; tenants with a dedicated database rebuild their own.
+    public int rebuild() {
+        String database = database();
+        long tenantId = TenantFilter.currentTenantId();
+        Integer indexed = transactionTemplate.execute(status -> {
+            try {
+                writer.deleteDocuments(tenantId == TenantFilter.UNPARTITIONED
+                        ? new TermQuery(new Term(DATABASE, database))
+                        : scope(database, TENANT, tenantId));
+                int count = 0;
+                // Scalar rows rather than entities, so nothing piles up in the persistence context
+                try (Stream<Object[]> rows = streamRows("select c.id, c.tenantId, c.courseCode, c.courseName, "
+                        + "c.instructor, c.description from Course c")) {
+                    for (Object[] r : (Iterable<Object[]>) rows::iterator) {
+                        Document doc = courseDocument(database, (Long) r[0], (Long) r[1], (String) r[2],
+                                (String) r[3], (String) r[4], (String) r[5]);
+                        writer.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+                        count++;
+                    }
+                }
+                try (Stream<Object[]> rows = streamRows("select m.id, m.tenantId, m.course.id, m.title, "
+                        + "m.description from CourseMaterial m")) {
+                    for (Object[] r : (Iterable<Object[]>) rows::iterator) {
+                        Document doc = materialDocument(database, (Long) r[0], (Long) r[1], (Long) r[2],
+                                (String) r[3], (String) r[4]);
+                        writer.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+                        count++;
+                    }
+                }
+                writer.commit();
+                searcherManager.maybeRefreshBlocking();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Rebuilt course search index for tenant {}: {} documents", tenantId, indexed);
+        return indexed;
+    }
+
+    @Scheduled(fixedDelayString = "${lms.search.commit-interval:30s}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    private Stream<Object[]> streamRows(String jpql) {
+        return entityManager.createQuery(jpql, Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static Document courseDocument(String database, Long id, Long tenantId, String code, String name,
+                                           String instructor, String description) {
+        Document doc = baseDocument(database, COURSE, id, tenantId, id);
+        addText(doc, CODE, code, Field.Store.YES);
+        addText(doc, TITLE, name, Field.Store.YES);
+        addText(doc, INSTRUCTOR, instructor, Field.Store.NO);
+        addText(doc, DESCRIPTION, description, Field.Store.NO);
+        return doc;
+    }
+
+    private static Document materialDocument(String database, Long id, Long tenantId, Long courseId,
+                                             String title, String description) {
+        Document doc = baseDocument(database, MATERIAL, id, tenantId, courseId);
+        addText(doc, TITLE, title, Field.Store.YES);
+        addText(doc, DESCRIPTION, description, Field.Store.NO);
+        return doc;
+    }
+
+    private static Document baseDocument(String database, String type, Long id, Long tenantId, Long courseId) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(database, type, id), Field.Store.YES));
+        doc.add(new StringField(TYPE, type, Field.Store.YES));
+        doc.add(new StringField(DATABASE, database, Field.Store.NO));
+        doc.add(new StringField(TENANT, Long.toString(tenantId != null ? tenantId : TenantFilter.UNPARTITIONED), Field.Store.NO));
+        doc.add(new StoredField(ID, id.toString()));
+        if (courseId != null) {
+            doc.add(new StringField(COURSE_ID, courseId.toString(), Field.Store.YES));
+        }
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value, Field.Store store) {
+        if (value != null) {
+            doc.add(new TextField(field, value, store));
+        }
+    }
+
+    private static String key(String database, String type, Long id) {
+        return type + ":" + id + "@" + database;
+    }
+
+    private static Query scope(String database, String field, long value) {
+        return new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(DATABASE, database)), BooleanClause.Occur.FILTER)
+                .add(new TermQuery(new Term(field, Long.toString(value))), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private static Long longValue(Document doc, String field) {
+        String value = doc.get(field);
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        }
+        return words;
+    }
+
+    // Row ids are only unique within one database; dedicated pools without their own schema share one
+    private String database() {
+        return routingDataSource.jdbcUrl(routingDataSource.currentKey());
+    }
+
+    private interface IndexUpdate {
+        void apply() throws IOException;
+    }
+
+    private void afterCommit(IndexUpdate update) {
+        AfterCommit.run(() -> {
+            try {
+                update.apply();
+            } catch (IOException e) {
+                log.warn("Course search index update failed; run a rebuild to resync", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.lms_app.lms_backend.search;
+
+import com.lms_app.lms_backend.entity.CourseMaterial;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener on CourseMaterial that keeps CourseSearchIndex in step with whatever saves
+// materials. Courses reach the index as outbox change events instead.
+@Component
+public class CourseSearchListener {
+
+    @Lazy
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void saved(CourseMaterial material) {
+        courseSearchIndex.materialSaved(material);
+    }
+
+    @PostRemove
+    public void removed(CourseMaterial material) {
+        courseSearchIndex.materialDeleted(material);
+    }
+}
@@ -0,0 +1,50 @@
+package com.lms_app.lms_backend.security;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Caller identity decoded from a verified token. The user map is exactly what login returned.
+public final class AuthPrincipal {
+
+    public static final String REQUEST_ATTRIBUTE = AuthPrincipal.class.getName();
+
+    private final Map<String, Object> user;
+    private final long tenantId;
+    private final long expiresAt;
+
+    public AuthPrincipal(Map<String, Object> user, long tenantId, long expiresAt) {
+        this.user = Collections.unmodifiableMap(new LinkedHashMap<>(user));
+        this.tenantId = tenantId;
+        this.expiresAt = expiresAt;
+    }
+
+    public Map<String, Object> getUser() {
+        return user;
+    }
+
+    public String getUserId() {
+        return (String) user.get("id");
+    }
+
+    public String getRole() {
+        return (String) user.get("role");
+    }
+
+    public String getUniversityId() {
+        return (String) user.get("universityId");
+    }
+
+    // The tenant the token was issued on, TenantFilter.UNPARTITIONED for the default hosts
+    public long getTenantId() {
+        return tenantId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long nowEpochSeconds) {
+        return nowEpochSeconds >= expiresAt;
+    }
+}
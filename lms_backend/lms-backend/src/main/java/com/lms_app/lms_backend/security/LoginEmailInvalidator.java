@@ -0,0 +1,28 @@
+package com.lms_app.lms_backend.security;
+
+import com.lms_app.lms_backend.entity.Admin;
+import com.lms_app.lms_backend.entity.Students;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener on Admin and Students; a new or changed email may now be able to log in
+@Component
+public class LoginEmailInvalidator {
+
+    @Lazy
+    @Autowired
+    private UnknownLoginCache unknownLoginCache;
+
+    @PostPersist
+    @PostUpdate
+    public void loginChanged(Object entity) {
+        if (entity instanceof Admin admin) {
+            unknownLoginCache.invalidate(admin.getEmail(), admin.getTenantId());
+        } else if (entity instanceof Students student) {
+            unknownLoginCache.invalidate(student.getEmail(), student.getTenantId());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.lms_app.lms_backend.security;
+
+// Projection for AdminRepository.findLoginPrincipal; student-only columns are null for admins and vice versa
+public interface LoginPrincipal {
+
+    String getRole();
+
+    Long getId();
+
+    String getEmail();
+
+    String getName();
+
+    String getUniversityName();
+
+    Long getUniversityId();
+
+    String getStudentId();
+
+    String getMajor();
+
+    String getYear();
+}
@@ -0,0 +1,53 @@
+package com.lms_app.lms_backend.security;
+
+import com.lms_app.lms_backend.exception.InvalidTokenException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Resolves the Bearer token on /api calls into an AuthPrincipal request attribute, so
+// controllers know the caller without reading the admin or student tables. CorsConfig registers
+// the CORS filter ahead of this one, so the 401 below carries CORS headers.
+@Component
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/")
+                || path.equals("/api/auth/login")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER)) {
+            try {
+                AuthPrincipal principal = tokenService.verify(authorization.substring(BEARER.length()));
+                request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, principal);
+            } catch (InvalidTokenException e) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Invalid token\"}");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,147 @@
+package com.lms_app.lms_backend.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms_app.lms_backend.exception.InvalidTokenException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Issues and verifies HS256 JWTs whose claims carry the login user map (role, id, universityId, ...)
+// and the id of the tenant the user signed in on, so a token can't be replayed against another
+// tenant's host (TenantInterceptor compares it with the request's tenant).
+@Component
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    static final String TENANT_CLAIM = "tenantId";
+    private static final TypeReference<LinkedHashMap<String, Object>> CLAIMS_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${lms.auth.token-secret}")
+    private String secret;
+
+    @Value("${lms.auth.token-ttl:8h}")
+    private Duration tokenTtl;
+
+    @Value("${lms.auth.verified-cache.max-size:50000}")
+    private long verifiedCacheSize;
+
+    @Value("${lms.auth.verified-cache.ttl:5m}")
+    private Duration verifiedCacheTtl;
+
+    private SecretKeySpec key;
+    private Cache<String, AuthPrincipal> verified;
+
+    @PostConstruct
+    void init() {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("lms.auth.token-secret must be at least 32 bytes");
+        }
+        key = new SecretKeySpec(secretBytes, ALGORITHM);
+        verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(verifiedCacheTtl)
+                .build();
+    }
+
+    public String issue(Map<String, Object> user, long tenantId) {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> claims = new LinkedHashMap<>(user);
+        claims.put(TENANT_CLAIM, tenantId);
+        claims.put("iat", now);
+        claims.put("exp", now + tokenTtl.getSeconds());
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            String signingInput = HEADER + "." + payload;
+            return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialise token claims", e);
+        }
+    }
+
+    // Hot path: a token seen recently is resolved from the cache without recomputing the HMAC
+    public AuthPrincipal verify(String token) {
+        long now = Instant.now().getEpochSecond();
+        AuthPrincipal cached = verified.getIfPresent(token);
+        if (cached != null) {
+            if (cached.isExpired(now)) {
+                verified.invalidate(token);
+                throw new InvalidTokenException("Token expired");
+            }
+            return cached;
+        }
+
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !token.startsWith(HEADER + ".")) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        String signingInput = token.substring(0, lastDot);
+        byte[] signature;
+        byte[] payload;
+        try {
+            signature = DECODER.decode(token.substring(lastDot + 1));
+            payload = DECODER.decode(token.substring(firstDot + 1, lastDot));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!MessageDigest.isEqual(sign(signingInput), signature)) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+
+        Map<String, Object> claims;
+        try {
+            claims = objectMapper.readValue(payload, CLAIMS_TYPE);
+        } catch (IOException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        Object exp = claims.remove("exp");
+        Object tenantId = claims.remove(TENANT_CLAIM);
+        claims.remove("iat");
+        if (!(exp instanceof Number)) {
+            throw new InvalidTokenException("Token has no expiry");
+        }
+        if (!(tenantId instanceof Number)) {
+            throw new InvalidTokenException("Token has no tenant");
+        }
+        AuthPrincipal principal = new AuthPrincipal(claims, ((Number) tenantId).longValue(), ((Number) exp).longValue());
+        if (principal.isExpired(now)) {
+            throw new InvalidTokenException("Token expired");
+        }
+        verified.put(token, principal);
+        return principal;
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.lms_app.lms_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Emails that recently matched no admin or student, so repeated failed logins don't reach MySQL.
+// Entries are dropped by LoginEmailInvalidator when a matching row is written; the short TTL covers
+// the window between that listener firing and the transaction committing.
+@Component
+public class UnknownLoginCache {
+
+    @Value("${lms.auth.unknown-login-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${lms.auth.unknown-login-cache.ttl:1m}")
+    private Duration ttl;
+
+    private Cache<String, Boolean> unknown;
+
+    @PostConstruct
+    void init() {
+        unknown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Lookups are per tenant, so is the answer
+    public boolean isUnknown(String email) {
+        return email != null && unknown.getIfPresent(key(TenantFilter.currentTenantId(), email)) != null;
+    }
+
+    public void markUnknown(String email) {
+        if (email != null) {
+            unknown.put(key(TenantFilter.currentTenantId(), email), Boolean.TRUE);
+        }
+    }
+
+    // The unpartitioned default host sees every tenant's users, so its entry goes too
+    public void invalidate(String email, Long tenantId) {
+        if (email != null) {
+            unknown.invalidate(key(TenantFilter.UNPARTITIONED, email));
+            if (tenantId != null) {
+                unknown.invalidate(key(tenantId, email));
+            }
+        }
+    }
+
+    // Email columns use MySQL's case-insensitive collation
+    private static String key(long tenantId, String email) {
+        return tenantId + ":" + email.trim().toLowerCase(Locale.ROOT);
+    }
+}
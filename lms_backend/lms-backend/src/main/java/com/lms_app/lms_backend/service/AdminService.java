@@ -1,12 +1,16 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.AdminDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AdminService {
     AdminDTO createAdmin(AdminDTO dto);
     AdminDTO getAdminById(Long id);
     List<AdminDTO> getAllAdmins();
+    CursorPage<AdminDTO> getAdminsAfter(Long afterId, int limit);
+    void streamAllAdmins(Consumer<AdminDTO> action);
     AdminDTO updateAdmin(Long id, AdminDTO dto);
     void deleteAdmin(Long id);
 }
\ No newline at end of file
@@ -1,12 +1,13 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.LoginResponse;
-import com.lms_app.lms_backend.entity.Admin;
-import com.lms_app.lms_backend.entity.Students;
-import com.lms_app.lms_backend.entity.University;
+import com.lms_app.lms_backend.exception.InvalidTokenException;
 import com.lms_app.lms_backend.repository.AdminRepository;
-import com.lms_app.lms_backend.repository.StudentRepository;
-import com.lms_app.lms_backend.repository.UniversityRepository;
+import com.lms_app.lms_backend.security.LoginPrincipal;
+import com.lms_app.lms_backend.security.TokenService;
+import com.lms_app.lms_backend.security.UnknownLoginCache;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,10 +22,10 @@ public class AuthServiceImpl implements AuthService {
     private AdminRepository adminRepository;
 
     @Autowired
-    private StudentRepository studentRepository;
+    private UnknownLoginCache unknownLoginCache;
 
     @Autowired
-    private UniversityRepository universityRepository;
+    private TokenService tokenService;
 
     @Override
     public LoginResponse authenticate(String email, String password) {
@@ -47,58 +48,50 @@ public class AuthServiceImpl implements AuthService {
             
             response.setSuccess(true);
             response.setUser(user);
-            response.setToken("super_admin_token_" + System.currentTimeMillis());
+            response.setToken(tokenService.issue(user, TenantFilter.currentTenantId()));
             return response;
         }
 
-        // Check admin table
-        Optional<Admin> adminOpt = adminRepository.findByEmail(email);
-        if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
-            
-            // Find the university this admin manages
-            Optional<University> universityOpt = universityRepository.findByAdminName(admin.getAdminName());
-            
-            Map<String, Object> user = new HashMap<>();
-            user.put("id", admin.getId().toString());
-            user.put("email", admin.getEmail());
-            user.put("name", admin.getAdminName());
-            user.put("role", "university_admin");
-            user.put("universityName", admin.getUniName());
-            
-            // Set university ID if found
-            if (universityOpt.isPresent()) {
-                user.put("universityId", universityOpt.get().getId().toString());
-            } else {
-                user.put("universityId", "1"); // Default fallback
-            }
-            
-            response.setSuccess(true);
-            response.setUser(user);
-            response.setToken("admin_token_" + System.currentTimeMillis());
+        // The default hosts see every tenant and are reserved for the super admin (TenantInterceptor)
+        if (!TenantContextHolder.get().isRegistered()) {
+            response.setSuccess(false);
+            response.setMessage("Sign in on your institution's LMS address");
+            return response;
+        }
+
+        if (unknownLoginCache.isUnknown(email)) {
+            response.setSuccess(false);
+            response.setMessage("User not found");
             return response;
         }
 
-        // Check student table
-        Optional<Students> studentOpt = studentRepository.findByEmail(email);
-        if (studentOpt.isPresent()) {
-            Students student = studentOpt.get();
+        // Admin (with the university it manages) or student, resolved in a single query
+        Optional<LoginPrincipal> principalOpt = adminRepository.findLoginPrincipal(email);
+        if (principalOpt.isPresent()) {
+            LoginPrincipal principal = principalOpt.get();
+            String universityId = principal.getUniversityId() != null ? principal.getUniversityId().toString() : "1"; // Default fallback
+
             Map<String, Object> user = new HashMap<>();
-            user.put("id", student.getId().toString());
-            user.put("email", student.getEmail());
-            user.put("name", student.getFullName());
-            user.put("role", "student");
-            user.put("studentId", student.getStudentId());
-            user.put("universityId", student.getUniversity() != null ? student.getUniversity().getId().toString() : "1");
-            user.put("major", student.getMajor());
-            user.put("year", student.getYear());
-            
+            user.put("id", principal.getId().toString());
+            user.put("email", principal.getEmail());
+            user.put("name", principal.getName());
+            user.put("role", principal.getRole());
+            user.put("universityId", universityId);
+            if ("student".equals(principal.getRole())) {
+                user.put("studentId", principal.getStudentId());
+                user.put("major", principal.getMajor());
+                user.put("year", principal.getYear());
+            } else {
+                user.put("universityName", principal.getUniversityName());
+            }
+
             response.setSuccess(true);
             response.setUser(user);
-            response.setToken("student_token_" + System.currentTimeMillis());
+            response.setToken(tokenService.issue(user, TenantFilter.currentTenantId()));
             return response;
         }
 
+        unknownLoginCache.markUnknown(email);
         response.setSuccess(false);
         response.setMessage("User not found");
         return response;
@@ -106,22 +99,11 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public Map<String, Object> getCurrentUser(String token) {
-        // Simple token validation for demo
         if (token == null || !token.startsWith("Bearer ")) {
-            throw new RuntimeException("Invalid token format");
+            throw new InvalidTokenException("Invalid token format");
         }
-        
-        String actualToken = token.substring(7);
-        if (actualToken.startsWith("super_admin_token")) {
-            Map<String, Object> user = new HashMap<>();
-            user.put("id", "1");
-            user.put("email", "superadmin@lms.com");
-            user.put("name", "Super Administrator");
-            user.put("role", "super_admin");
-            return user;
-        }
-        
-        throw new RuntimeException("Invalid token");
+        // Everything /me needs is in the signed claims; no repository lookup
+        return tokenService.verify(token.substring(7)).getUser();
     }
 
     @Override
@@ -0,0 +1,19 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.CourseMaterialDTO;
+import com.lms_app.lms_backend.storage.MaterialDownload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface CourseMaterialService {
+    CourseMaterialDTO createMaterial(CourseMaterialDTO dto);
+    CourseMaterialDTO getMaterialById(Long id);
+    List<CourseMaterialDTO> getMaterialsByCourse(Long courseId);
+    CourseMaterialDTO updateMaterial(Long id, CourseMaterialDTO dto);
+    CourseMaterialDTO uploadContent(Long id, String contentType, long contentLength, InputStream content) throws IOException;
+    MaterialDownload openContent(Long id) throws IOException;
+    void recordDownload(Long id);
+    void deleteMaterial(Long id);
+}
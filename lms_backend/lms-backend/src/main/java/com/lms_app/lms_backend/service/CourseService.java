@@ -1,12 +1,16 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.CourseDTO;
+import com.lms_app.lms_backend.dto.CursorPage;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseService {
     CourseDTO createCourse(CourseDTO dto);
     CourseDTO getCourseById(Long id);
     List<CourseDTO> getAllCourses();
+    CursorPage<CourseDTO> getCoursesAfter(Long afterId, int limit);
+    void streamAllCourses(Consumer<CourseDTO> action);
     CourseDTO updateCourse(Long id, CourseDTO dto);
     void deleteCourse(Long id);
 }
@@ -0,0 +1,8 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.DashboardDTO;
+
+public interface DashboardService {
+    DashboardDTO getDashboard(Long universityId, int topCourses);
+    void rebuild();
+}
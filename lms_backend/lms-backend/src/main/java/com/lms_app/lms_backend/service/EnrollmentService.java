@@ -0,0 +1,15 @@
+package com.lms_app.lms_backend.service;
+
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import java.util.List;
+
+public interface EnrollmentService {
+    EnrollmentDTO enroll(Long studentId, Long courseId);
+    EnrollmentDTO getEnrollmentById(Long id);
+    List<EnrollmentDTO> getEnrollmentsByStudent(Long studentId);
+    List<EnrollmentDTO> getEnrollmentsByCourse(Long courseId, String status);
+    EnrollmentDTO approve(Long id);
+    EnrollmentDTO reject(Long id);
+    EnrollmentDTO drop(Long id);
+    EnrollmentDTO updateProgress(Long id, EnrollmentDTO dto);
+}
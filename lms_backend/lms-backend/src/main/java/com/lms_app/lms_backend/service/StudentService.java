@@ -1,12 +1,22 @@
 package com.lms_app.lms_backend.service;
 
 import com.lms_app.lms_backend.dto.*;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
 	StudentDTO createStudent(StudentDTO studentDTO);
     StudentDTO getStudentById(Long id);
     List<StudentDTO> getAllStudents();
+    CursorPage<StudentDTO> getStudentsAfter(Long afterId, int limit);
+    SearchPage<StudentDTO> searchStudents(StudentSearchCriteria criteria, Pageable pageable);
+    void streamAllStudents(Consumer<StudentDTO> action);
     StudentDTO updateStudent(Long id, StudentDTO studentDTO);
     void deleteStudent(Long id);
+    BulkImportResult importStudents(List<StudentDTO> students);
+    BulkImportResult importStudentsCsv(InputStream csv) throws IOException;
 }
@@ -1,12 +1,16 @@
 package com.lms_app.lms_backend.service;
 
+import com.lms_app.lms_backend.dto.CursorPage;
 import com.lms_app.lms_backend.dto.UniversityDTO;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UniversityService {
     UniversityDTO createUniversity(UniversityDTO dto);
     UniversityDTO getUniversityById(Long id);
     List<UniversityDTO> getAllUniversities();
+    CursorPage<UniversityDTO> getUniversitiesAfter(Long afterId, int limit);
+    void streamAllUniversities(Consumer<UniversityDTO> action);
     UniversityDTO updateUniversity(Long id, UniversityDTO dto);
     void deleteUniversity(Long id);
 }
@@ -0,0 +1,107 @@
+package com.lms_app.lms_backend.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Material files under lms.storage.local.root, one file per key. Uploads are written to a temp
+// file next to the target in fixed-size chunks and moved into place only once complete, so a
+// reader never sees a partial file and the heap never holds more than one buffer.
+@Component
+@ConditionalOnProperty(name = "lms.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalMaterialStorage implements MaterialStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public LocalMaterialStorage(@Value("${lms.storage.local.root:data/materials}") Path root) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public long store(String key, InputStream content, long maxBytes) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            long written = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    written += read;
+                    if (written > maxBytes) {
+                        throw new MaxUploadSizeExceededException(maxBytes);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return written;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public StoredMaterial open(String key) throws IOException {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(key);
+        }
+        long size = Files.size(file);
+        return new StoredMaterial() {
+            @Override
+            public long size() {
+                return size;
+            }
+
+            @Override
+            public Path localFile() {
+                return file;
+            }
+
+            // FileChannel.transferTo hands the copy to the kernel when the target allows it
+            @Override
+            public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long end = position + count;
+                    while (position < end) {
+                        long transferred = channel.transferTo(position, end - position, target);
+                        if (transferred <= 0) {
+                            throw new EOFException("File shrank while being sent: " + file);
+                        }
+                        position += transferred;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage key");
+        }
+        return file;
+    }
+}
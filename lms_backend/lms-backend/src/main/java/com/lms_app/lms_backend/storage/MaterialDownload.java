@@ -0,0 +1,33 @@
+package com.lms_app.lms_backend.storage;
+
+// A material's uploaded file together with what the response needs to describe it
+public class MaterialDownload {
+
+    private final Long materialId;
+    private final String title;
+    private final String contentType;
+    private final StoredMaterial content;
+
+    public MaterialDownload(Long materialId, String title, String contentType, StoredMaterial content) {
+        this.materialId = materialId;
+        this.title = title;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    public Long getMaterialId() {
+        return materialId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public StoredMaterial getContent() {
+        return content;
+    }
+}
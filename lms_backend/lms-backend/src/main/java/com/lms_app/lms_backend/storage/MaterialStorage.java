@@ -0,0 +1,18 @@
+package com.lms_app.lms_backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Where uploaded course material files live. Keys are chosen by the caller and never reused;
+// LocalMaterialStorage is the only implementation so far, an S3-compatible one would plug in here.
+public interface MaterialStorage {
+
+    // Streams the content into the store and returns the number of bytes written. Content beyond
+    // maxBytes is rejected without keeping anything.
+    long store(String key, InputStream content, long maxBytes) throws IOException;
+
+    // Throws NoSuchFileException for unknown keys
+    StoredMaterial open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.lms_app.lms_backend.storage;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+public interface StoredMaterial {
+
+    long size();
+
+    // The file on local disk when there is one, so the servlet container can sendfile it
+    // straight from the page cache; null for remote stores
+    Path localFile();
+
+    // Copies bytes [position, position + count) to the target
+    void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,21 @@
+package com.lms_app.lms_backend.support;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+// Get-or-load for in-memory state built from a database scan. The loader runs outside
+// computeIfAbsent, so a slow scan doesn't hold a map bin (and every other key hashed to it) for
+// its whole duration; when two callers miss at once both load, and the second result is discarded.
+public final class LoadOnce {
+
+    private LoadOnce() {
+    }
+
+    public static <K, V> V get(ConcurrentMap<K, V> map, K key, Function<? super K, ? extends V> loader) {
+        V value = map.get(key);
+        if (value != null) return value;
+        V loaded = loader.apply(key);
+        value = map.putIfAbsent(key, loaded);
+        return value != null ? value : loaded;
+    }
+}
@@ -0,0 +1,63 @@
+package com.lms_app.lms_backend.tenant;
+
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+// Second-level cache keys qualified by the database the current tenant is routed to. Ids are only
+// unique per schema, so an entity cached from a dedicated schema must not answer for the shared one.
+// Shared-schema keys stay unqualified (the default key format).
+public class DatabaseScopedCacheKeysFactory implements CacheKeysFactory {
+
+    private final TenantRoutingDataSource routingDataSource;
+    private final String sharedUrl;
+
+    public DatabaseScopedCacheKeysFactory(TenantRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+        this.sharedUrl = routingDataSource.jdbcUrl(TenantRoutingDataSource.SHARED);
+    }
+
+    private String qualifier(String tenantIdentifier) {
+        if (tenantIdentifier != null) {
+            return tenantIdentifier;
+        }
+        String url = routingDataSource.jdbcUrl(routingDataSource.currentKey());
+        return sharedUrl.equals(url) ? null : url;
+    }
+
+    @Override
+    public Object createCollectionKey(Object id, CollectionPersister persister, SessionFactoryImplementor factory,
+                                      String tenantIdentifier) {
+        return DefaultCacheKeysFactory.staticCreateCollectionKey(id, persister, factory, qualifier(tenantIdentifier));
+    }
+
+    @Override
+    public Object createEntityKey(Object id, EntityPersister persister, SessionFactoryImplementor factory,
+                                  String tenantIdentifier) {
+        return DefaultCacheKeysFactory.staticCreateEntityKey(id, persister, factory, qualifier(tenantIdentifier));
+    }
+
+    @Override
+    public Object createNaturalIdKey(Object naturalIdValues, EntityPersister persister,
+                                     SharedSessionContractImplementor session) {
+        return DefaultCacheKeysFactory.staticCreateNaturalIdKey(naturalIdValues, persister, session);
+    }
+
+    @Override
+    public Object getEntityId(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetEntityId(cacheKey);
+    }
+
+    @Override
+    public Object getCollectionId(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetCollectionId(cacheKey);
+    }
+
+    @Override
+    public Object getNaturalIdValues(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetNaturalIdValues(cacheKey);
+    }
+}
@@ -0,0 +1,25 @@
+package com.lms_app.lms_backend.tenant;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener on Tenant; drops the cached metadata whenever a tenants row changes
+@Component
+public class TenantCacheInvalidator {
+
+    @Lazy
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void tenantChanged(Tenant tenant) {
+        tenantRegistry.invalidate(tenant.getSubdomain());
+    }
+}
@@ -0,0 +1,45 @@
+package com.lms_app.lms_backend.tenant;
+
+// Per-thread tenant for the current request or task. Reads are a plain ThreadLocal get;
+// TenantInterceptor sets it, and TenantConfig's TaskDecorator carries it into async work.
+public final class TenantContextHolder {
+
+    private static final ThreadLocal<TenantMetadata> CURRENT = new ThreadLocal<>();
+
+    private TenantContextHolder() {}
+
+    public static TenantMetadata get() {
+        TenantMetadata tenant = CURRENT.get();
+        return tenant != null ? tenant : TenantMetadata.DEFAULT;
+    }
+
+    public static boolean isSet() {
+        return CURRENT.get() != null;
+    }
+
+    public static void set(TenantMetadata tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Runnable wrap(Runnable task) {
+        TenantMetadata captured = CURRENT.get();
+        if (captured == null) return task;
+        return () -> {
+            TenantMetadata previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.lms_app.lms_backend.tenant;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// lms.tenant.datasource.*: which tenants get their own connection pool, and where it points
+@ConfigurationProperties("lms.tenant.datasource")
+public class TenantDataSourceProperties {
+
+    // Registered tenants on these plans are routed to a dedicated pool
+    private Set<Tenant.Plan> dedicatedPlans = EnumSet.of(Tenant.Plan.ENTERPRISE);
+
+    // JDBC URL for dedicated pools, "{tenant}" is replaced by the subdomain; unset means the
+    // shared schema (a separate pool only)
+    private String urlTemplate;
+
+    private Map<Tenant.Plan, Integer> poolSize = new EnumMap<>(Tenant.Plan.class);
+    private int defaultPoolSize = 10;
+
+    // Dedicated pools unused for this long are closed; idle connections inside a pool are
+    // released sooner, after connectionIdleTimeout
+    private Duration poolIdleTimeout = Duration.ofMinutes(15);
+    private Duration connectionIdleTimeout = Duration.ofMinutes(1);
+    private int maxPools = 200;
+
+    // Per-subdomain overrides; a tenant listed here is dedicated regardless of its plan
+    private Map<String, Dedicated> tenants = new HashMap<>();
+
+    public static class Dedicated {
+        private String url;
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public Integer getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(Integer maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+
+    public Set<Tenant.Plan> getDedicatedPlans() {
+        return dedicatedPlans;
+    }
+
+    public void setDedicatedPlans(Set<Tenant.Plan> dedicatedPlans) {
+        this.dedicatedPlans = dedicatedPlans;
+    }
+
+    public String getUrlTemplate() {
+        return urlTemplate;
+    }
+
+    public void setUrlTemplate(String urlTemplate) {
+        this.urlTemplate = urlTemplate;
+    }
+
+    public Map<Tenant.Plan, Integer> getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(Map<Tenant.Plan, Integer> poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getDefaultPoolSize() {
+        return defaultPoolSize;
+    }
+
+    public void setDefaultPoolSize(int defaultPoolSize) {
+        this.defaultPoolSize = defaultPoolSize;
+    }
+
+    public Duration getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    public void setPoolIdleTimeout(Duration poolIdleTimeout) {
+        this.poolIdleTimeout = poolIdleTimeout;
+    }
+
+    public Duration getConnectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    public void setConnectionIdleTimeout(Duration connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+    }
+
+    public int getMaxPools() {
+        return maxPools;
+    }
+
+    public void setMaxPools(int maxPools) {
+        this.maxPools = maxPools;
+    }
+
+    public Map<String, Dedicated> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Dedicated> tenants) {
+        this.tenants = tenants;
+    }
+}
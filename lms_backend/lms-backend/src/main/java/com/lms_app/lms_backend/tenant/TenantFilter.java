@@ -0,0 +1,34 @@
+package com.lms_app.lms_backend.tenant;
+
+import java.util.function.Supplier;
+
+// Hibernate filter (declared on University, applied to every TenantScoped entity) that adds
+// "tenant_id = ?" to entity queries for the tenant TenantInterceptor resolved. Tenant id 0 stands
+// for TenantMetadata.DEFAULT, which sees every row: the default hosts (super admin only) and work
+// outside a request. Unregistered subdomains never get that far. Filters don't apply to loads by
+// primary key or native SQL, so the tenant-scoped repositories redeclare findById as a query and
+// native queries bind currentTenantId() themselves.
+public final class TenantFilter {
+
+    public static final String NAME = "tenantFilter";
+    public static final String PARAMETER = "tenantId";
+    public static final String CONDITION = "(:" + PARAMETER + " = 0 or tenant_id = :" + PARAMETER + ")";
+
+    public static final long UNPARTITIONED = 0L;
+
+    private TenantFilter() {
+    }
+
+    public static long currentTenantId() {
+        Long id = TenantContextHolder.get().getId();
+        return id != null ? id : UNPARTITIONED;
+    }
+
+    // Evaluated by Hibernate whenever the auto-enabled filter needs its parameter
+    public static class TenantIdResolver implements Supplier<Long> {
+        @Override
+        public Long get() {
+            return currentTenantId();
+        }
+    }
+}
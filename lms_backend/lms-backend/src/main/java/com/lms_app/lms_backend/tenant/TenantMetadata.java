@@ -0,0 +1,103 @@
+package com.lms_app.lms_backend.tenant;
+
+import com.lms_app.lms_backend.entity.Tenant;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Immutable snapshot of a tenants row, safe to share between requests
+public final class TenantMetadata {
+
+    // The default hosts (super admin only, see TenantInterceptor) and background work outside any
+    // tenant: every row and every feature
+    public static final TenantMetadata DEFAULT = new TenantMetadata(null, "default", "Default LMS",
+            Tenant.Status.ACTIVE, null, null, null, null,
+            Collections.unmodifiableSet(EnumSet.allOf(Tenant.Feature.class)), false);
+
+    private final Long id;
+    private final String subdomain;
+    private final String name;
+    private final Tenant.Status status;
+    private final Tenant.Plan plan;
+    private final Long storageLimit;
+    private final Integer maxUniversities;
+    private final Integer maxStudents;
+    private final Set<Tenant.Feature> features;
+    private final boolean registered;
+
+    private TenantMetadata(Long id, String subdomain, String name, Tenant.Status status, Tenant.Plan plan,
+                           Long storageLimit, Integer maxUniversities, Integer maxStudents,
+                           Set<Tenant.Feature> features, boolean registered) {
+        this.id = id;
+        this.subdomain = subdomain;
+        this.name = name;
+        this.status = status;
+        this.plan = plan;
+        this.storageLimit = storageLimit;
+        this.maxUniversities = maxUniversities;
+        this.maxStudents = maxStudents;
+        this.features = features;
+        this.registered = registered;
+    }
+
+    public static TenantMetadata from(Tenant tenant) {
+        Set<Tenant.Feature> features = tenant.getFeatures() == null || tenant.getFeatures().isEmpty()
+                ? EnumSet.noneOf(Tenant.Feature.class)
+                : EnumSet.copyOf(tenant.getFeatures());
+        return new TenantMetadata(tenant.getId(), tenant.getSubdomain(), tenant.getName(), tenant.getStatus(),
+                tenant.getPlan(), tenant.getStorageLimit(), tenant.getMaxUniversities(), tenant.getMaxStudents(),
+                Collections.unmodifiableSet(features), true);
+    }
+
+    // A subdomain with no tenants row, cached so it isn't looked up again. TenantInterceptor turns
+    // these away; should one be used anyway, it has no features.
+    public static TenantMetadata unregistered(String subdomain) {
+        return new TenantMetadata(null, subdomain, subdomain + " LMS", Tenant.Status.ACTIVE, null, null, null, null,
+                Collections.emptySet(), false);
+    }
+
+    public boolean hasFeature(Tenant.Feature feature) {
+        return features.contains(feature);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSubdomain() {
+        return subdomain;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Tenant.Status getStatus() {
+        return status;
+    }
+
+    public Tenant.Plan getPlan() {
+        return plan;
+    }
+
+    public Long getStorageLimit() {
+        return storageLimit;
+    }
+
+    public Integer getMaxUniversities() {
+        return maxUniversities;
+    }
+
+    public Integer getMaxStudents() {
+        return maxStudents;
+    }
+
+    public Set<Tenant.Feature> getFeatures() {
+        return features;
+    }
+
+    public boolean isRegistered() {
+        return registered;
+    }
+}
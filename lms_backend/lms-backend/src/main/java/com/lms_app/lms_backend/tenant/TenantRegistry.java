@@ -0,0 +1,69 @@
+package com.lms_app.lms_backend.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms_app.lms_backend.repository.TenantRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class TenantRegistry {
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Value("${lms.tenant.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${lms.tenant.cache.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, TenantMetadata> cache;
+
+    @PostConstruct
+    void init() {
+        // Unknown subdomains are cached too, so a bad Host header can't force a query per request
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public TenantMetadata resolve(String subdomain) {
+        if (subdomain == null) return TenantMetadata.DEFAULT;
+        TenantMetadata cached = cache.getIfPresent(subdomain);
+        if (cached != null) return cached;
+        // Loaded outside Caffeine's compute: that holds a synchronized map bin for the whole
+        // query, which pins virtual threads. Racing misses just load the same row twice.
+        TenantMetadata loaded = load(subdomain);
+        cache.put(subdomain, loaded);
+        return loaded;
+    }
+
+    // For background work that recorded its tenant's id: the tenant as it is now, wherever its
+    // subdomain has moved, or empty once it has been deleted. Not cached; callers look up once per run.
+    public Optional<TenantMetadata> resolveById(long id) {
+        return tenantRepository.findById(id).map(TenantMetadata::from);
+    }
+
+    public void invalidate(String subdomain) {
+        if (subdomain != null) {
+            cache.invalidate(subdomain);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private TenantMetadata load(String subdomain) {
+        return tenantRepository.findBySubdomain(subdomain)
+                .map(TenantMetadata::from)
+                .orElseGet(() -> TenantMetadata.unregistered(subdomain));
+    }
+}
@@ -0,0 +1,146 @@
+package com.lms_app.lms_backend.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Function;
+
+// The application's DataSource. Connections come from the shared pool unless the current tenant
+// (TenantContextHolder, set by TenantInterceptor) is configured for a dedicated one. Dedicated
+// pools are created on first use and closed once idle, so only active tenants hold connections.
+public class TenantRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    public static final String SHARED = "shared";
+    private static final String DEDICATED_PREFIX = "tenant:";
+
+    private static final Logger log = LoggerFactory.getLogger(TenantRoutingDataSource.class);
+
+    private final HikariDataSource shared;
+    private final TenantDataSourceProperties properties;
+    private final Function<String, TenantMetadata> tenantLookup;
+    private final Cache<String, HikariDataSource> dedicated;
+
+    public TenantRoutingDataSource(HikariDataSource shared, TenantDataSourceProperties properties,
+                                   Function<String, TenantMetadata> tenantLookup) {
+        this.shared = shared;
+        this.properties = properties;
+        this.tenantLookup = tenantLookup;
+        this.dedicated = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPools())
+                .expireAfterAccess(properties.getPoolIdleTimeout())
+                .removalListener((String subdomain, HikariDataSource pool, RemovalCause cause) -> {
+                    if (pool != null) {
+                        log.info("Closing connection pool for tenant {} ({})", subdomain, cause);
+                        pool.close();
+                    }
+                })
+                .build();
+    }
+
+    // SHARED, or a key naming the tenant's dedicated pool; stable for the life of a request
+    public String currentKey() {
+        TenantMetadata tenant = TenantContextHolder.get();
+        if (!tenant.isRegistered()) {
+            return SHARED;
+        }
+        if (properties.getTenants().containsKey(tenant.getSubdomain())
+                || properties.getDedicatedPlans().contains(tenant.getPlan())) {
+            return DEDICATED_PREFIX + tenant.getSubdomain();
+        }
+        return SHARED;
+    }
+
+    public DataSource dataSourceFor(String key) {
+        if (SHARED.equals(key)) {
+            return shared;
+        }
+        String subdomain = key.substring(DEDICATED_PREFIX.length());
+        HikariDataSource pool = dedicated.getIfPresent(subdomain);
+        if (pool != null) return pool;
+        // Created outside Caffeine's compute: the tenant lookup and Hikari's first connection would
+        // otherwise hold a map bin for as long as a slow tenant database takes, stalling every
+        // tenant in that bin and pinning virtual threads. A pool that loses a racing miss is closed.
+        HikariDataSource created = createPool(subdomain);
+        pool = dedicated.asMap().putIfAbsent(subdomain, created);
+        if (pool != null) {
+            created.close();
+            return pool;
+        }
+        return created;
+    }
+
+    // For code that works on one database explicitly (scans, flushes, relays) rather than the current request's
+    public JdbcTemplate jdbcTemplate(String key) {
+        return new JdbcTemplate(dataSourceFor(key));
+    }
+
+    // Dedicated pools without their own URL or template still point at the shared schema
+    public String jdbcUrl(String key) {
+        if (SHARED.equals(key)) {
+            return shared.getJdbcUrl();
+        }
+        String subdomain = key.substring(DEDICATED_PREFIX.length());
+        TenantDataSourceProperties.Dedicated override = properties.getTenants().get(subdomain);
+        return override != null && override.getUrl() != null ? override.getUrl() : urlFor(subdomain);
+    }
+
+    public void evict(String subdomain) {
+        dedicated.invalidate(subdomain);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return dataSourceFor(currentKey()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return dataSourceFor(currentKey()).getConnection(username, password);
+    }
+
+    private HikariDataSource createPool(String subdomain) {
+        TenantDataSourceProperties.Dedicated override = properties.getTenants().get(subdomain);
+        // Inside the tenant's own request the lookup would need a connection from this very pool
+        TenantMetadata current = TenantContextHolder.get();
+        TenantMetadata tenant = subdomain.equals(current.getSubdomain()) ? current : tenantLookup.apply(subdomain);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("lms-" + subdomain);
+        config.setJdbcUrl(jdbcUrl(DEDICATED_PREFIX + subdomain));
+        config.setUsername(override != null && override.getUsername() != null ? override.getUsername() : shared.getUsername());
+        config.setPassword(override != null && override.getPassword() != null ? override.getPassword() : shared.getPassword());
+        config.setMaximumPoolSize(override != null && override.getMaximumPoolSize() != null
+                ? override.getMaximumPoolSize()
+                : properties.getPoolSize().getOrDefault(tenant.getPlan(), properties.getDefaultPoolSize()));
+        // Connections are opened on demand and given back to MySQL when the tenant goes quiet
+        config.setMinimumIdle(0);
+        config.setIdleTimeout(properties.getConnectionIdleTimeout().toMillis());
+        config.setConnectionTimeout(shared.getConnectionTimeout());
+        log.info("Opening connection pool for tenant {} (max {} connections)", subdomain, config.getMaximumPoolSize());
+        return new HikariDataSource(config);
+    }
+
+    private String urlFor(String subdomain) {
+        String template = properties.getUrlTemplate();
+        return template != null ? template.replace("{tenant}", subdomain) : shared.getJdbcUrl();
+    }
+
+    @Override
+    public void destroy() {
+        // Removal listeners run asynchronously, too late during shutdown
+        dedicated.asMap().values().forEach(HikariDataSource::close);
+        dedicated.invalidateAll();
+        shared.close();
+    }
+}
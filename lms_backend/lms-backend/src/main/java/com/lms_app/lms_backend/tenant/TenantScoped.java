@@ -0,0 +1,9 @@
+package com.lms_app.lms_backend.tenant;
+
+// Entities partitioned by the tenant_id column; see TenantFilter and TenantScopedListener
+public interface TenantScoped {
+
+    Long getTenantId();
+
+    void setTenantId(Long tenantId);
+}
@@ -0,0 +1,17 @@
+package com.lms_app.lms_backend.tenant;
+
+import jakarta.persistence.PrePersist;
+
+// JPA entity listener that stamps new rows with the current request's tenant
+public class TenantScopedListener {
+
+    @PrePersist
+    public void assignTenant(Object entity) {
+        if (entity instanceof TenantScoped scoped && scoped.getTenantId() == null) {
+            long tenantId = TenantFilter.currentTenantId();
+            if (tenantId != TenantFilter.UNPARTITIONED) {
+                scoped.setTenantId(tenantId);
+            }
+        }
+    }
+}
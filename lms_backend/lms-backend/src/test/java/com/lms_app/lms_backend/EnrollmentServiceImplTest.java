@@ -0,0 +1,118 @@
+package com.lms_app.lms_backend;
+
+import com.lms_app.lms_backend.counter.DashboardAggregates;
+import com.lms_app.lms_backend.dto.EnrollmentDTO;
+import com.lms_app.lms_backend.entity.Course;
+import com.lms_app.lms_backend.entity.Enrollment;
+import com.lms_app.lms_backend.entity.Students;
+import com.lms_app.lms_backend.exception.ConflictException;
+import com.lms_app.lms_backend.repository.CourseRepository;
+import com.lms_app.lms_backend.repository.CourseSeatRepository;
+import com.lms_app.lms_backend.repository.EnrollmentRepository;
+import com.lms_app.lms_backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EnrollmentServiceImplTest {
+
+    private static final long COURSE_ID = 9L;
+
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final CourseSeatRepository courseSeatRepository = mock(CourseSeatRepository.class);
+    private final DashboardAggregates dashboardAggregates = mock(DashboardAggregates.class);
+    private EnrollmentServiceImpl service;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        service = new EnrollmentServiceImpl();
+        ReflectionTestUtils.setField(service, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(service, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(service, "courseSeatRepository", courseSeatRepository);
+        ReflectionTestUtils.setField(service, "dashboardAggregates", dashboardAggregates);
+
+        course = new Course();
+        course.setId(COURSE_ID);
+        when(courseRepository.existsById(COURSE_ID)).thenReturn(true);
+        when(courseRepository.getReferenceById(COURSE_ID)).thenReturn(course);
+        when(studentRepository.existsById(anyLong())).thenReturn(true);
+        when(studentRepository.getReferenceById(anyLong())).thenAnswer(invocation -> new Students());
+        when(enrollmentRepository.findDtoById(anyLong())).thenAnswer(invocation -> Optional.of(new EnrollmentDTO()));
+    }
+
+    @Test
+    void completingACourseGivesItsSeatBack() {
+        Enrollment enrollment = enrollment(1L, Enrollment.Status.APPROVED);
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(enrollment));
+
+        service.updateProgress(1L, progress(100));
+
+        assertThat(enrollment.getStatus()).isEqualTo(Enrollment.Status.COMPLETED);
+        assertThat(Enrollment.Status.SEATED).doesNotContain(Enrollment.Status.COMPLETED);
+        verify(courseSeatRepository).releaseSeat(COURSE_ID);
+    }
+
+    @Test
+    void progressShortOfCompletionKeepsTheSeat() {
+        Enrollment enrollment = enrollment(1L, Enrollment.Status.APPROVED);
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(enrollment));
+
+        service.updateProgress(1L, progress(60));
+
+        assertThat(enrollment.getStatus()).isEqualTo(Enrollment.Status.APPROVED);
+        verify(courseSeatRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void completedEnrollmentTakesNoMoreProgress() {
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(enrollment(1L, Enrollment.Status.COMPLETED)));
+
+        assertThatThrownBy(() -> service.updateProgress(1L, progress(100))).isInstanceOf(ConflictException.class);
+        verify(courseSeatRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void fullCourseIsAConflict() {
+        when(enrollmentRepository.saveAndFlush(any(Enrollment.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
+        when(courseSeatRepository.claimSeat(COURSE_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.enroll(1L, COURSE_ID))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("full");
+    }
+
+    private Enrollment enrollment(long id, Enrollment.Status status) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(id);
+        enrollment.setCourse(course);
+        enrollment.setStudent(new Students());
+        enrollment.setStatus(status);
+        return enrollment;
+    }
+
+    private static Enrollment withId(Enrollment enrollment, long id) {
+        enrollment.setId(id);
+        return enrollment;
+    }
+
+    private static EnrollmentDTO progress(int progress) {
+        EnrollmentDTO dto = new EnrollmentDTO();
+        dto.setProgress(progress);
+        return dto;
+    }
+}
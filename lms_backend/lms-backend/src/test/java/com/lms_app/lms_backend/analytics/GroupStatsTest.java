@@ -0,0 +1,151 @@
+package com.lms_app.lms_backend.analytics;
+
+import com.lms_app.lms_backend.entity.Enrollment;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupStatsTest {
+
+    // Grade codes 0 and 1 are real grades, 2 stands for no grade
+    private static final int GRADES = 3;
+    private static final int NO_GRADE = 2;
+
+    private static final int ENROLLED = Enrollment.Status.ENROLLED.ordinal();
+    private static final int COMPLETED = Enrollment.Status.COMPLETED.ordinal();
+    private static final int REJECTED = Enrollment.Status.REJECTED.ordinal();
+
+    @Test
+    void emptyGroupHasNoTotalsOrPercentiles() {
+        GroupStats stats = new GroupStats(GRADES);
+
+        assertThat(stats.total()).isZero();
+        assertThat(stats.progressCount).isZero();
+        assertThat(stats.progressHistogram).containsOnly(0L);
+        assertThat(stats.scorePercentiles(25, 50, 90)).containsExactly(Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    @Test
+    void singleRowIsEveryPercentile() {
+        EnrollmentSnapshot snapshot = snapshot(1);
+        row(snapshot, 0, ENROLLED, 45, 1, 72.5f);
+        GroupStats stats = new GroupStats(GRADES);
+
+        stats.add(snapshot, 0, NO_GRADE);
+
+        assertThat(stats.total()).isEqualTo(1);
+        assertThat(stats.byStatus[ENROLLED]).isEqualTo(1);
+        assertThat(stats.progressHistogram[4]).isEqualTo(1);
+        assertThat(stats.progressSum).isEqualTo(45);
+        assertThat(stats.progressCount).isEqualTo(1);
+        assertThat(stats.grades).containsExactly(0, 1, 0);
+        assertThat(stats.scorePercentiles(0, 25, 50, 100)).containsExactly(72.5, 72.5, 72.5, 72.5);
+    }
+
+    @Test
+    void missingValuesAreNotCounted() {
+        EnrollmentSnapshot snapshot = snapshot(2);
+        row(snapshot, 0, ENROLLED, EnrollmentSnapshot.NO_PROGRESS, NO_GRADE, Float.NaN);
+        // Progress of a finished enrollment says nothing about how far students get
+        row(snapshot, 1, COMPLETED, 100, 0, Float.NaN);
+        GroupStats stats = new GroupStats(GRADES);
+
+        stats.add(snapshot, 0, NO_GRADE);
+        stats.add(snapshot, 1, NO_GRADE);
+
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.progressCount).isZero();
+        assertThat(stats.grades).containsExactly(1, 0, 0);
+        assertThat(stats.scoreCount).isZero();
+    }
+
+    @Test
+    void fullProgressHasItsOwnBucket() {
+        EnrollmentSnapshot snapshot = snapshot(2);
+        row(snapshot, 0, ENROLLED, 100, NO_GRADE, Float.NaN);
+        row(snapshot, 1, ENROLLED, 99, NO_GRADE, Float.NaN);
+        GroupStats stats = new GroupStats(GRADES);
+
+        stats.add(snapshot, 0, NO_GRADE);
+        stats.add(snapshot, 1, NO_GRADE);
+
+        assertThat(stats.progressHistogram[GroupStats.PROGRESS_BUCKETS - 1]).isEqualTo(1);
+        assertThat(stats.progressHistogram[9]).isEqualTo(1);
+    }
+
+    @Test
+    void percentilesAreNearestRank() {
+        List<Float> scores = List.of(7f, 3f, 10f, 1f, 5f, 9f, 2f, 8f, 4f, 6f);
+        EnrollmentSnapshot snapshot = snapshot(scores.size());
+        GroupStats stats = new GroupStats(GRADES);
+        for (int i = 0; i < scores.size(); i++) {
+            row(snapshot, i, COMPLETED, 100, NO_GRADE, scores.get(i));
+            stats.add(snapshot, i, NO_GRADE);
+        }
+
+        assertThat(stats.scorePercentiles(25, 50, 90, 91, 100)).containsExactly(3.0, 5.0, 9.0, 10.0, 10.0);
+    }
+
+    @Test
+    void mergedChunksMatchOneScan() {
+        int rows = 40;
+        EnrollmentSnapshot snapshot = snapshot(rows);
+        for (int i = 0; i < rows; i++) {
+            int status = i % 5 == 0 ? REJECTED : i % 2 == 0 ? ENROLLED : COMPLETED;
+            row(snapshot, i, status, (i * 7) % 101, i % 3, i % 4 == 0 ? Float.NaN : i * 1.5f);
+        }
+        GroupStats whole = new GroupStats(GRADES);
+        for (int i = 0; i < rows; i++) {
+            whole.add(snapshot, i, NO_GRADE);
+        }
+
+        // Uneven chunks, both over the initial score capacity, and one that saw no rows of the group
+        GroupStats first = scan(snapshot, 0, 25);
+        first.merge(new GroupStats(GRADES));
+        first.merge(scan(snapshot, 25, rows));
+        GroupStats intoEmpty = new GroupStats(GRADES);
+        intoEmpty.merge(first);
+
+        for (GroupStats merged : List.of(first, intoEmpty)) {
+            assertThat(merged.byStatus).containsExactly(whole.byStatus);
+            assertThat(merged.progressHistogram).containsExactly(whole.progressHistogram);
+            assertThat(merged.grades).containsExactly(whole.grades);
+            assertThat(merged.progressSum).isEqualTo(whole.progressSum);
+            assertThat(merged.progressCount).isEqualTo(whole.progressCount);
+            assertThat(merged.scoreCount).isEqualTo(whole.scoreCount);
+            assertThat(merged.scorePercentiles(25, 50, 75, 90)).containsExactly(whole.scorePercentiles(25, 50, 75, 90));
+        }
+    }
+
+    private static GroupStats scan(EnrollmentSnapshot snapshot, int from, int to) {
+        GroupStats stats = new GroupStats(GRADES);
+        for (int row = from; row < to; row++) {
+            stats.add(snapshot, row, NO_GRADE);
+        }
+        return stats;
+    }
+
+    // Without any tenants the load never touches the database
+    private static EnrollmentSnapshot snapshot(int rows) {
+        EnrollmentSnapshot snapshot = EnrollmentSnapshot.load(null, List.of(), rows);
+        snapshot.rows = rows;
+        snapshot.status = new int[rows];
+        snapshot.progress = new byte[rows];
+        snapshot.grade = new int[rows];
+        snapshot.finalScore = new float[rows];
+        Arrays.fill(snapshot.progress, EnrollmentSnapshot.NO_PROGRESS);
+        Arrays.fill(snapshot.grade, NO_GRADE);
+        Arrays.fill(snapshot.finalScore, Float.NaN);
+        return snapshot;
+    }
+
+    private static void row(EnrollmentSnapshot snapshot, int row, int status, int progress, int grade, float score) {
+        snapshot.status[row] = status;
+        snapshot.progress[row] = (byte) progress;
+        snapshot.grade[row] = grade;
+        snapshot.finalScore[row] = score;
+    }
+}
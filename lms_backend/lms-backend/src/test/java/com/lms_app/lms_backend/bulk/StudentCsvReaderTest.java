@@ -0,0 +1,122 @@
+package com.lms_app.lms_backend.bulk;
+
+import com.lms_app.lms_backend.dto.StudentDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentCsvReaderTest {
+
+    private static final String HEADER = "studentId,fullName,email,universityId\n";
+
+    @Test
+    void readsOneRowPerRecord() throws IOException {
+        List<StudentBulkImporter.Row> rows = read(HEADER
+                + "S1,Asha Rao,asha@iit.edu,7\n"
+                + "S2,Ben Ng,ben@iit.edu,7\n");
+
+        assertThat(rows).hasSize(2);
+        StudentDTO first = rows.get(0).getStudent();
+        assertThat(rows.get(0).getNumber()).isEqualTo(1);
+        assertThat(first.getStudentId()).isEqualTo("S1");
+        assertThat(first.getFullName()).isEqualTo("Asha Rao");
+        assertThat(first.getEmail()).isEqualTo("asha@iit.edu");
+        assertThat(first.getUniversityId()).isEqualTo(7L);
+        assertThat(rows.get(0).getParseError()).isNull();
+        assertThat(rows.get(1).getNumber()).isEqualTo(2);
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<StudentBulkImporter.Row> rows = read(HEADER
+                + "S1,\"Rao, Asha\",asha@iit.edu,7\n"
+                + "S2,\"Ben \"\"Benny\"\" Ng\",ben@iit.edu,7\n"
+                + "S3,\"Line one\nline two\",c@iit.edu,7\n"
+                + "S4,Dee,d@iit.edu,7\n");
+
+        assertThat(rows).extracting(row -> row.getStudent().getFullName())
+                .containsExactly("Rao, Asha", "Ben \"Benny\" Ng", "Line one\nline two", "Dee");
+        assertThat(rows.get(3).getNumber()).isEqualTo(4);
+    }
+
+    @Test
+    void headerMayStartWithAByteOrderMark() throws IOException {
+        List<StudentBulkImporter.Row> rows = read("\uFEFF" + HEADER + "S1,Asha,a@iit.edu,7\n");
+
+        assertThat(rows.get(0).getStudent().getStudentId()).isEqualTo("S1");
+    }
+
+    @Test
+    void headerNamesIgnoreCaseUnderscoresAndSpaces() throws IOException {
+        List<StudentBulkImporter.Row> rows = read("UNIVERSITY_ID, Full_Name ,STUDENT_ID,phone_number\n"
+                + "7,Asha,S1,555-0100\n");
+
+        StudentDTO student = rows.get(0).getStudent();
+        assertThat(student.getUniversityId()).isEqualTo(7L);
+        assertThat(student.getFullName()).isEqualTo("Asha");
+        assertThat(student.getStudentId()).isEqualTo("S1");
+        assertThat(student.getPhoneNumber()).isEqualTo("555-0100");
+    }
+
+    @Test
+    void missingRequiredColumnIsRejected() {
+        assertThatThrownBy(() -> new StudentCsvReader(new StringReader("studentId,email,universityId\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header is missing column fullname");
+    }
+
+    @Test
+    void emptyFileIsRejected() {
+        assertThatThrownBy(() -> new StudentCsvReader(new StringReader("\n\r\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV file is empty");
+    }
+
+    @Test
+    void blankLinesAndCarriageReturnsAreSkipped() throws IOException {
+        List<StudentBulkImporter.Row> rows = read("\r\n" + HEADER.replace("\n", "\r\n")
+                + "S1,Asha,a@iit.edu,7\r\n"
+                + "\r\n"
+                + "S2,Ben,b@iit.edu,8");
+
+        assertThat(rows).extracting(StudentBulkImporter.Row::getNumber).containsExactly(1, 2);
+        assertThat(rows.get(0).getStudent().getUniversityId()).isEqualTo(7L);
+        assertThat(rows.get(1).getStudent().getUniversityId()).isEqualTo(8L);
+    }
+
+    @Test
+    void nonNumericUniversityIdIsAParseErrorOfItsRow() throws IOException {
+        List<StudentBulkImporter.Row> rows = read(HEADER + "S1,Asha,a@iit.edu,IIT\nS2,Ben,b@iit.edu,7\n");
+
+        assertThat(rows.get(0).getParseError()).isEqualTo("universityId is not a number: IIT");
+        assertThat(rows.get(0).getStudent().getUniversityId()).isNull();
+        assertThat(rows.get(1).getParseError()).isNull();
+    }
+
+    @Test
+    void fieldsAreTrimmedAndEmptyOrMissingOnesAreNull() throws IOException {
+        List<StudentBulkImporter.Row> rows = read(HEADER + "  S1 ,Asha,   ,7\nS2,Ben\n");
+
+        StudentDTO first = rows.get(0).getStudent();
+        assertThat(first.getStudentId()).isEqualTo("S1");
+        assertThat(first.getEmail()).isNull();
+        assertThat(first.getMajor()).isNull();
+        StudentDTO second = rows.get(1).getStudent();
+        assertThat(second.getEmail()).isNull();
+        assertThat(second.getUniversityId()).isNull();
+        assertThat(rows.get(1).getParseError()).isNull();
+    }
+
+    private static List<StudentBulkImporter.Row> read(String csv) throws IOException {
+        StudentCsvReader reader = new StudentCsvReader(new StringReader(csv));
+        List<StudentBulkImporter.Row> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,178 @@
+package com.lms_app.lms_backend.controller;
+
+import com.lms_app.lms_backend.storage.StoredMaterial;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangeDownloadsTest {
+
+    private static final byte[] FILE = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void noRangeSendsTheWholeFile() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request(null), response, new InMemory(null));
+
+        assertThat(start).isZero();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request("bytes=2-5"), response, new InMemory(null));
+
+        assertThat(start).isEqualTo(2);
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEndOfTheFile() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RangeDownloads.write(request("bytes=7-100"), response, new InMemory(null));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void suffixRangeIsTheLastBytes() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request("bytes=-3"), response, new InMemory(null));
+
+        assertThat(start).isEqualTo(7);
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void multipleRangesGetTheWholeFile() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request("bytes=0-1,5-6"), response, new InMemory(null));
+
+        assertThat(start).isZero();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void rangeBeyondTheEndIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request("bytes=10-20"), response, new InMemory(null));
+
+        assertThat(start).isEqualTo(-1);
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void malformedRangeIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request("items=0-5"), response, new InMemory(null));
+
+        assertThat(start).isEqualTo(-1);
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = request("bytes=2-5");
+        request.setMethod("HEAD");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = RangeDownloads.write(request, response, new InMemory(null));
+
+        assertThat(start).isEqualTo(-1);
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void localFileIsLeftToTomcatsSendfile() throws IOException {
+        MockHttpServletRequest request = request("bytes=2-5");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Path file = Path.of("data", "materials", "notes.pdf");
+
+        long start = RangeDownloads.write(request, response, new InMemory(file));
+
+        assertThat(start).isEqualTo(2);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(6L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void localFileIsCopiedWithoutSendfileSupport() throws IOException {
+        MockHttpServletRequest request = request("bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RangeDownloads.write(request, response, new InMemory(Path.of("data", "materials", "notes.pdf")));
+
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/materials/1/content");
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        return request;
+    }
+
+    private static final class InMemory implements StoredMaterial {
+        private final Path localFile;
+
+        private InMemory(Path localFile) {
+            this.localFile = localFile;
+        }
+
+        @Override
+        public long size() {
+            return FILE.length;
+        }
+
+        @Override
+        public Path localFile() {
+            return localFile;
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            target.write(ByteBuffer.wrap(FILE, (int) position, (int) count));
+        }
+    }
+}
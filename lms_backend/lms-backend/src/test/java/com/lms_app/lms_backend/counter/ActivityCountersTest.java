@@ -0,0 +1,85 @@
+package com.lms_app.lms_backend.counter;
+
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActivityCountersTest {
+
+    private ActivityCounters counters;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        TenantRoutingDataSource routingDataSource = mock(TenantRoutingDataSource.class);
+        when(routingDataSource.currentKey()).thenReturn(TenantRoutingDataSource.SHARED);
+        when(routingDataSource.jdbcTemplate(anyString())).thenReturn(jdbc);
+
+        counters = new ActivityCounters();
+        ReflectionTestUtils.setField(counters, "routingDataSource", routingDataSource);
+        ReflectionTestUtils.setField(counters, "meterRegistry", new SimpleMeterRegistry());
+        counters.registerMetrics();
+    }
+
+    @Test
+    void flushedDownloadsDontKeepAnAdder() {
+        counters.materialDownloaded(1L);
+        counters.materialDownloaded(1L);
+        counters.materialDownloaded(2L);
+
+        counters.flush();
+
+        verify(jdbc).update(anyString(), any(Object[].class));
+        assertThat(pending()).isEmpty();
+        assertThat(counters.pendingDownloads(1L)).isZero();
+    }
+
+    @Test
+    void failedFlushKeepsTheCountsForTheNextOne() {
+        when(jdbc.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(2);
+        counters.materialDownloaded(1L);
+        counters.materialDownloaded(1L);
+
+        counters.flush();
+
+        assertThat(counters.pendingDownloads(1L)).isEqualTo(2);
+
+        counters.flush();
+
+        verify(jdbc, times(2)).update(anyString(), any(Object[].class));
+        assertThat(pending()).isEmpty();
+    }
+
+    @Test
+    void downloadsAfterAFlushAreCountedAgain() {
+        counters.materialDownloaded(1L);
+        counters.flush();
+
+        counters.materialDownloaded(1L);
+
+        assertThat(counters.pendingDownloads(1L)).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> pending() {
+        Map<String, Map<Long, ?>> downloads = (Map<String, Map<Long, ?>>) ReflectionTestUtils.getField(counters, "downloads");
+        return downloads.get(TenantRoutingDataSource.SHARED);
+    }
+}
@@ -0,0 +1,197 @@
+package com.lms_app.lms_backend.counter;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.exception.QuotaExceededException;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import com.lms_app.lms_backend.tenant.TenantRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StorageQuotasTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final long LIMIT = 10 * MB;
+
+    private StorageQuotas quotas;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        quotas = new StorageQuotas();
+        ReflectionTestUtils.setField(quotas, "routingDataSource", routingDataSource(0));
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        tenant.setSubdomain("iit");
+        tenant.setStorageLimit(LIMIT);
+        TenantContextHolder.set(TenantMetadata.from(tenant));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void reservationsChargeInChunksUpToTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            quotas.open().ensure(10);
+        }
+        StorageQuotas.Reservation full = quotas.open();
+
+        assertThatThrownBy(() -> full.ensure(1)).isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    void lastChunkIsOnlyWhatTheFileStillNeeds() {
+        StorageQuotas.Reservation other = quotas.open();
+        other.ensure(LIMIT - MB - 100);
+
+        StorageQuotas.Reservation reservation = quotas.open();
+        reservation.ensure(MB + 50);
+        reservation.ensure(MB + 100);
+
+        assertThat(fits(1)).isFalse();
+        assertThatThrownBy(() -> reservation.ensure(MB + 101)).isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    void releaseGivesTheReservationBack() {
+        StorageQuotas.Reservation reservation = quotas.open();
+        reservation.ensure(LIMIT);
+        assertThat(fits(1)).isFalse();
+
+        reservation.release();
+
+        assertThat(fits(LIMIT)).isTrue();
+    }
+
+    @Test
+    void commitKeepsTheStoredSizeAndDropsTheRestOfTheReservation() {
+        StorageQuotas.Reservation reservation = quotas.open();
+        reservation.ensure(3 * MB);
+
+        reservation.commit(2 * MB, 0);
+
+        assertThat(fits(8 * MB)).isTrue();
+        assertThat(fits(8 * MB + 1)).isFalse();
+    }
+
+    @Test
+    void commitOfAReplacementFreesTheOldFile() {
+        StorageQuotas.Reservation first = quotas.open();
+        first.ensure(6 * MB);
+        first.commit(6 * MB, 0);
+
+        StorageQuotas.Reservation replacement = quotas.open();
+        replacement.ensure(3 * MB);
+        replacement.commit(3 * MB, 6 * MB);
+
+        assertThat(fits(7 * MB)).isTrue();
+        assertThat(fits(7 * MB + 1)).isFalse();
+    }
+
+    @Test
+    void closedReservationIgnoresFurtherCommitsAndReleases() {
+        StorageQuotas.Reservation reservation = quotas.open();
+        reservation.ensure(4 * MB);
+        reservation.commit(4 * MB, 0);
+
+        reservation.release();
+        reservation.commit(4 * MB, 0);
+
+        assertThat(fits(6 * MB)).isTrue();
+        assertThat(fits(6 * MB + 1)).isFalse();
+    }
+
+    @Test
+    void releasedFileFreesItsBytes() {
+        StorageQuotas.Reservation reservation = quotas.open();
+        reservation.ensure(LIMIT);
+        reservation.commit(LIMIT, 0);
+
+        quotas.released(1L, 4 * MB);
+
+        assertThat(fits(4 * MB)).isTrue();
+        assertThat(fits(4 * MB + 1)).isFalse();
+    }
+
+    @Test
+    void existingMaterialsCountFromTheStart() throws Exception {
+        ReflectionTestUtils.setField(quotas, "routingDataSource", routingDataSource(9 * MB));
+
+        assertThat(fits(MB)).isTrue();
+        assertThat(fits(MB + 1)).isFalse();
+    }
+
+    @Test
+    void meteredStreamFailsOnceTheUploadGoesOverTheLimit() {
+        StorageQuotas.Reservation other = quotas.open();
+        other.ensure(LIMIT - 100);
+
+        InputStream upload = quotas.open().meter(new ByteArrayInputStream(new byte[200]));
+
+        assertThatThrownBy(() -> upload.readAllBytes()).isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    void defaultTenantIsNotLimited() {
+        TenantContextHolder.set(TenantMetadata.DEFAULT);
+        StorageQuotas.Reservation reservation = quotas.open();
+
+        assertThatCode(() -> reservation.ensure(100 * LIMIT)).doesNotThrowAnyException();
+        reservation.commit(100 * LIMIT, 0);
+    }
+
+    // Reserves and gives back bytes on a fresh reservation
+    private boolean fits(long bytes) {
+        StorageQuotas.Reservation probe = quotas.open();
+        try {
+            probe.ensure(bytes);
+            return true;
+        } catch (QuotaExceededException e) {
+            return false;
+        } finally {
+            probe.release();
+        }
+    }
+
+    // The one query StorageQuotas runs here is the initial SUM(file_size) of the tenant's materials
+    private static TenantRoutingDataSource routingDataSource(long stored) throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getLong(anyInt())).thenReturn(stored);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        TenantRoutingDataSource routingDataSource = mock(TenantRoutingDataSource.class);
+        when(routingDataSource.currentKey()).thenReturn(TenantRoutingDataSource.SHARED);
+        when(routingDataSource.jdbcTemplate(anyString())).thenAnswer(invocation -> new JdbcTemplate(dataSource));
+        return routingDataSource;
+    }
+}
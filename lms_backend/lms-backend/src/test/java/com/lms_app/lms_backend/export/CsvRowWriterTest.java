@@ -0,0 +1,59 @@
+package com.lms_app.lms_backend.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTest {
+
+    @Test
+    void startsWithAByteOrderMarkAndEndsRowsWithCrLf() throws IOException {
+        String csv = write(new Object[] { "id", "name" }, new Object[] { 1, "Asha" });
+
+        assertThat(csv).isEqualTo("\uFEFFid,name\r\n1,Asha\r\n");
+    }
+
+    @Test
+    void nullCellsAreLeftEmpty() throws IOException {
+        assertThat(write(new Object[] { null, "b", null })).isEqualTo("\uFEFF,b,\r\n");
+    }
+
+    @Test
+    void textThatLooksLikeAFormulaIsPrefixed() throws IOException {
+        String csv = write(new Object[] { "=SUM(A1:A9)", "+1", "-1", "@cmd", "\tx", "a=b" });
+
+        assertThat(csv).isEqualTo("\uFEFF'=SUM(A1:A9),'+1,'-1,'@cmd,'\tx,a=b\r\n");
+    }
+
+    @Test
+    void numbersAreNotPrefixed() throws IOException {
+        assertThat(write(new Object[] { -5, -2.5 })).isEqualTo("\uFEFF-5,-2.5\r\n");
+    }
+
+    @Test
+    void commasQuotesAndLineBreaksAreQuoted() throws IOException {
+        String csv = write(new Object[] { "Rao, Asha", "Ben \"Benny\" Ng", "one\ntwo", "plain" });
+
+        assertThat(csv).isEqualTo("\uFEFF\"Rao, Asha\",\"Ben \"\"Benny\"\" Ng\",\"one\ntwo\",plain\r\n");
+    }
+
+    @Test
+    void prefixedTextIsStillQuoted() throws IOException {
+        assertThat(write(new Object[] { "\rx", "=\"a\",b" }))
+                .isEqualTo("\uFEFF\"'\rx\",\"'=\"\"a\"\",b\"\r\n");
+    }
+
+    private static String write(Object[]... rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CsvRowWriter writer = new CsvRowWriter(bytes);
+        for (Object[] row : rows) {
+            writer.row(row);
+        }
+        writer.close();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,107 @@
+package com.lms_app.lms_backend.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxRowWriterTest {
+
+    private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    @Test
+    void writesAWorkbookWithOneSheet() throws IOException {
+        Map<String, String> parts = write("Students", new Object[] { "id", "name" }, new Object[] { 1, "Asha" });
+
+        assertThat(parts).containsOnlyKeys("xl/worksheets/sheet1.xml", "[Content_Types].xml", "_rels/.rels",
+                "xl/workbook.xml", "xl/_rels/workbook.xml.rels");
+        assertThat(parts.get("xl/worksheets/sheet1.xml"))
+                .contains("<row r=\"1\"><c t=\"inlineStr\"><is><t xml:space=\"preserve\">id</t></is></c>")
+                .contains("<row r=\"2\"><c><v>1</v></c><c t=\"inlineStr\"><is><t xml:space=\"preserve\">Asha</t></is></c></row>")
+                .endsWith("</sheetData></worksheet>");
+        assertThat(parts.get("xl/workbook.xml")).contains("<sheet name=\"Students\" sheetId=\"1\" r:id=\"rId1\"/>");
+    }
+
+    @Test
+    void emptyExportStillHasASheet() throws IOException {
+        Map<String, String> parts = write("Students");
+
+        assertThat(parts.get("xl/worksheets/sheet1.xml")).doesNotContain("<row").endsWith("<sheetData></sheetData></worksheet>");
+    }
+
+    @Test
+    void nullsAreEmptyCellsAndNonFiniteNumbersAreText() throws IOException {
+        String sheet = write("Sheet", new Object[] { null, Double.NaN, 2.5 }).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).contains("<row r=\"1\"><c/><c t=\"inlineStr\"><is><t xml:space=\"preserve\">NaN</t></is></c>"
+                + "<c><v>2.5</v></c></row>");
+    }
+
+    @Test
+    void markupIsEscaped() throws IOException {
+        String sheet = write("Sheet", new Object[] { "<b>\"R&D\"</b>" }).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).contains("<t xml:space=\"preserve\">&lt;b&gt;&quot;R&amp;D&quot;&lt;/b&gt;</t>");
+    }
+
+    @Test
+    void charactersXmlCannotCarryAreDropped() throws IOException {
+        String sheet = write("Sheet", new Object[] { "a\u0000b\u0001c\u001Fd\te\nf\rg" }).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).contains("<t xml:space=\"preserve\">abcd\te\nf\rg</t>");
+    }
+
+    @Test
+    void fullSheetContinuesOnTheNextWithTheHeaderRepeated() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        XlsxRowWriter writer = new XlsxRowWriter(bytes, "Students");
+        writer.row("id");
+        // Fills the first sheet exactly, header included
+        for (int i = 1; i < MAX_ROWS_PER_SHEET; i++) {
+            writer.row((Object) null);
+        }
+        writer.row(42);
+        writer.close();
+        Map<String, String> parts = parts(bytes.toByteArray());
+
+        String first = parts.get("xl/worksheets/sheet1.xml");
+        assertThat(first).contains("<row r=\"" + MAX_ROWS_PER_SHEET + "\"><c/></row></sheetData>")
+                .doesNotContain("<row r=\"" + (MAX_ROWS_PER_SHEET + 1) + "\">");
+        assertThat(parts.get("xl/worksheets/sheet2.xml")).contains(
+                "<sheetData><row r=\"1\"><c t=\"inlineStr\"><is><t xml:space=\"preserve\">id</t></is></c></row>"
+                        + "<row r=\"2\"><c><v>42</v></c></row></sheetData>");
+        assertThat(parts.get("xl/workbook.xml"))
+                .contains("<sheet name=\"Students 1\" sheetId=\"1\" r:id=\"rId1\"/>")
+                .contains("<sheet name=\"Students 2\" sheetId=\"2\" r:id=\"rId2\"/>");
+        assertThat(parts.get("[Content_Types].xml")).contains("/xl/worksheets/sheet2.xml");
+        assertThat(parts.get("xl/_rels/workbook.xml.rels")).contains("Target=\"worksheets/sheet2.xml\"");
+    }
+
+    private static Map<String, String> write(String sheetName, Object[]... rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        XlsxRowWriter writer = new XlsxRowWriter(bytes, sheetName);
+        for (Object[] row : rows) {
+            writer.row(row);
+        }
+        writer.close();
+        return parts(bytes.toByteArray());
+    }
+
+    private static Map<String, String> parts(byte[] xlsx) throws IOException {
+        Map<String, String> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}
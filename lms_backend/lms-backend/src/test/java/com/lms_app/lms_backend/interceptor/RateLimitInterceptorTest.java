@@ -0,0 +1,106 @@
+package com.lms_app.lms_backend.interceptor;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new RateLimitInterceptor();
+        ReflectionTestUtils.setField(interceptor, "properties", properties);
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        tenant.setSubdomain("iit");
+        TenantContextHolder.set(TenantMetadata.from(tenant));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void requestTheTenantTurnsAwayDoesNotCostTheUser() throws Exception {
+        // The tenant earns a token every 50ms; the user has one token and practically never earns another
+        limits(20, 1, 0.001, 1);
+
+        assertThat(allowed("admin-1")).isTrue();
+        assertThat(allowed("admin-2")).isFalse();
+        Thread.sleep(100);
+
+        assertThat(allowed("admin-2")).isTrue();
+    }
+
+    @Test
+    void racingFirstRequestsShareOneTenantBucket() throws Exception {
+        int burst = 20;
+        limits(0.001, burst, 1000, 1000);
+
+        TenantMetadata tenant = TenantContextHolder.get();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                String userId = "admin-" + i;
+                results.add(executor.submit(() -> {
+                    TenantContextHolder.set(tenant);
+                    try {
+                        start.await();
+                        return allowed(userId);
+                    } finally {
+                        TenantContextHolder.clear();
+                    }
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) allowed++;
+            }
+
+            assertThat(allowed).isEqualTo(burst);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void limits(double tenantRate, int tenantBurst, double userRate, int userBurst) {
+        RateLimitProperties.Limits limits = new RateLimitProperties.Limits();
+        limits.setTenantRate(tenantRate);
+        limits.setTenantBurst(tenantBurst);
+        limits.setUserRate(userRate);
+        limits.setUserBurst(userBurst);
+        properties.setDefaultLimits(limits);
+    }
+
+    private boolean allowed(String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE,
+                new AuthPrincipal(Map.of("id", userId, "role", "university_admin"), 1L, Long.MAX_VALUE));
+        return interceptor.preHandle(request, new MockHttpServletResponse(), null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.lms_app.lms_backend.interceptor;
+
+import com.lms_app.lms_backend.counter.ActivityCounters;
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.security.AuthPrincipal;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantFilter;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import com.lms_app.lms_backend.tenant.TenantRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantInterceptorTest {
+
+    private static final long IIT = 1L;
+
+    private final TenantRegistry tenantRegistry = mock(TenantRegistry.class);
+    private final ActivityCounters activityCounters = mock(ActivityCounters.class);
+    private TenantInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        Tenant iit = new Tenant();
+        iit.setId(IIT);
+        iit.setSubdomain("iit");
+        when(tenantRegistry.resolve("iit")).thenReturn(TenantMetadata.from(iit));
+        when(tenantRegistry.resolve("unknown")).thenReturn(TenantMetadata.unregistered("unknown"));
+
+        interceptor = new TenantInterceptor();
+        ReflectionTestUtils.setField(interceptor, "tenantRegistry", tenantRegistry);
+        ReflectionTestUtils.setField(interceptor, "activityCounters", activityCounters);
+        ReflectionTestUtils.setField(interceptor, "configuredDefaultHosts", Set.of("localhost", " LMS.example.com "));
+        interceptor.init();
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void registeredSubdomainSetsItsTenant() throws Exception {
+        MockHttpServletRequest request = request("GET", "iit.lms.com:8082", "/api/courses", principal("student", IIT));
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(TenantContextHolder.get().getId()).isEqualTo(IIT);
+        verify(activityCounters).tenantActive(IIT);
+    }
+
+    @Test
+    void unknownSubdomainIsNotFound() throws Exception {
+        MockHttpServletRequest request = request("GET", "unknown.lms.com", "/api/courses", null);
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(TenantContextHolder.isSet()).isFalse();
+    }
+
+    @Test
+    void hostWithoutSubdomainIsNotFoundUnlessConfigured() throws Exception {
+        assertThat(interceptor.preHandle(request("GET", "www.lms.com", "/api/courses", null), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(404);
+
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("GET", "127.0.0.1:8082", "/api/courses", null), other, null)).isFalse();
+        assertThat(other.getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void tokenFromAnotherTenantIsUnauthorized() throws Exception {
+        MockHttpServletRequest request = request("GET", "iit.lms.com", "/api/courses", principal("university_admin", 2L));
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+        verify(activityCounters, never()).tenantActive(IIT);
+    }
+
+    @Test
+    void defaultHostTokenDoesNotWorkOnATenant() throws Exception {
+        MockHttpServletRequest request = request("GET", "iit.lms.com", "/api/courses",
+                principal("super_admin", TenantFilter.UNPARTITIONED));
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void defaultHostIsUnpartitionedForTheSuperAdmin() throws Exception {
+        MockHttpServletRequest request = request("GET", "localhost:8082", "/api/courses",
+                principal("super_admin", TenantFilter.UNPARTITIONED));
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(TenantContextHolder.get()).isSameAs(TenantMetadata.DEFAULT);
+        assertThat(TenantFilter.currentTenantId()).isEqualTo(TenantFilter.UNPARTITIONED);
+    }
+
+    @Test
+    void defaultHostIsForbiddenToOtherRoles() throws Exception {
+        MockHttpServletRequest request = request("GET", "lms.example.com", "/api/courses",
+                principal("university_admin", TenantFilter.UNPARTITIONED));
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void defaultHostNeedsAPrincipalExceptToSignIn() throws Exception {
+        assertThat(interceptor.preHandle(request("GET", "localhost", "/api/courses", null), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+
+        assertThat(interceptor.preHandle(request("POST", "localhost", "/api/auth/login", null),
+                new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    void preflightsPassWithoutATenant() throws Exception {
+        MockHttpServletRequest request = request("OPTIONS", "unknown.lms.com", "/api/courses", null);
+        request.addHeader("Origin", "http://localhost:3000");
+        request.addHeader("Access-Control-Request-Method", "GET");
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+    }
+
+    @Test
+    void unregisteredTenantsHaveNoFeatures() {
+        assertThat(TenantMetadata.unregistered("unknown").getFeatures()).isEmpty();
+    }
+
+    private static MockHttpServletRequest request(String method, String host, String path, AuthPrincipal principal) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("Host", host);
+        if (principal != null) {
+            request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, principal);
+        }
+        return request;
+    }
+
+    private static AuthPrincipal principal(String role, long tenantId) {
+        return new AuthPrincipal(Map.of("id", "7", "role", role), tenantId, Long.MAX_VALUE);
+    }
+}
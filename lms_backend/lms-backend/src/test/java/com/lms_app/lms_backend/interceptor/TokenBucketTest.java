@@ -0,0 +1,130 @@
+package com.lms_app.lms_backend.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    // 10 requests/second: one token every 100ms
+    private static final long INTERVAL = SECOND / 10;
+
+    @Test
+    void fullBucketAllowsABurstThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryTake(0)).isZero();
+        }
+        assertThat(bucket.tryTake(0)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void oneTokenIsEarnedPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryTake(0);
+        }
+
+        assertThat(bucket.tryTake(INTERVAL - 1)).isEqualTo(1);
+        assertThat(bucket.tryTake(INTERVAL)).isZero();
+        assertThat(bucket.tryTake(INTERVAL)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryTake(3 * INTERVAL)).isZero();
+        assertThat(bucket.tryTake(3 * INTERVAL)).isZero();
+        assertThat(bucket.tryTake(3 * INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void givenBackTokenCanBeTakenAgain() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertThat(bucket.tryTake(0)).isZero();
+
+        bucket.giveBack();
+
+        assertThat(bucket.isFull(0)).isTrue();
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void rejectedRequestsDontUseUpTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertThat(bucket.tryTake(0)).isZero();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.tryTake(INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+        }
+        assertThat(bucket.tryTake(INTERVAL)).isZero();
+    }
+
+    @Test
+    void idleTimeNeverBanksMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        long later = 60 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryTake(later)).isZero();
+        }
+        assertThat(bucket.tryTake(later)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void sustainedRateMatchesTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        int taken = 0;
+        // A request every millisecond for ten seconds
+        for (long now = 0; now <= 10 * SECOND; now += SECOND / 1000) {
+            if (bucket.tryTake(now) == 0) taken++;
+        }
+        // The initial burst plus ten seconds' worth at 10/s
+        assertThat(taken).isEqualTo(5 + 100);
+    }
+
+    @Test
+    void bucketIsFullOnceItsDebtIsPaidOff() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.isFull(0)).isTrue();
+
+        bucket.tryTake(0);
+        bucket.tryTake(0);
+        assertThat(bucket.isFull(INTERVAL)).isFalse();
+        assertThat(bucket.isFull(2 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void concurrentTakersShareExactlyTheBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 50, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (bucket.tryTake(0) == 0) taken++;
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(taken).isEqualTo(50);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
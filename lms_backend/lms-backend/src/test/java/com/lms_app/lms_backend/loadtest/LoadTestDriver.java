@@ -0,0 +1,154 @@
+package com.lms_app.lms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Closed-loop HTTP load generator for comparing the default thread-per-request setup with
+// the vthreads profile. Start the backend with --spring.profiles.active=dev,loadtest (rate limits off)
+// or dev,loadtest,vthreads, then: mvn -Ploadtest test-compile exec:java [-Dlms.loadtest.concurrency=400 ...]
+// Signs in first (the default host only serves the super admin); pass lms.loadtest.email and
+// lms.loadtest.password to load a tenant host as one of its users instead.
+public class LoadTestDriver {
+
+    private static final String[] PATHS = {
+            "/api/courses",
+            "/api/courses/page?limit=50",
+            "/api/students/page?limit=50",
+            "/api/universities",
+    };
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("lms.loadtest.base-url", "http://localhost:8082");
+        int concurrency = Integer.getInteger("lms.loadtest.concurrency", 200);
+        Duration warmup = Duration.parse(System.getProperty("lms.loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("lms.loadtest.duration", "PT60S"));
+
+        String email = System.getProperty("lms.loadtest.email", "superadmin@lms.com");
+        String password = System.getProperty("lms.loadtest.password", "password");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String authorization = "Bearer " + login(client, baseUrl, email, password);
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : PATHS) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", authorization)
+                    .timeout(Duration.ofSeconds(30)).GET().build());
+        }
+
+        System.out.printf("Warming up %s with %d clients for %s%n", baseUrl, concurrency, warmup);
+        run(client, requests, concurrency, warmup);
+        System.out.printf("Measuring for %s%n", duration);
+        Result result = run(client, requests, concurrency, duration);
+
+        long[] latencies = result.sortedLatencies();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("requests=%d errors=%d (of which 429: %d) throughput=%.1f req/s%n",
+                latencies.length, result.errors, result.throttled, latencies.length / seconds);
+        if (result.throttled > 0) {
+            System.out.println("Requests were rate limited; start the backend with the loadtest profile");
+        }
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                percentile(latencies, 99.9), latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("email", email, "password", password))))
+                .build();
+        JsonNode body = objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        if (!body.path("success").asBoolean()) {
+            throw new IllegalStateException("Login as " + email + " failed: " + body.path("message").asText());
+        }
+        return body.path("token").asText();
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    Result local = new Result();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.get(random.nextInt(requests.size()));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) local.errors++;
+                            if (response.statusCode() == 429) local.throttled++;
+                        } catch (Exception e) {
+                            local.errors++;
+                        }
+                        local.record(System.nanoTime() - start);
+                    }
+                    return local;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long throttled;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+            throttled += other.throttled;
+        }
+
+        long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.lms_app.lms_backend.repository;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The seat UPDATEs against a real database (H2 in MySQL mode), each in its own auto-committed statement
+class CourseSeatRepositoryTest {
+
+    private static final long COURSE_ID = 9L;
+
+    private JdbcTemplate jdbc;
+    private CourseSeatRepository seats;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:course-seats;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE course (id BIGINT PRIMARY KEY, status VARCHAR(20), capacity INT, "
+                + "enrolled_count INT NOT NULL DEFAULT 0)");
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        seats = new CourseSeatRepository();
+        ReflectionTestUtils.setField(seats, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(seats, "entityManagerFactory", entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE course");
+    }
+
+    @Test
+    void concurrentClaimsNeverTakeMoreSeatsThanTheCourseHas() throws Exception {
+        int capacity = 10;
+        int students = 64;
+        course("ACTIVE", capacity, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int student = 0; student < students; student++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return seats.claimSeat(COURSE_ID);
+                }));
+            }
+            start.countDown();
+            int claimed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) claimed++;
+            }
+
+            assertThat(claimed).isEqualTo(capacity);
+            assertThat(enrolledCount()).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void courseWithoutCapacityNeverFills() {
+        course("ACTIVE", null, 1000);
+
+        assertThat(seats.claimSeat(COURSE_ID)).isTrue();
+        assertThat(enrolledCount()).isEqualTo(1001);
+    }
+
+    @Test
+    void inactiveCourseTakesNoEnrollments() {
+        course("INACTIVE", 10, 0);
+
+        assertThat(seats.claimSeat(COURSE_ID)).isFalse();
+        assertThat(enrolledCount()).isZero();
+    }
+
+    @Test
+    void courseWithoutAStatusIsActive() {
+        course(null, 10, 0);
+
+        assertThat(seats.claimSeat(COURSE_ID)).isTrue();
+        assertThat(enrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void releasedSeatsNeverGoBelowZero() {
+        course("ACTIVE", 10, 1);
+
+        assertThat(seats.releaseSeat(COURSE_ID)).isTrue();
+        assertThat(seats.releaseSeat(COURSE_ID)).isFalse();
+        assertThat(enrolledCount()).isZero();
+    }
+
+    private void course(String status, Integer capacity, int enrolledCount) {
+        jdbc.update("INSERT INTO course (id, status, capacity, enrolled_count) VALUES (?, ?, ?, ?)",
+                COURSE_ID, status, capacity, enrolledCount);
+    }
+
+    private int enrolledCount() {
+        return jdbc.queryForObject("SELECT enrolled_count FROM course WHERE id = ?", Integer.class, COURSE_ID);
+    }
+}
@@ -0,0 +1,125 @@
+package com.lms_app.lms_backend.repository;
+
+import com.lms_app.lms_backend.entity.Tenant;
+import com.lms_app.lms_backend.tenant.TenantContextHolder;
+import com.lms_app.lms_backend.tenant.TenantMetadata;
+import com.lms_app.lms_backend.tenant.TenantScoped;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+// Hibernate's query cache key holds the query's own parameters, but isn't guaranteed to hold the
+// tenant filter's. A cacheable query over a tenant-scoped entity must therefore bind the tenant
+// itself, or one tenant could be served another's cached results.
+class TenantScopedQueryCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void cacheableQueriesOnTenantScopedEntitiesBindTheTenant() throws Exception {
+        List<String> unscoped = new ArrayList<>();
+        for (Class<?> repository : repositories()) {
+            Class<?> entity = ResolvableType.forClass(repository).as(JpaRepository.class).resolveGeneric(0);
+            if (entity == null || !TenantScoped.class.isAssignableFrom(entity)) continue;
+            for (Method method : repository.getDeclaredMethods()) {
+                if (isCacheable(method) && !bindsTenant(method)) {
+                    unscoped.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        assertThat(unscoped).isEmpty();
+    }
+
+    @Test
+    void twoTenantsGetDifferentCachedCourseQueries() {
+        CourseRepository courses = mock(CourseRepository.class, withSettings().defaultAnswer(invocation ->
+                invocation.getMethod().isDefault() ? invocation.callRealMethod() : Answers.RETURNS_DEFAULTS.answer(invocation)));
+
+        TenantContextHolder.set(tenant(1L, "iit"));
+        courses.findDtoById(5L);
+        courses.findAllDtos();
+        TenantContextHolder.set(tenant(2L, "nit"));
+        courses.findDtoById(5L);
+        courses.findAllDtos();
+
+        verify(courses).findDtoById(5L, 1L);
+        verify(courses).findDtoById(5L, 2L);
+        verify(courses).findAllDtos(1L);
+        verify(courses).findAllDtos(2L);
+    }
+
+    @Test
+    void twoTenantsGetDifferentCachedUniversityLists() {
+        UniversityRepository universities = mock(UniversityRepository.class, withSettings().defaultAnswer(invocation ->
+                invocation.getMethod().isDefault() ? invocation.callRealMethod() : Answers.RETURNS_DEFAULTS.answer(invocation)));
+
+        TenantContextHolder.set(tenant(1L, "iit"));
+        universities.findAll();
+        TenantContextHolder.set(tenant(2L, "nit"));
+        universities.findAll();
+
+        verify(universities).findAll(1L);
+        verify(universities).findAll(2L);
+    }
+
+    private static List<Class<?>> repositories() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return definition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(JpaRepository.class));
+        List<Class<?>> repositories = new ArrayList<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents(CourseRepository.class.getPackageName())) {
+            repositories.add(Class.forName(definition.getBeanClassName()));
+        }
+        assertThat(repositories).contains(CourseRepository.class, UniversityRepository.class);
+        return repositories;
+    }
+
+    private static boolean isCacheable(Method method) {
+        QueryHints hints = method.getAnnotation(QueryHints.class);
+        if (hints == null) return false;
+        for (QueryHint hint : hints.value()) {
+            if (HibernateHints.HINT_CACHEABLE.equals(hint.name()) && Boolean.parseBoolean(hint.value())) return true;
+        }
+        return false;
+    }
+
+    private static boolean bindsTenant(Method method) {
+        return Arrays.stream(method.getParameters())
+                .map(parameter -> parameter.getAnnotation(Param.class))
+                .anyMatch(param -> param != null && "tenantId".equals(param.value()));
+    }
+
+    private static TenantMetadata tenant(long id, String subdomain) {
+        Tenant tenant = new Tenant();
+        tenant.setId(id);
+        tenant.setSubdomain(subdomain);
+        return TenantMetadata.from(tenant);
+    }
+}
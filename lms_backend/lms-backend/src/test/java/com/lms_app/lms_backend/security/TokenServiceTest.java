@@ -0,0 +1,156 @@
+package com.lms_app.lms_backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lms_app.lms_backend.exception.InvalidTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "test-token-secret-0123456789abcdef";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = tokenService(Duration.ofHours(1));
+    }
+
+    @Test
+    void issuedTokenVerifiesToItsUserAndTenant() {
+        String token = tokenService.issue(Map.of("id", "7", "role", "student", "universityId", "3"), 42L);
+
+        AuthPrincipal principal = tokenService.verify(token);
+
+        assertThat(principal.getUserId()).isEqualTo("7");
+        assertThat(principal.getRole()).isEqualTo("student");
+        assertThat(principal.getUniversityId()).isEqualTo("3");
+        assertThat(principal.getTenantId()).isEqualTo(42L);
+        assertThat(principal.getUser()).doesNotContainKeys("exp", "iat", TokenService.TENANT_CLAIM);
+        // Second verification is served from the cache
+        assertThat(tokenService.verify(token)).isSameAs(principal);
+    }
+
+    @Test
+    void tokensKeepTheTenantTheyWereIssuedOn() {
+        String iit = tokenService.issue(Map.of("id", "7", "role", "student"), 1L);
+        String nit = tokenService.issue(Map.of("id", "7", "role", "student"), 2L);
+
+        assertThat(tokenService.verify(iit).getTenantId()).isEqualTo(1L);
+        assertThat(tokenService.verify(nit).getTenantId()).isEqualTo(2L);
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = tokenService.issue(Map.of("id", "7", "role", "student"), 1L);
+        String[] parts = token.split("\\.");
+        String forged = ENCODER.encodeToString(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("student", "super_admin").getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> tokenService.verify(parts[0] + "." + forged + "." + parts[2]))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Invalid token signature");
+    }
+
+    @Test
+    void tamperedTenantIsRejected() {
+        String token = tokenService.issue(Map.of("id", "7", "role", "student"), 1L);
+        String[] parts = token.split("\\.");
+        String forged = ENCODER.encodeToString(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"tenantId\":1", "\"tenantId\":0").getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> tokenService.verify(parts[0] + "." + forged + "." + parts[2]))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretIsRejected() {
+        TokenService other = tokenService(Duration.ofHours(1), "another-token-secret-0123456789abcdef");
+        String token = other.issue(Map.of("id", "7", "role", "super_admin"), 0L);
+
+        assertThatThrownBy(() -> tokenService.verify(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Invalid token signature");
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThatThrownBy(() -> tokenService.verify("not-a-token")).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> tokenService.verify("a.b.c")).isInstanceOf(InvalidTokenException.class);
+        String token = tokenService.issue(Map.of("id", "7"), 1L);
+        assertThatThrownBy(() -> tokenService.verify(token.substring(0, token.lastIndexOf('.') + 1) + "%%%"))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        TokenService expiring = tokenService(Duration.ZERO);
+        String token = expiring.issue(Map.of("id", "7", "role", "student"), 1L);
+
+        assertThatThrownBy(() -> expiring.verify(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token expired");
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() {
+        AuthPrincipal expired = new AuthPrincipal(Map.of("id", "7"), 1L, 1L);
+        @SuppressWarnings("unchecked")
+        Cache<String, AuthPrincipal> verified = (Cache<String, AuthPrincipal>) ReflectionTestUtils.getField(tokenService, "verified");
+        verified.put("cached-token", expired);
+
+        assertThatThrownBy(() -> tokenService.verify("cached-token"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token expired");
+        assertThat(verified.getIfPresent("cached-token")).isNull();
+    }
+
+    @Test
+    void correctlySignedTokenWithoutTenantIsRejected() throws Exception {
+        String header = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = ENCODER.encodeToString(("{\"id\":\"7\",\"role\":\"super_admin\",\"exp\":" + exp + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = ENCODER.encodeToString(mac.doFinal((header + "." + payload).getBytes(StandardCharsets.US_ASCII)));
+
+        assertThatThrownBy(() -> tokenService.verify(header + "." + payload + "." + signature))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token has no tenant");
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThatThrownBy(() -> tokenService(Duration.ofHours(1), "too-short"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static TokenService tokenService(Duration ttl) {
+        return tokenService(ttl, SECRET);
+    }
+
+    private static TokenService tokenService(Duration ttl, String secret) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "tokenTtl", ttl);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtl", Duration.ofMinutes(5));
+        service.init();
+        return service;
+    }
+}
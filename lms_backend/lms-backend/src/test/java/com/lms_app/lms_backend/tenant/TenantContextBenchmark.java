@@ -0,0 +1,120 @@
+package com.lms_app.lms_backend.tenant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Request-scoped CGLIB proxy (the previous TenantConfig.TenantContext) versus TenantContextHolder.
+// The *Request benchmarks model one request: bind, set the tenant, read it a few times, clear.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TenantContextBenchmark {
+
+    private static final int READS_PER_REQUEST = 8;
+
+    private final TenantMetadata tenant = TenantMetadata.unregistered("iit");
+    private AnnotationConfigWebApplicationContext context;
+    private RequestScopedTenant requestScopedTenant;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(RequestScopeConfig.class);
+        context.refresh();
+        requestScopedTenant = context.getBean(RequestScopedTenant.class);
+
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        requestScopedTenant.setTenant(tenant);
+        TenantContextHolder.set(tenant);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        TenantContextHolder.clear();
+        context.close();
+    }
+
+    @Benchmark
+    public TenantMetadata requestScopedRead() {
+        return requestScopedTenant.getTenant();
+    }
+
+    @Benchmark
+    public TenantMetadata threadLocalRead() {
+        return TenantContextHolder.get();
+    }
+
+    @Benchmark
+    public TenantMetadata requestScopedRequest() {
+        // Drop the previous iteration's scoped bean so each "request" creates its own, as in production
+        request.clearAttributes();
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        requestScopedTenant.setTenant(tenant);
+        TenantMetadata last = null;
+        for (int i = 0; i < READS_PER_REQUEST; i++) {
+            last = requestScopedTenant.getTenant();
+        }
+        requestScopedTenant.setTenant(null);
+        attributes.requestCompleted();
+        return last;
+    }
+
+    @Benchmark
+    public TenantMetadata threadLocalRequest() {
+        TenantContextHolder.set(tenant);
+        TenantMetadata last = null;
+        for (int i = 0; i < READS_PER_REQUEST; i++) {
+            last = TenantContextHolder.get();
+        }
+        TenantContextHolder.clear();
+        return last;
+    }
+
+    public static class RequestScopedTenant {
+        private TenantMetadata tenant;
+
+        public TenantMetadata getTenant() {
+            return tenant;
+        }
+
+        public void setTenant(TenantMetadata tenant) {
+            this.tenant = tenant;
+        }
+    }
+
+    @Configuration
+    static class RequestScopeConfig {
+        @Bean
+        @RequestScope
+        public RequestScopedTenant requestScopedTenant() {
+            return new RequestScopedTenant();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import {
 import { useAuth } from '../../contexts/AuthContext';
 import * as CourseService from '../../services/Courseservice';
 import * as StudentService from '../../services/Studentservice';
+import { exportAPI } from '../../services/api';
 
 interface Enrollment {
   id: string;
@@ -236,7 +237,10 @@ const EnrollmentManager: React.FC<EnrollmentManagerProps> = ({ courseId }) => {
             ))}
           </select>
           
-          <button className="flex items-center justify-center space-x-2 bg-gray-100 text-gray-700 px-4 py-2 rounded-lg hover:bg-gray-200 transition-colors">
+          <button
+            onClick={() => exportAPI.download('enrollments').catch(error => console.error('Export failed:', error))}
+            className="flex items-center justify-center space-x-2 bg-gray-100 text-gray-700 px-4 py-2 rounded-lg hover:bg-gray-200 transition-colors"
+          >
             <Download size={16} />
             <span>Export</span>
           </button>
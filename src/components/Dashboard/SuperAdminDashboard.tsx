@@ -1745,7 +1745,8 @@ import { mockStudents, getUniversities, getCourseById, getEnrollments, getStuden
 import { useAuth } from '../../contexts/AuthContext';
 import { useEffect } from 'react';
 import { getUsersByUniversityAndRole } from '../../data/mockData';
-import { Courses, Enrollment, Universities, UserDTO } from '../../types';
+import { countActiveEnrollments, Courses, DashboardSummary, Enrollment, isActiveEnrollment, Universities, UserDTO } from '../../types';
+import { dashboardAPI } from '../../services/api';
 import axios from 'axios';
 
 interface SuperAdminDashboardProps {
@@ -1774,6 +1775,7 @@ const SuperAdminDashboard: React.FC<SuperAdminDashboardProps> = ({ activeTab, un
   const [universities, setUniversities] = useState<Universities[]>([]);
   const [Courses, setCourses] = useState<Courses[]>([]);
   const [Enrollments,setEnrollments] = useState<Enrollment[]>([]);
+  const [summary, setSummary] = useState<DashboardSummary | null>(null);
 
 const [studentCount, setStudentCount] = useState<number>(0);
 
@@ -1852,6 +1854,13 @@ useEffect(() => {
 
     fetchEnrollments();
   }, []);
+
+  // Stat cards come from the precomputed summary rather than counting the lists above
+  useEffect(() => {
+    dashboardAPI.get()
+      .then(response => setSummary(response.data))
+      .catch(error => console.error('Error fetching dashboard summary:', error));
+  }, []);
  
 
   // Form states
@@ -1922,28 +1931,28 @@ useEffect(() => {
   const stats = [
     {
       title: 'Total Universities',
-      value: universities.length,
+      value: summary?.universities ?? universities.length,
       icon: Building,
       color: 'bg-blue-500',
       trend: '+12%'
     },
     {
       title: 'Total Courses',
-      value: Courses.length,
+      value: summary?.courses ?? Courses.length,
       icon: BookOpen,
       color: 'bg-green-500',
       trend: '+18%'
     },
     {
       title: 'Total Students',
-      value: students.length,
+      value: summary?.students ?? students.length,
       icon: Users,
       color: 'bg-purple-500',
       trend: '+8%'
     },
     {
       title: 'Active Enrollments',
-      value: Enrollments.length,
+      value: summary ? countActiveEnrollments(summary.enrollmentsByStatus) : Enrollments.filter(isActiveEnrollment).length,
       icon: GraduationCap,
       color: 'bg-orange-500',
       trend: '+23%'
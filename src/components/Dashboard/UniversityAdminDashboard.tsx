@@ -12,7 +12,8 @@ import {
 } from 'lucide-react';
 import { useAuth } from '../../contexts/AuthContext';
 import { getCourseById, getEnrollments, getUniversities, getUsersByUniversityAndRole, mockStudents } from '../../data/mockData';
-import { Courses, Enrollment, Universities, UserDTO } from '../../types';
+import { countActiveEnrollments, Courses, DashboardSummary, Enrollment, isActiveEnrollment, Universities, UserDTO } from '../../types';
+import { dashboardAPI } from '../../services/api';
 
 interface UniversityAdminDashboardProps {
   activeTab: string;
@@ -30,6 +31,7 @@ const UniversityAdminDashboard: React.FC<UniversityAdminDashboardProps> = ({  ac
   const [student, setStudent] = useState<UserDTO[]>([]);
   const [loading, setLoading] = useState(true);
   const [Enrollments, setEnrollments] = useState<Enrollment[]>([]);
+  const [summary, setSummary] = useState<DashboardSummary | null>(null);
   const [courseForm, setCourseForm] = useState({
     name: '',
     code: '',
@@ -102,6 +104,13 @@ const UniversityAdminDashboard: React.FC<UniversityAdminDashboardProps> = ({  ac
           fetchEnrollments();
         }, []);
 
+      // Stat cards come from the precomputed summary rather than counting the lists above
+      useEffect(() => {
+        dashboardAPI.get(Number(universityId))
+          .then(response => setSummary(response.data))
+          .catch(error => console.error('Error fetching dashboard summary:', error));
+      }, [universityId]);
+
 
   // Update activeView based on sidebar selection
   React.useEffect(() => {
@@ -129,21 +138,21 @@ const UniversityAdminDashboard: React.FC<UniversityAdminDashboardProps> = ({  ac
   const stats = [
     {
       title: 'Total Courses',
-      value: universityCourses.length,
+      value: summary?.courses ?? universityCourses.length,
       icon: BookOpen,
       color: 'bg-blue-500',
       trend: '+5%'
     },
     {
       title: 'Total Students',
-      value: universityStudents.length,
+      value: summary?.students ?? universityStudents.length,
       icon: Users,
       color: 'bg-green-500',
       trend: '+12%'
     },
     {
       title: 'Active Enrollments',
-      value: enrolledCourse.length,
+      value: summary ? countActiveEnrollments(summary.enrollmentsByStatus) : enrolledCourse.filter(isActiveEnrollment).length,
       icon: TrendingUp,
       color: 'bg-purple-500',
       trend: '+18%'
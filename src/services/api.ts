@@ -95,4 +95,27 @@ export const adminsAPI = {
   create: (data: any) => api.post('/admins', data),
   update: (id: number, data: any) => api.put(`/admins/${id}`, data),
   delete: (id: number) => api.delete(`/admins/${id}`),
-};
\ No newline at end of file
+};
+export const dashboardAPI = {
+  // University admins always get their own university, whatever is passed
+  get: (universityId?: number) =>
+    api.get('/dashboard', { params: universityId ? { universityId } : {} }),
+  rebuild: () => api.post('/dashboard/rebuild'),
+};
+
+export const exportAPI = {
+  // Saves /api/export/{dataset} as a file; the server streams it, gzipped for CSV
+  download: async (dataset: 'students' | 'courses' | 'enrollments', format: 'csv' | 'xlsx' = 'csv') => {
+    const response = await api.get(`/export/${dataset}`, {
+      params: { format },
+      responseType: 'blob',
+      timeout: 0,
+    });
+    const url = URL.createObjectURL(response.data);
+    const link = document.createElement('a');
+    link.href = url;
+    link.download = `${dataset}.${format}`;
+    link.click();
+    URL.revokeObjectURL(url);
+  },
+};
@@ -73,4 +73,31 @@ export interface Enrollment {
 }
 
 // Legacy types for backward compatibility
-export type College = University;
\ No newline at end of file
+export type College = University;
+// GET /api/dashboard; universityId is null for the platform view
+export interface DashboardSummary {
+  universityId: number | null;
+  universities: number;
+  admins: number;
+  courses: number;
+  students: number;
+  enrollments: number;
+  universitiesByStatus: Record<string, number>;
+  adminsByStatus: Record<string, number>;
+  coursesByStatus: Record<string, number>;
+  studentsByStatus: Record<string, number>;
+  studentsByMajor: Record<string, number>;
+  studentsByYear: Record<string, number>;
+  enrollmentsByStatus: Record<string, number>;
+  enrollmentsByCourse: { courseId: number; courseCode: string; courseName: string; enrollments: number }[];
+}
+
+// Enrollments still being taken; "Active Enrollments" counts only these, not pending,
+// rejected, completed or dropped ones
+export const ACTIVE_ENROLLMENT_STATUSES = ['APPROVED', 'ENROLLED'];
+
+export const countActiveEnrollments = (enrollmentsByStatus?: Record<string, number> | null) =>
+  ACTIVE_ENROLLMENT_STATUSES.reduce((sum, status) => sum + (enrollmentsByStatus?.[status] ?? 0), 0);
+
+export const isActiveEnrollment = (enrollment: { status?: string }) =>
+  ACTIVE_ENROLLMENT_STATUSES.includes(String(enrollment.status).toUpperCase());
@@ -8,8 +8,8 @@ cd lms_backend/lms-backend
 # Check if Maven wrapper exists
 if [ -f "./mvnw" ]; then
     echo "📦 Starting Spring Boot application..."
-    ./mvnw spring-boot:run
+    ./mvnw spring-boot:run -Dspring-boot.run.profiles=dev
 else
     echo "📦 Maven wrapper not found, using system Maven..."
-    mvn spring-boot:run
+    mvn spring-boot:run -Dspring-boot.run.profiles=dev
 fi
\ No newline at end of file